@@ -8,4 +8,6 @@ module pt.ipbeja {
     exports pt.ipbeja.app.throwables;
     exports pt.ipbeja.app.model.wordsprovider;
     exports pt.ipbeja.app.model.resultssaver;
+    exports pt.ipbeja.app.model.eventlog;
+    exports pt.ipbeja.app.model.replay;
 }
\ No newline at end of file
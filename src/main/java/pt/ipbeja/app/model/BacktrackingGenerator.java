@@ -0,0 +1,465 @@
+package pt.ipbeja.app.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Puts a list of words in a matrix treating it as a constraint problem.
+ * <p>Every cell has a mask of the letters it still allows and every word a bitset of the {@link WordSlots} it can
+ * still be written in. A first placement it's made greedily and then the search tries to beat it: the word with the
+ * fewest slots left it's placed first and, after each placement, the slots of the other words are filtered (forward
+ * checking). A word left without slots drops out of that branch, and the search goes back as soon as a branch can't
+ * place more words than the best one found until then. It stops when every word is placed, after {@code maxSteps}
+ * placements or when it's stopped from outside, so it always takes a bounded time: the best placement found it's kept
+ * and the words left out are tried one more time, one by one, like {@link GenerationStrategy#GREEDY} does.</p>
+ * <p>The bitsets have a bit per slot of each word, so this it's meant for the normal sized matrices.</p>
+ *
+ * @see GenerationStrategy#BACKTRACKING
+ */
+public final class BacktrackingGenerator {
+    /**
+     * The default maximum of placements tried by the search.
+     */
+    public static final int DEFAULT_MAX_STEPS = 4096;
+
+    /**
+     * The bit of the letters folded into something outside {@code 'A'..'Z'}. Those are told apart by {@link #others}.
+     */
+    private static final int OTHER = 1 << ('Z' - 'A' + 1);
+    private static final int ANY = (OTHER << 1) - 1;
+
+    private final LettersGrid grid;
+    private final WordSlots slots;
+    private final WordOrientations[] orientations;
+    private final RandomGenerator random;
+    private final int maxSteps;
+    private final BooleanSupplier stopped;
+
+    /**
+     * The letters each cell still allows.
+     */
+    private final int[] allowed;
+    /**
+     * The display of the cells with an {@link #OTHER} letter.
+     */
+    private final char[] others;
+    /**
+     * How many words are using each cell.
+     */
+    private final int[] uses;
+
+    private String[] words;
+    /**
+     * The bit in {@link #allowed} of each letter of each word.
+     */
+    private int[][] codes;
+    /**
+     * For each word, the number of its slots before each orientation, plus the total at the end.
+     */
+    private int[][] offsets;
+    private long[][] domains;
+    private int[] starts;
+    private int[] steps;
+    private boolean[] placed;
+    /**
+     * The words that don't fit the matrix even before the search starts.
+     */
+    private boolean[] skipped;
+    private int nPlaced;
+    private int target;
+    private int stepsTaken;
+    private int[] bestStarts;
+    private int[] bestSteps;
+    private int nBest;
+
+    /**
+     * @param grid         The matrix, that can already have some letters
+     * @param slots        The slots of the matrix
+     * @param orientations The orientations the words can be written in
+     * @param random       Decides the order in which the slots are tried
+     * @param maxSteps     The maximum of placements to try before giving up on finding a place for every word
+     */
+    public BacktrackingGenerator(LettersGrid grid,
+                                 WordSlots slots,
+                                 Collection<WordOrientations> orientations,
+                                 RandomGenerator random,
+                                 int maxSteps) {
+        this(grid, slots, orientations, random, maxSteps, () -> false);
+    }
+
+    /**
+     * @param grid         The matrix, that can already have some letters
+     * @param slots        The slots of the matrix
+     * @param orientations The orientations the words can be written in
+     * @param random       Decides the order in which the slots are tried
+     * @param maxSteps     The maximum of placements to try before giving up on finding a place for every word
+     * @param stopped      Checked before each placement, to give up on the search and on the words left out as soon as
+     *                     it's {@code true}
+     */
+    public BacktrackingGenerator(LettersGrid grid,
+                                 WordSlots slots,
+                                 Collection<WordOrientations> orientations,
+                                 RandomGenerator random,
+                                 int maxSteps,
+                                 BooleanSupplier stopped) {
+        super();
+        this.grid = grid;
+        this.slots = slots;
+        this.orientations = orientations.toArray(WordOrientations[]::new);
+        this.random = random;
+        this.maxSteps = maxSteps;
+        this.stopped = stopped;
+
+        this.allowed = new int[grid.size()];
+        this.others = new char[grid.size()];
+        this.uses = new int[grid.size()];
+        for (int idx = 0; idx < grid.size(); idx++) {
+            if (grid.isEmpty(idx)) {
+                this.allowed[idx] = ANY;
+            } else {
+                this.allowed[idx] = code(grid.letter(idx));
+                this.others[idx] = grid.letter(idx);
+                this.uses[idx] = 1;
+            }
+        }
+    }
+
+    /**
+     * Writes as many of the words as it can in the matrix.
+     *
+     * @param words The words
+     * @return How many words were written
+     * @see #isPlaced(int)
+     */
+    public int place(List<String> words) {
+        int n = words.size();
+        this.words = words.toArray(String[]::new);
+        this.codes = new int[n][];
+        this.offsets = new int[n][];
+        this.domains = new long[n][];
+        this.starts = new int[n];
+        this.steps = new int[n];
+        this.placed = new boolean[n];
+        this.skipped = new boolean[n];
+        this.bestStarts = new int[n];
+        this.bestSteps = new int[n];
+        this.nPlaced = 0;
+        this.nBest = 0;
+        this.stepsTaken = 0;
+        this.target = 0;
+
+        for (int i = 0; i < n; i++) {
+            String w = this.words[i];
+            this.codes[i] = new int[w.length()];
+            for (int k = 0; k < w.length(); k++) {
+                this.codes[i][k] = code(LetterVariants.fold(w.charAt(k)));
+            }
+            this.offsets[i] = new int[this.orientations.length + 1];
+            for (int o = 0; o < this.orientations.length; o++) {
+                this.offsets[i][o + 1] = this.offsets[i][o] + this.slots.count(this.orientations[o], w.length());
+            }
+            int total = this.offsets[i][this.orientations.length];
+            this.domains[i] = new long[(total + Long.SIZE - 1) / Long.SIZE];
+            for (int c = 0; c < total; c++) {
+                if (this.fits(i, c)) {
+                    this.domains[i][c / Long.SIZE] |= 1L << c;
+                }
+            }
+            this.skipped[i] = 0 == cardinality(this.domains[i]);
+            if (!this.skipped[i]) {
+                ++this.target;
+            }
+        }
+
+        this.greedyDive();
+        this.search();
+        this.writeBest();
+        this.placeLeftovers();
+        return this.nPlaced;
+    }
+
+    /**
+     * @param i The index of the word in the list given to {@link #place(List)}
+     * @return If the word was written
+     */
+    public boolean isPlaced(int i) {
+        return this.placed[i];
+    }
+
+    /**
+     * @param i The index of a placed word
+     * @return The index in the matrix of the cell where the word starts
+     */
+    public int start(int i) {
+        return this.starts[i];
+    }
+
+    /**
+     * @param i The index of a placed word
+     * @return What to add to a cell index to get to the index of the next letter
+     */
+    public int step(int i) {
+        return this.steps[i];
+    }
+
+    /**
+     * Places the words in a random order, each in its first free slot, to have a first best placement for the search
+     * to beat. Then takes them all out again.
+     */
+    private void greedyDive() {
+        int[] order = new int[this.words.length];
+        for (int i = 0; i < order.length; i++) {
+            int j = this.random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        for (int w : order) {
+            int total = this.offsets[w][this.orientations.length];
+            if (this.skipped[w]) {
+                continue;
+            }
+            int first = this.random.nextInt(total);
+            for (int k = 0; k < total; k++) {
+                int c = (first + k) % total;
+                if (0 != (this.domains[w][c / Long.SIZE] & (1L << c)) && this.fits(w, c)) {
+                    this.apply(w, c);
+                    break;
+                }
+            }
+        }
+        this.saveBest();
+        for (int w : order) {
+            if (this.placed[w]) {
+                this.undo(w);
+            }
+        }
+    }
+
+    private void saveBest() {
+        if (this.nPlaced > this.nBest) {
+            this.nBest = this.nPlaced;
+            for (int i = 0; i < this.words.length; i++) {
+                this.bestStarts[i] = this.placed[i] ? this.starts[i] : -1;
+                this.bestSteps[i] = this.steps[i];
+            }
+        }
+    }
+
+    private boolean search() {
+        this.saveBest();
+        if (this.nPlaced == this.target) {
+            return true;
+        }
+
+        int w = this.mostConstrained();
+        if (0 > w) {
+            return false;
+        }
+
+        long[] domain = this.domains[w];
+        int total = this.offsets[w][this.orientations.length];
+        int first = this.random.nextInt(total);
+        for (int k = 0; k < total; k++) {
+            int c = (first + k) % total;
+            if (0 == (domain[c / Long.SIZE] & (1L << c))) {
+                continue;
+            }
+            if (this.maxSteps <= this.stepsTaken || this.stopped.getAsBoolean()) {
+                return false;
+            }
+            ++this.stepsTaken;
+
+            this.apply(w, c);
+            long[][] saved = this.forwardCheck();
+            // Only keep going if this can still end better than the best placement until now.
+            if (this.nPlaced + this.alive() > this.nBest && this.search()) {
+                return true;
+            }
+            this.restore(saved);
+            this.undo(w);
+        }
+        return false;
+    }
+
+    /**
+     * @return The word not yet placed with the fewest slots left, the longest one on a tie, or {@code -1} if every
+     * word left has none
+     */
+    private int mostConstrained() {
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int i = 0; i < this.words.length; i++) {
+            if (this.placed[i]) {
+                continue;
+            }
+            int count = cardinality(this.domains[i]);
+            if (0 == count) {
+                continue;
+            }
+            if (count < bestCount || (count == bestCount && this.words[i].length() > this.words[best].length())) {
+                best = i;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return How many words not yet placed still have slots
+     */
+    private int alive() {
+        int alive = 0;
+        for (int i = 0; i < this.words.length; i++) {
+            if (!this.placed[i] && 0 < cardinality(this.domains[i])) {
+                ++alive;
+            }
+        }
+        return alive;
+    }
+
+    /**
+     * Removes from the slots of the words not yet placed the ones that stopped fitting. A word left without slots it's
+     * left out of this branch of the search.
+     *
+     * @return The slots as they were before
+     */
+    private long[][] forwardCheck() {
+        long[][] saved = new long[this.words.length][];
+        for (int i = 0; i < this.words.length; i++) {
+            if (this.placed[i] || this.skipped[i]) {
+                continue;
+            }
+            long[] domain = this.domains[i];
+            saved[i] = domain.clone();
+            for (int b = 0; b < domain.length; b++) {
+                for (long m = domain[b]; 0L != m; m &= m - 1) {
+                    int c = b * Long.SIZE + Long.numberOfTrailingZeros(m);
+                    if (!this.fits(i, c)) {
+                        domain[b] &= ~(1L << c);
+                    }
+                }
+            }
+        }
+        return saved;
+    }
+
+    private void restore(long[][] saved) {
+        for (int i = 0; i < saved.length; i++) {
+            if (null != saved[i]) {
+                this.domains[i] = saved[i];
+            }
+        }
+    }
+
+    private void apply(int w, int c) {
+        int o = this.orientation(w, c);
+        int slot = c - this.offsets[w][o];
+        int length = this.words[w].length();
+        int start = this.slots.start(this.orientations[o], length, slot);
+        int step = this.slots.step(this.orientations[o], length, slot);
+        for (int k = 0, idx = start; k < length; k++, idx += step) {
+            this.allowed[idx] = this.codes[w][k];
+            this.others[idx] = LetterVariants.fold(this.words[w].charAt(k));
+            ++this.uses[idx];
+        }
+        this.starts[w] = start;
+        this.steps[w] = step;
+        this.placed[w] = true;
+        ++this.nPlaced;
+    }
+
+    private void undo(int w) {
+        for (int k = 0, idx = this.starts[w]; k < this.words[w].length(); k++, idx += this.steps[w]) {
+            if (0 == --this.uses[idx]) {
+                this.allowed[idx] = ANY;
+            }
+        }
+        this.placed[w] = false;
+        --this.nPlaced;
+    }
+
+    /**
+     * Checks if a slot of a word can still be used: every cell allows the letter and not all of them are used.
+     */
+    private boolean fits(int w, int c) {
+        int o = this.orientation(w, c);
+        int slot = c - this.offsets[w][o];
+        String word = this.words[w];
+        int start = this.slots.start(this.orientations[o], word.length(), slot);
+        int step = this.slots.step(this.orientations[o], word.length(), slot);
+        int overlaps = 0;
+        for (int k = 0, idx = start; k < word.length(); k++, idx += step) {
+            int code = this.codes[w][k];
+            if (0 == (this.allowed[idx] & code)) {
+                return false;
+            }
+            if (0 != this.uses[idx]) {
+                if (OTHER == code && this.others[idx] != LetterVariants.fold(word.charAt(k))) {
+                    return false;
+                }
+                ++overlaps;
+            }
+        }
+        return overlaps < word.length();
+    }
+
+    private int orientation(int w, int c) {
+        int o = 0;
+        while (this.offsets[w][o + 1] <= c) {
+            o++;
+        }
+        return o;
+    }
+
+    private void writeBest() {
+        for (int i = 0; i < this.words.length; i++) {
+            this.placed[i] = 0 < this.nBest && 0 <= this.bestStarts[i];
+            if (this.placed[i]) {
+                this.starts[i] = this.bestStarts[i];
+                this.steps[i] = this.bestSteps[i];
+                WordSlots.write(this.grid, this.words[i], this.starts[i], this.steps[i]);
+            }
+        }
+        this.nPlaced = this.nBest;
+    }
+
+    private void placeLeftovers() {
+        List<WordOrientations> orientations = new ArrayList<>(List.of(this.orientations));
+        for (int i = 0; i < this.words.length && !this.stopped.getAsBoolean(); i++) {
+            if (this.placed[i]) {
+                continue;
+            }
+            for (int o = orientations.size() - 1; 0 < o; o--) {
+                Collections.swap(orientations, o, this.random.nextInt(o + 1));
+            }
+            for (WordOrientations orientation : orientations) {
+                String word = this.words[i];
+                int slot = this.slots.find(this.grid, word, orientation, this.random);
+                if (0 <= slot) {
+                    this.starts[i] = this.slots.start(orientation, word.length(), slot);
+                    this.steps[i] = this.slots.step(orientation, word.length(), slot);
+                    this.placed[i] = true;
+                    ++this.nPlaced;
+                    WordSlots.write(this.grid, word, this.starts[i], this.steps[i]);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static int code(char display) {
+        return 'A' <= display && 'Z' >= display ? 1 << (display - 'A') : OTHER;
+    }
+
+    private static int cardinality(long[] bits) {
+        int count = 0;
+        for (long b : bits) {
+            count += Long.bitCount(b);
+        }
+        return count;
+    }
+}
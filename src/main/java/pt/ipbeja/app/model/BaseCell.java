@@ -1,12 +1,12 @@
 package pt.ipbeja.app.model;
 
-import java.util.Locale;
 import java.util.Set;
 import java.util.TreeSet;
 
 /**
  * Cell in the board
  * Contains a letter and a boolean that indicates if the cell is part of a word
+ * <p>The model keeps the matrix in a {@link LettersGrid}, cells are only created when asked for.</p>
  */
 public abstract class BaseCell {
     private final Set<Character> reals;
@@ -24,20 +24,7 @@ public abstract class BaseCell {
     }
 
     private static char getDisplay(char real) {
-        real = String.valueOf(real).toUpperCase(Locale.ROOT).charAt(0);
-        return switch (real) {
-            case 'À', 'Á', 'Â', 'Ã', 'Ä', 'Å' -> 'A';
-            case 'Ç' -> 'C';
-            case 'È', 'É', 'Ê', 'Ë' -> 'E';
-            case 'Ì', 'Í', 'Î', 'Ï' -> 'I';
-            case 'Ð', 'Þ' -> 'D';
-            case 'Ñ' -> 'N';
-            case 'Ò', 'Ó', 'Ô', 'Õ', 'Ö', 'Ø' -> 'O';
-            case 'Ù', 'Ú', 'Û', 'Ü' -> 'U';
-            case 'Ý' -> 'Y';
-            case 'ß' -> 'S';
-            default -> real;
-        };
+        return LetterVariants.fold(real);
     }
 
     public boolean addReal(char real) {
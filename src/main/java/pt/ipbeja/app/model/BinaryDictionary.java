@@ -0,0 +1,266 @@
+package pt.ipbeja.app.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Words already parsed, saved in a file that it's mapped in memory and used as it is, without parsing the words again.
+ * <p>The words are sorted and front coded in blocks, like in a {@link FrontCodedStore}: the first word of a block it's
+ * written whole, and each of the others only writes what's different from the word before. To find a word, the first
+ * words of the blocks are searched with the table of where each block starts, and then only a block it's read.</p>
+ * <p>The file has, in order:</p>
+ * <ol>
+ *     <li>{@link #MAGIC}, the version, the number of words, of words in each block and the length of the longest
+ *     word;</li>
+ *     <li>how many times each letter, from {@code 'A'} to {@code 'Z'}, appears in the words;</li>
+ *     <li>how many words have each length, from {@code 0} to the longest;</li>
+ *     <li>the number of each word, in alphabetical order, grouped by length from the shortest, so the words of a length
+ *     are chosen without reading the others;</li>
+ *     <li>the number of blocks, and where each block starts, from the start of the words;</li>
+ *     <li>the size of the words and the words, in UTF-8, as the length of the prefix shared with the word before and
+ *     the length and bytes of the rest, each length with 7 bits in each byte;</li>
+ *     <li>a {@link CRC32C} of everything before it.</li>
+ * </ol>
+ *
+ * @see DictionaryCompiler
+ */
+public final class BinaryDictionary extends WordStore {
+    /**
+     * The first bytes of the file, {@code "WMD"} and the format.
+     */
+    public static final int MAGIC = 0x574D4401;
+    private static final int VERSION = 2;
+    private static final int BLOCK = FrontCodedStore.BLOCK;
+    private static final String CORRUPTED = "the dictionary is corrupted";
+
+    private final FrontCodedStore words;
+    private final int size;
+    private final int maxLength;
+    private final long[] letterCounts;
+    private final int[] lengths;
+    /**
+     * The numbers of the words, grouped by length.
+     */
+    private final IntBuffer byLength;
+
+    /**
+     * Reads the dictionary only after its {@link CRC32C} was checked, and checks every size in it against the size of
+     * the file, so a file cut or changed fails with an {@link IOException} before anything is allocated from it.
+     */
+    private BinaryDictionary(ByteBuffer file) throws IOException {
+        super();
+        if (Integer.BYTES * 2 > file.remaining() || MAGIC != file.getInt()) {
+            throw new IOException("not a dictionary");
+        }
+        if (VERSION != file.getInt()) {
+            throw new IOException("unsupported version of the dictionary, it needs to be compiled again");
+        }
+        int end = file.limit() - Long.BYTES;
+        if (Integer.BYTES * 5 + Long.BYTES * LetterSampler.LETTERS + Integer.BYTES * 2 > end) {
+            throw new IOException(CORRUPTED);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(file.duplicate().position(0).limit(end));
+        if (crc.getValue() != file.getLong(end)) {
+            throw new IOException(CORRUPTED);
+        }
+
+        this.size = file.getInt();
+        if (BLOCK != file.getInt()) {
+            throw new IOException("unsupported block size");
+        }
+        this.maxLength = file.getInt();
+        check(0 <= this.size && 0 <= this.maxLength);
+        this.letterCounts = new long[LetterSampler.LETTERS];
+        file.asLongBuffer().get(this.letterCounts);
+        file.position(file.position() + Long.BYTES * this.letterCounts.length);
+        check((long) Integer.BYTES * (this.maxLength + 2L) <= end - file.position());
+        this.lengths = new int[this.maxLength + 1];
+        file.asIntBuffer().get(this.lengths);
+        file.position(file.position() + Integer.BYTES * this.lengths.length);
+        long total = 0;
+        for (int count : this.lengths) {
+            check(0 <= count);
+            total += count;
+        }
+        check(this.size == total && (long) Integer.BYTES * (this.size + 1L) <= end - file.position());
+        this.byLength = file.slice(file.position(), Integer.BYTES * this.size).asIntBuffer();
+        file.position(file.position() + Integer.BYTES * this.size);
+        for (int i = 0; i < this.size; i++) {
+            check(0 <= this.byLength.get(i) && this.byLength.get(i) < this.size);
+        }
+        int blocks = file.getInt();
+        check((this.size + BLOCK - 1) / BLOCK == blocks
+                && (long) Integer.BYTES * (blocks + 1L) <= end - file.position());
+        IntBuffer starts = file.slice(file.position(), Integer.BYTES * blocks).asIntBuffer();
+        file.position(file.position() + Integer.BYTES * blocks);
+        int bytes = file.getInt();
+        check(bytes == end - file.position());
+        for (int i = 0; i < blocks; i++) {
+            check(0 <= starts.get(i) && starts.get(i) < bytes && (0 == i || starts.get(i - 1) < starts.get(i)));
+        }
+        this.words = new FrontCodedStore(file.slice(file.position(), bytes), starts, this.size);
+    }
+
+    /**
+     * @param valid If a part of the file it's valid
+     * @throws IOException If it's not
+     */
+    private static void check(boolean valid) throws IOException {
+        if (!valid) {
+            throw new IOException(CORRUPTED);
+        }
+    }
+
+    /**
+     * Maps a dictionary file in memory.
+     *
+     * @param file The file
+     * @return The dictionary
+     * @throws IOException If the file can't be read or it's not a dictionary
+     */
+    public static BinaryDictionary open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new BinaryDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @param file A file
+     * @return If the file starts as a dictionary
+     */
+    public static boolean isDictionary(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer start = ByteBuffer.allocate(Integer.BYTES);
+            return Integer.BYTES == channel.read(start, 0) && MAGIC == start.getInt(0);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Saves words in a dictionary file.
+     *
+     * @param words The words
+     * @param file  Where to save them
+     * @throws IOException If the file can't be written
+     */
+    public static void write(WordStore words, Path file) throws IOException {
+        FrontCodedStore.Builder data = new FrontCodedStore.Builder();
+        int[] wordLengths = new int[words.size()];
+        for (String word : words) {
+            wordLengths[data.size()] = word.length();
+            data.add(word);
+        }
+        int[] lengths = data.lengths();
+        int[] blocks = data.blocks();
+        // Where the words of each length start, and then where the next one goes.
+        int[] next = new int[lengths.length];
+        for (int length = 1; length < lengths.length; length++) {
+            next[length] = next[length - 1] + lengths[length - 1];
+        }
+        int[] byLength = new int[wordLengths.length];
+        for (int i = 0; i < wordLengths.length; i++) {
+            byLength[next[wordLengths[i]]++] = i;
+        }
+
+        CRC32C crc = new CRC32C();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), 1 << 16), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(words.size());
+            out.writeInt(BLOCK);
+            out.writeInt(lengths.length - 1);
+            for (long count : words.letterCounts()) {
+                out.writeLong(count);
+            }
+            for (int count : lengths) {
+                out.writeInt(count);
+            }
+            for (int i : byLength) {
+                out.writeInt(i);
+            }
+            out.writeInt(blocks.length);
+            for (int block : blocks) {
+                out.writeInt(block);
+            }
+            out.writeInt(data.bytes());
+            data.writeTo(out);
+            out.writeLong(crc.getValue());
+        }
+    }
+
+    /**
+     * @return The length of the longest word
+     */
+    public int maxLength() {
+        return this.maxLength;
+    }
+
+    /**
+     * @param length A length
+     * @return How many words have the length
+     */
+    public int wordsWithLength(int length) {
+        return 0 <= length && length < this.lengths.length ? this.lengths[length] : 0;
+    }
+
+    /**
+     * @param length A length
+     * @return The numbers of the words with the length, in alphabetical order, read from the file
+     */
+    public IntBuffer wordsOfLength(int length) {
+        if (0 > length || this.lengths.length <= length) {
+            return IntBuffer.allocate(0);
+        }
+        int start = 0;
+        for (int shorter = 0; shorter < length; shorter++) {
+            start += this.lengths[shorter];
+        }
+        return this.byLength.slice(start, this.lengths[length]).asReadOnlyBuffer();
+    }
+
+    @Override
+    public long[] letterCounts() {
+        return this.letterCounts.clone();
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * The words are already out of the heap, in the file.
+     */
+    @Override
+    public WordStore compact() {
+        return this;
+    }
+
+    @Override
+    public String get(int i) {
+        return this.words.get(i);
+    }
+
+    @Override
+    public int indexOf(String word) {
+        return this.words.indexOf(word);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return this.words.iterator();
+    }
+}
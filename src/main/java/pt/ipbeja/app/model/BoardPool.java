@@ -0,0 +1,232 @@
+package pt.ipbeja.app.model;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Boards generated in the background, ready for games to start right away.
+ * <p>For every {@link BoardSettings} asked for, the pool keeps up to {@code size} ready boards and generates a new one
+ * in a background daemon thread each time one it's taken. {@link #invalidate()} throws every board away, for when the
+ * words change; the boards being generated at that moment are thrown away when they are ready.</p>
+ *
+ * @see WSModel#setBoardPoolSize(int)
+ */
+public final class BoardPool implements AutoCloseable {
+    private final int size;
+    private final Function<BoardSettings, GeneratedBoard> generator;
+    private final ExecutorService executor;
+    private final Map<BoardSettings, Shelf> shelves;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder refills;
+    private final LongAdder failures;
+    private final LongAdder refillNanos;
+    private final AtomicLong maxRefillNanos;
+
+    /**
+     * @param size      How many boards to keep ready for each settings
+     * @param generator Generates a board. It's called from the background threads
+     */
+    public BoardPool(int size, Function<BoardSettings, GeneratedBoard> generator) {
+        super();
+        assert 0 < size;
+        this.size = size;
+        this.generator = generator;
+        int threads = Math.max(1, Math.min(size, Runtime.getRuntime().availableProcessors() / 2));
+        this.executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "board-pool");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        this.shelves = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.refills = new LongAdder();
+        this.failures = new LongAdder();
+        this.refillNanos = new LongAdder();
+        this.maxRefillNanos = new AtomicLong();
+    }
+
+    /**
+     * Takes a ready board, and starts generating another one to replace it.
+     *
+     * @param settings The settings of the board
+     * @return The board, or {@code null} if none was ready
+     */
+    public GeneratedBoard take(BoardSettings settings) {
+        GeneratedBoard board = this.shelf(settings).boards.poll();
+        if (null == board) {
+            this.misses.increment();
+        } else {
+            this.hits.increment();
+        }
+        this.fill(settings);
+        return board;
+    }
+
+    /**
+     * Starts generating the boards missing for the pool to have {@code size} boards ready with the settings.
+     *
+     * @param settings The settings of the boards
+     */
+    public void fill(BoardSettings settings) {
+        Shelf shelf = this.shelf(settings);
+        while (true) {
+            int pending = shelf.pending.get();
+            if (this.size <= shelf.boards.size() + pending) {
+                return;
+            }
+            if (shelf.pending.compareAndSet(pending, pending + 1)) {
+                this.executor.execute(() -> this.refill(shelf, settings));
+            }
+        }
+    }
+
+    /**
+     * Throws away the boards of every other settings, the ready ones and the ones being generated, for when the
+     * settings of the games changed.
+     *
+     * @param settings The settings of the boards to keep
+     */
+    public void retain(BoardSettings settings) {
+        this.shelves.keySet().removeIf(other -> !other.equals(settings));
+    }
+
+    /**
+     * Throws away every board, the ready ones and the ones being generated.
+     */
+    public void invalidate() {
+        this.shelves.clear();
+    }
+
+    /**
+     * @param settings The settings of the boards
+     * @return How many boards are ready with the settings
+     */
+    public int ready(BoardSettings settings) {
+        Shelf shelf = this.shelves.get(settings);
+        return null == shelf ? 0 : shelf.boards.size();
+    }
+
+    /**
+     * @return How many boards were taken ready
+     */
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return How many times there wasn't a ready board to take
+     */
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return The fraction of {@link #take(BoardSettings)} calls that got a ready board
+     */
+    public double hitRate() {
+        long hits = this.hits();
+        long total = hits + this.misses();
+        return 0 == total ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * @return How many boards were generated in the background
+     */
+    public long refills() {
+        return this.refills.sum();
+    }
+
+    /**
+     * @return How many boards could not be generated because the generator threw an exception
+     */
+    public long failures() {
+        return this.failures.sum();
+    }
+
+    /**
+     * @return The average time it took to generate a board in the background, in milliseconds
+     */
+    public double averageRefillMillis() {
+        long refills = this.refills();
+        return 0 == refills ? 0.0 : this.refillNanos.sum() / 1e6 / refills;
+    }
+
+    /**
+     * @return The longest time it took to generate a board in the background, in milliseconds
+     */
+    public double maxRefillMillis() {
+        return this.maxRefillNanos.get() / 1e6;
+    }
+
+    /**
+     * Stops generating boards.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+        this.invalidate();
+    }
+
+    /**
+     * Waits for every board being generated to be ready.
+     *
+     * @param timeoutMillis The maximum time to wait
+     * @return {@code false} if some board was still being generated when the time ran out
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public boolean awaitRefills(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (this.shelves.values().stream().anyMatch(shelf -> 0 < shelf.pending.get())) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(1L);
+        }
+        return true;
+    }
+
+    private Shelf shelf(BoardSettings settings) {
+        return this.shelves.computeIfAbsent(settings, s -> new Shelf());
+    }
+
+    private void refill(Shelf shelf, BoardSettings settings) {
+        long start = System.nanoTime();
+        try {
+            GeneratedBoard board = this.generator.apply(settings);
+            long elapsed = System.nanoTime() - start;
+            this.refills.increment();
+            this.refillNanos.add(elapsed);
+            this.maxRefillNanos.accumulateAndGet(elapsed, Math::max);
+            // A shelf no longer in the map was invalidated and nobody will take boards from it.
+            shelf.boards.offer(board);
+        } catch (RuntimeException e) {
+            this.failures.increment();
+        } finally {
+            shelf.pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * The boards of one settings.
+     */
+    private static final class Shelf {
+        private final Queue<GeneratedBoard> boards = new ConcurrentLinkedQueue<>();
+        /**
+         * How many boards are being generated.
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+    }
+}
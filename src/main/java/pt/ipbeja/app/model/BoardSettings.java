@@ -0,0 +1,69 @@
+package pt.ipbeja.app.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Everything a board it's generated from, except the words. Two boards generated with equal settings can be used by
+ * the same games.
+ *
+ * @param lines                  The number of lines of the matrix
+ * @param cols                   The number of columns of the matrix
+ * @param maxWords               The maximum of words, {@code 0} for no maximum
+ * @param minWordSize            The minimum length of the words
+ * @param wildCards              The number of wild cards
+ * @param orientations           The orientations the words can be written in
+ * @param strategy               How the words are put into the matrix
+ * @param fillStrategy           How the cells without letters of words are filled
+ * @param largeBoard             If the matrix it's in large-board mode
+ * @param candidateBoards        How many boards are generated to keep the best one
+ * @param generationBudgetMillis How long to wait for the candidate boards
+ * @see WSModel#setOptions(GameOptions)
+ * @see BoardPool
+ */
+public record BoardSettings(int lines,
+                            int cols,
+                            int maxWords,
+                            int minWordSize,
+                            int wildCards,
+                            Set<WordOrientations> orientations,
+                            GenerationStrategy strategy,
+                            FillStrategy fillStrategy,
+                            boolean largeBoard,
+                            int candidateBoards,
+                            long generationBudgetMillis) {
+    public BoardSettings {
+        // An EnumSet keeps the orientations always in the same order.
+        Set<WordOrientations> copy = EnumSet.noneOf(WordOrientations.class);
+        copy.addAll(orientations);
+        orientations = Collections.unmodifiableSet(copy);
+    }
+
+    /**
+     * Tests if a word can be used in a board with these settings.
+     *
+     * @param word The word to test
+     * @return {@code true} if it's long enough and fits in the matrix in one of the orientations
+     * @see #maxWordLength()
+     */
+    public boolean usable(String word) {
+        return this.minWordSize <= word.length() && word.length() <= this.maxWordLength();
+    }
+
+    /**
+     * @return The length of the longest word that fits in the matrix in one of the orientations, {@code 0} if there
+     * are no orientations
+     */
+    public int maxWordLength() {
+        int max = 0;
+        for (WordOrientations orientation : this.orientations) {
+            max = Math.max(max, switch (orientation) {
+                case HORIZONTAL -> this.cols;
+                case VERTICAL -> this.lines;
+                case DIAGONAL -> Math.min(this.lines, this.cols);
+            });
+        }
+        return max;
+    }
+}
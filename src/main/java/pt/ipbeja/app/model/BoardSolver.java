@@ -0,0 +1,217 @@
+package pt.ipbeja.app.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds every word of a dictionary written in a matrix, in any of the eight directions.
+ * <p>The dictionary it's compiled once into a {@link WordsAutomaton}, and then every line, column and diagonal of the
+ * matrix it's read by it from one end and from the other. The lines are split in bands read at the same time in the
+ * {@link ForkJoinPool#commonPool()}. The automaton reads the letters the player sees, so every word it finds it's
+ * then checked against the reals of the cells.</p>
+ * <p>The table of the automaton of a big dictionary doesn't fit in the cache, so almost every letter read waits for
+ * the memory. Each band reads {@link #LANES} lines at a time, a letter of each in turn: the next state of one line
+ * doesn't depend on the others, so their reads of the table wait at the same time.</p>
+ * <p>A solver can be used by many threads at the same time.</p>
+ *
+ * @see WSModel#solveBoard()
+ */
+public final class BoardSolver {
+    /**
+     * How many lines a task reads without splitting them in other tasks.
+     */
+    private static final int BAND = 64;
+    /**
+     * How many lines, or directions of a line, are read at the same time by a task.
+     */
+    private static final int LANES = 8;
+
+    private final WordsAutomaton automaton;
+    private final boolean[] palindromes;
+
+    /**
+     * @param dictionary The words to find
+     */
+    public BoardSolver(Collection<String> dictionary) {
+        super();
+        this.automaton = new WordsAutomaton(dictionary, false);
+        String[] words = dictionary.toArray(String[]::new);
+        this.palindromes = new boolean[words.length];
+        for (int i = 0; i < words.length; i++) {
+            this.palindromes[i] = new StringBuilder(words[i]).reverse().toString().equals(words[i]);
+        }
+    }
+
+    /**
+     * Finds every word in a matrix. A palindrome, or a word of one letter, it's only found once in the same cells.
+     *
+     * @param grid The matrix
+     * @return Where each word is, in no particular order
+     */
+    public List<WordOccurrence> solve(LettersGrid grid) {
+        int lines = grid.lines() + grid.cols() + 2 * Math.max(0, grid.lines() + grid.cols() - 1);
+        return ForkJoinPool.commonPool().invoke(new Band(grid, 0, lines));
+    }
+
+    /**
+     * Reads the lines of a matrix in a range. Every line, column and diagonal has a number: first the lines, then the
+     * columns, then the diagonals going down to the right, then the ones going down to the left.
+     */
+    private final class Band extends RecursiveTask<List<WordOccurrence>> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient LettersGrid grid;
+        private final int from;
+        private final int to;
+
+        private Band(LettersGrid grid, int from, int to) {
+            super();
+            this.grid = grid;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<WordOccurrence> compute() {
+            if (BAND >= this.to - this.from) {
+                // Each line read forwards and then backwards.
+                int n = 2 * (this.to - this.from);
+                int[] starts = new int[n];
+                int[] steps = new int[n];
+                int[] lengths = new int[n];
+                for (int line = this.from; line < this.to; line++) {
+                    this.line(line, 2 * (line - this.from), starts, steps, lengths);
+                }
+                List<WordOccurrence> found = new ArrayList<>();
+                for (int first = 0; first < n; first += LANES) {
+                    this.read(starts, steps, lengths, first, Math.min(n, first + LANES), found);
+                }
+                return found;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            Band left = new Band(this.grid, this.from, middle);
+            left.fork();
+            List<WordOccurrence> found = new Band(this.grid, middle, this.to).compute();
+            found.addAll(left.join());
+            return found;
+        }
+
+        /**
+         * Finds where a line starts, its step and its length, forwards in {@code k} and backwards in {@code k + 1}.
+         */
+        private void line(int line, int k, int[] starts, int[] steps, int[] lengths) {
+            int lines = this.grid.lines();
+            int cols = this.grid.cols();
+            int diagonal = line - lines - cols;
+            int diagonals = lines + cols - 1;
+            int start;
+            int step;
+            int length;
+            if (line < lines) {
+                start = this.grid.index(line, 0);
+                step = 1;
+                length = cols;
+            } else if (0 > diagonal) {
+                start = this.grid.index(0, line - lines);
+                step = cols;
+                length = lines;
+            } else if (diagonal < diagonals) {
+                int startLine = Math.max(0, lines - 1 - diagonal);
+                int startCol = Math.max(0, diagonal - lines + 1);
+                start = this.grid.index(startLine, startCol);
+                step = cols + 1;
+                length = Math.min(lines - startLine, cols - startCol);
+            } else {
+                diagonal -= diagonals;
+                int startLine = Math.max(0, diagonal - cols + 1);
+                int startCol = Math.min(diagonal, cols - 1);
+                start = this.grid.index(startLine, startCol);
+                step = cols - 1;
+                length = Math.min(lines - startLine, startCol + 1);
+            }
+            starts[k] = start;
+            steps[k] = step;
+            lengths[k] = length;
+            starts[k + 1] = start + (length - 1) * step;
+            steps[k + 1] = -step;
+            lengths[k + 1] = length;
+        }
+
+        /**
+         * Reads the cells of some lines, a cell of each in turn.
+         *
+         * @param starts  The index of the first cell read of each line
+         * @param steps   What to add to a cell index to get to the next, for each line
+         * @param lengths The number of cells of each line
+         * @param first   The first line read
+         * @param last    After the last line read
+         * @param found   Where to add the words found
+         */
+        private void read(int[] starts, int[] steps, int[] lengths, int first, int last, List<WordOccurrence> found) {
+            WordsAutomaton automaton = BoardSolver.this.automaton;
+            int[] states = new int[last - first];
+            int longest = 0;
+            for (int k = first; k < last; k++) {
+                states[k - first] = WordsAutomaton.ROOT;
+                longest = Math.max(longest, lengths[k]);
+            }
+            for (int i = 0; i < longest; i++) {
+                for (int k = first; k < last; k++) {
+                    if (i >= lengths[k]) {
+                        continue;
+                    }
+                    int idx = starts[k] + i * steps[k];
+                    int state = automaton.next(states[k - first], this.grid.letter(idx));
+                    states[k - first] = state;
+                    if (automaton.endsWords(state)) {
+                        this.found(state, idx, steps[k], k, found);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds the words ending in a cell.
+         *
+         * @param state The state after reading the cell
+         * @param idx   The index of the cell
+         * @param step  What was added to a cell index to get to the next
+         * @param k     The number of the line in the band, even if it was read forwards
+         * @param found Where to add the words found
+         */
+        private void found(int state, int idx, int step, int k, List<WordOccurrence> found) {
+            WordsAutomaton automaton = BoardSolver.this.automaton;
+            boolean backwards = 1 == k % 2;
+            // The words of one letter are the same in every direction, so they are only looked for in the lines.
+            boolean single = !backwards && this.from + k / 2 < this.grid.lines();
+            for (int out = automaton.output(state); WordsAutomaton.NONE != out; out = automaton.nextOutput(out)) {
+                for (int e = automaton.firstEntry(out); WordsAutomaton.NONE != e; e = automaton.nextEntry(e)) {
+                    String word = automaton.word(e);
+                    int first = idx - (word.length() - 1) * step;
+                    if ((1 == word.length() && !single)
+                            || (backwards && BoardSolver.this.palindromes[automaton.wordIndex(e)])
+                            || !this.hasReals(word, first, step)) {
+                        continue;
+                    }
+                    found.add(new WordOccurrence(word, this.position(first), this.position(idx)));
+                }
+            }
+        }
+
+        private boolean hasReals(String word, int start, int step) {
+            for (int k = 0; k < word.length(); k++) {
+                if (!this.grid.hasReal(start + k * step, word.charAt(k))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Position position(int idx) {
+            return new Position(idx / this.grid.cols(), idx % this.grid.cols());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package pt.ipbeja.app.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Fills the empty cells of a matrix with letters that don't write any word of the game, forwards or backwards, in
+ * any line, column or diagonal.
+ * <p>The cells are filled in order, line by line. Every cell before the current one already has a letter, so the
+ * state of the {@link WordsAutomaton} at the end of each horizontal, vertical and diagonal line it's kept in an array
+ * and updated in constant time. A letter it's only accepted if no word ends in it, nor in the letters of words already
+ * put after it in the same line, with the word starting before it. A word that a letter would complete it's then
+ * always found when its last filled cell it's chosen.</p>
+ * <p>The words that only use letters of words put in the matrix can't be avoided by the filler.</p>
+ *
+ * @see FillStrategy#COLLISION_FREE
+ */
+public final class CollisionFreeFiller {
+    private static final int LETTERS = LetterSampler.LETTERS;
+    /**
+     * The steps through the letters that visit all of them, because they are coprime with {@link #LETTERS}.
+     */
+    private static final int[] STRIDES = {1, 3, 5, 7, 9, 11, 15, 17, 19, 21, 23, 25};
+
+    private final LettersGrid grid;
+    private final WordsAutomaton automaton;
+    private final LetterSampler letters;
+    /**
+     * The states of the automaton after the letter last tested, in each direction.
+     */
+    private final int[] next;
+
+    /**
+     * @param grid      The matrix, with the words of the game already in it
+     * @param automaton The words of the game, and their reverses
+     * @param letters   Draws the first letter tried in each cell
+     */
+    public CollisionFreeFiller(LettersGrid grid, WordsAutomaton automaton, LetterSampler letters) {
+        super();
+        this.grid = grid;
+        this.automaton = automaton;
+        this.letters = letters;
+        this.next = new int[4];
+    }
+
+    /**
+     * Puts a letter in every empty cell.
+     *
+     * @param random The random numbers to use
+     * @return How many cells were filled with a letter that writes a word, because every letter did
+     */
+    public int fill(RandomGenerator random) {
+        int lines = this.grid.lines();
+        int cols = this.grid.cols();
+        int[] vertical = new int[cols];
+        // The diagonals going down to the right are indexed by col - line + lines - 1, the others by col + line.
+        int[] diagonal = new int[lines + cols - 1];
+        int[] antiDiagonal = new int[lines + cols - 1];
+        int collisions = 0;
+        for (int line = 0; line < lines; line++) {
+            int horizontal = WordsAutomaton.ROOT;
+            for (int col = 0; col < cols; col++) {
+                int idx = this.grid.index(line, col);
+                int d = col - line + lines - 1;
+                int a = col + line;
+                if (this.grid.isEmpty(idx)) {
+                    if (this.fill(idx, line, col, horizontal, vertical[col], diagonal[d], antiDiagonal[a], random)) {
+                        horizontal = this.next[0];
+                        vertical[col] = this.next[1];
+                        diagonal[d] = this.next[2];
+                        antiDiagonal[a] = this.next[3];
+                        continue;
+                    }
+                    // Every letter writes a word, so any will do.
+                    ++collisions;
+                    this.grid.put(idx, this.letters.next(random));
+                }
+                char letter = this.grid.letter(idx);
+                horizontal = this.automaton.next(horizontal, letter);
+                vertical[col] = this.automaton.next(vertical[col], letter);
+                diagonal[d] = this.automaton.next(diagonal[d], letter);
+                antiDiagonal[a] = this.automaton.next(antiDiagonal[a], letter);
+            }
+        }
+        return collisions;
+    }
+
+    /**
+     * Puts in an empty cell a letter that doesn't write a word, if there's one.
+     *
+     * @param idx          The index of the cell
+     * @param line         The line of the cell
+     * @param col          The column of the cell
+     * @param horizontal   The state of the automaton after the cells before, in the line
+     * @param vertical     The state of the automaton after the cells before, in the column
+     * @param diagonal     The state of the automaton after the cells before, in the diagonal going down to the right
+     * @param antiDiagonal The state of the automaton after the cells before, in the diagonal going down to the left
+     * @param random       The random numbers to use
+     * @return {@code true} if there was a letter, with the states after it in {@link #next}
+     */
+    private boolean fill(int idx, int line, int col, int horizontal, int vertical, int diagonal, int antiDiagonal,
+                         RandomGenerator random) {
+        int first = this.letters.next(random) - 'A';
+        int stride = STRIDES[random.nextInt(STRIDES.length)];
+        for (int k = 0; k < LETTERS; k++) {
+            char letter = (char) ('A' + (first + k * stride) % LETTERS);
+            if (this.free(line, col, 0, 1, horizontal, letter, 0)
+                    && this.free(line, col, 1, 0, vertical, letter, 1)
+                    && this.free(line, col, 1, 1, diagonal, letter, 2)
+                    && this.free(line, col, 1, -1, antiDiagonal, letter, 3)) {
+                this.grid.put(idx, letter);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tests if a letter in a cell doesn't complete a word in one direction.
+     *
+     * @param line      The line of the cell
+     * @param col       The column of the cell
+     * @param lineStep  What to add to the line to go to the next cell in the direction
+     * @param colStep   What to add to the column to go to the next cell in the direction
+     * @param state     The state of the automaton after the cells before, in the direction
+     * @param letter    The letter to test
+     * @param direction Where to save, in {@link #next}, the state after the letter
+     * @return {@code true} if no word that starts before or in the cell ends in it or in the cells with letters
+     * right after it
+     */
+    private boolean free(int line, int col, int lineStep, int colStep, int state, char letter, int direction) {
+        state = this.automaton.next(state, letter);
+        this.next[direction] = state;
+        int length = 1;
+        while (this.automaton.longest(state) < length) {
+            line += lineStep;
+            col += colStep;
+            ++length;
+            if (length > this.automaton.maxLength()
+                    || 0 > line || line >= this.grid.lines() || 0 > col || col >= this.grid.cols()) {
+                return true;
+            }
+            int idx = this.grid.index(line, col);
+            if (this.grid.isEmpty(idx)) {
+                return true;
+            }
+            state = this.automaton.next(state, this.grid.letter(idx));
+        }
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package pt.ipbeja.app.model;
+
+import pt.ipbeja.app.model.wordsprovider.WordsProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Turns a list of words in a {@link BinaryDictionary}, so the words are only parsed once.
+ * <p>From the command line: {@code java pt.ipbeja.app.model.DictionaryCompiler <words.txt> <words.dict>}.</p>
+ */
+public final class DictionaryCompiler {
+    private DictionaryCompiler() {
+    }
+
+    /**
+     * Parses the lines of a provider like {@link WSModel#setWords(WordsProvider)} and saves the words found.
+     *
+     * @param provider Where the lines come from
+     * @param file     Where to save the dictionary
+     * @return The dictionary saved
+     * @throws IOException If the file can't be written
+     */
+    public static BinaryDictionary compile(WordsProvider provider, Path file) throws IOException {
+        BinaryDictionary.write(WordStore.parse(provider), file);
+        return BinaryDictionary.open(file);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (2 != args.length) {
+            System.err.println("usage: DictionaryCompiler <words.txt> <words.dict>");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        Path output = Paths.get(args[1]);
+        BinaryDictionary dictionary = compile(WordsProvider.ofFile(Paths.get(args[0]).toFile()), output);
+        System.out.printf("%d words, longest with %d letters, %d bytes, in %d ms%n", dictionary.size(),
+                dictionary.maxLength(), Files.size(output), (System.nanoTime() - start) / 1_000_000);
+    }
+}
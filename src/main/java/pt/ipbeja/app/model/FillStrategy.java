@@ -0,0 +1,20 @@
+package pt.ipbeja.app.model;
+
+/**
+ * How the cells of the matrix without letters of words are filled.
+ *
+ * @see WSModel#setFillStrategy(FillStrategy)
+ */
+public enum FillStrategy {
+    /**
+     * Any letter, at random.
+     */
+    RANDOM,
+    /**
+     * Random letters that don't write another copy of a word of the game, so every word it's only found where it was
+     * put.
+     *
+     * @see CollisionFreeFiller
+     */
+    COLLISION_FREE,
+}
@@ -0,0 +1,305 @@
+package pt.ipbeja.app.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Words sorted and front coded in blocks of {@link #BLOCK} words, in a buffer: the first word of a block it's written
+ * whole, and each of the others only writes what's different from the word before.
+ * <p>Each word it's the length of the prefix shared with the word before and the length and bytes of the rest, in
+ * UTF-8, each length with 7 bits in each byte. A word of a dictionary takes a few bytes more than its letters that
+ * aren't shared, instead of a {@link String} with its array and the node of a {@link java.util.TreeSet}.</p>
+ * <p>To find a word, the first words of the blocks are searched with the table of where each block starts, and then
+ * only a block it's read. Getting a word by its index, to choose words at random, also only reads its block.</p>
+ *
+ * @see WordStore#compact()
+ * @see BinaryDictionary
+ */
+final class FrontCodedStore extends WordStore {
+    /**
+     * How many words there are in each block.
+     */
+    static final int BLOCK = 16;
+
+    private final ByteBuffer words;
+    private final IntBuffer blocks;
+    private final int size;
+
+    /**
+     * @param words  The words, front coded
+     * @param blocks Where each block starts in {@code words}
+     * @param size   The number of words
+     */
+    FrontCodedStore(ByteBuffer words, IntBuffer blocks, int size) {
+        super();
+        this.words = words;
+        this.blocks = blocks;
+        this.size = size;
+    }
+
+    /**
+     * @return How many bytes the words and the blocks take
+     */
+    long bytes() {
+        return (long) this.words.capacity() + (long) Integer.BYTES * this.blocks.capacity();
+    }
+
+    @Override
+    public WordStore compact() {
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public String get(int i) {
+        if (0 > i || this.size <= i) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        Reader reader = new Reader(i / BLOCK);
+        for (int k = i % BLOCK; 0 < k; k--) {
+            reader.skip();
+        }
+        return reader.next();
+    }
+
+    /**
+     * Searches the first words of the blocks and then the block where the word would be.
+     */
+    @Override
+    public int indexOf(String word) {
+        int low = 0;
+        int high = this.blocks.limit() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compared = new Reader(middle).next().compareTo(word);
+            if (0 > compared) {
+                low = middle + 1;
+            } else if (0 < compared) {
+                high = middle - 1;
+            } else {
+                return middle * BLOCK;
+            }
+        }
+        // The word can only be in the block before the insertion point.
+        int block = low - 1;
+        if (0 > block) {
+            return -1;
+        }
+        Reader reader = new Reader(block);
+        int i = block * BLOCK;
+        for (int end = Math.min(this.size, i + BLOCK); i < end; i++) {
+            int compared = reader.next().compareTo(word);
+            if (0 == compared) {
+                return i;
+            }
+            if (0 < compared) {
+                break;
+            }
+        }
+        return -(i + 1);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+            private Reader reader;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < FrontCodedStore.this.size;
+            }
+
+            @Override
+            public String next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (0 == this.next % BLOCK) {
+                    this.reader = new Reader(this.next / BLOCK);
+                }
+                ++this.next;
+                return this.reader.next();
+            }
+        };
+    }
+
+    /**
+     * Reads the words of a block one after the other.
+     */
+    private final class Reader {
+        private int position;
+        private byte[] word;
+        private int length;
+        private boolean first;
+
+        private Reader(int block) {
+            super();
+            this.position = FrontCodedStore.this.blocks.get(block);
+            this.word = new byte[32];
+            this.length = 0;
+            this.first = true;
+        }
+
+        private int varint() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = FrontCodedStore.this.words.get(this.position++);
+                value |= (b & 0x7F) << shift;
+                if (0 <= b) {
+                    return value;
+                }
+            }
+        }
+
+        /**
+         * Reads the bytes of the next word, without creating it. Only the first word of a block doesn't share a prefix
+         * with the word before.
+         */
+        private void skip() {
+            int shared = this.first ? 0 : this.varint();
+            this.first = false;
+            int rest = this.varint();
+            this.length = shared + rest;
+            if (this.word.length < this.length) {
+                this.word = Arrays.copyOf(this.word, Math.max(this.length, 2 * this.word.length));
+            }
+            FrontCodedStore.this.words.get(this.position, this.word, shared, rest);
+            this.position += rest;
+        }
+
+        private String next() {
+            this.skip();
+            return new String(this.word, 0, this.length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Front codes words given one by one, in alphabetical order.
+     */
+    static final class Builder {
+        private final ByteArrayBuilder data;
+        private int[] blocks;
+        private int[] lengths;
+        private byte[] previous;
+        private String last;
+        private int size;
+
+        Builder() {
+            super();
+            this.data = new ByteArrayBuilder();
+            this.blocks = new int[16];
+            this.lengths = new int[1];
+            this.previous = new byte[0];
+            this.last = null;
+            this.size = 0;
+        }
+
+        /**
+         * @param word A word after every word already added
+         */
+        void add(String word) {
+            assert null == this.last || 0 < word.compareTo(this.last);
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            int shared = 0;
+            if (0 == this.size % BLOCK) {
+                if (this.blocks.length == this.size / BLOCK) {
+                    this.blocks = Arrays.copyOf(this.blocks, 2 * this.blocks.length);
+                }
+                this.blocks[this.size / BLOCK] = this.data.size();
+            } else {
+                int max = Math.min(bytes.length, this.previous.length);
+                while (shared < max && bytes[shared] == this.previous[shared]) {
+                    ++shared;
+                }
+                this.data.varint(shared);
+            }
+            this.data.varint(bytes.length - shared);
+            this.data.write(bytes, shared, bytes.length - shared);
+            this.previous = bytes;
+            this.last = word;
+            if (this.lengths.length <= word.length()) {
+                this.lengths = Arrays.copyOf(this.lengths, word.length() + 1);
+            }
+            ++this.lengths[word.length()];
+            ++this.size;
+        }
+
+        /**
+         * @return How many words were added
+         */
+        int size() {
+            return this.size;
+        }
+
+        /**
+         * @return How many words have each length, from {@code 0} to the longest
+         */
+        int[] lengths() {
+            return this.lengths.clone();
+        }
+
+        /**
+         * @return Where each block starts
+         */
+        int[] blocks() {
+            return Arrays.copyOf(this.blocks, (this.size + BLOCK - 1) / BLOCK);
+        }
+
+        /**
+         * @return The number of bytes of the words
+         */
+        int bytes() {
+            return this.data.size();
+        }
+
+        /**
+         * Writes the words, without the blocks.
+         *
+         * @param out Where to write them
+         * @throws IOException If they can't be written
+         */
+        void writeTo(DataOutputStream out) throws IOException {
+            this.data.writeTo(out);
+        }
+
+        /**
+         * @return A store with the words added
+         */
+        FrontCodedStore build() {
+            return new FrontCodedStore(
+                    ByteBuffer.wrap(this.data.toByteArray()).asReadOnlyBuffer(),
+                    IntBuffer.wrap(this.blocks()).asReadOnlyBuffer(),
+                    this.size
+            );
+        }
+    }
+
+    /**
+     * A growing array of bytes, to write the words before knowing their size.
+     */
+    private static final class ByteArrayBuilder extends ByteArrayOutputStream {
+        private ByteArrayBuilder() {
+            super(1 << 16);
+        }
+
+        private void varint(int value) {
+            while (0x80 <= value) {
+                this.write(value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            this.write(value);
+        }
+    }
+}
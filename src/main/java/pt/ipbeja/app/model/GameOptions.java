@@ -16,6 +16,11 @@ public class GameOptions {
 
     private final Set<WordOrientations> orientationsAllowed;
     private int numberOfWilds;
+    private boolean largeBoard;
+    private GenerationStrategy generationStrategy;
+    private FillStrategy fillStrategy;
+    private int candidateBoards;
+    private long generationBudget;
 
     public GameOptions() {
         super();
@@ -30,6 +35,11 @@ public class GameOptions {
         this.orientationsAllowed.add(WordOrientations.VERTICAL);
         this.orientationsAllowed.add(WordOrientations.HORIZONTAL);
         this.numberOfWilds = 1;
+        this.largeBoard = false;
+        this.generationStrategy = GenerationStrategy.GREEDY;
+        this.fillStrategy = FillStrategy.RANDOM;
+        this.candidateBoards = 1;
+        this.generationBudget = 200L;
     }
 
     public void addOrientationAllowed(WordOrientations orientation) {
@@ -100,6 +110,46 @@ public class GameOptions {
         this.keepExistent = keepExistent;
     }
 
+    public boolean isLargeBoard() {
+        return this.largeBoard;
+    }
+
+    public void setLargeBoard(boolean largeBoard) {
+        this.largeBoard = largeBoard;
+    }
+
+    public GenerationStrategy getGenerationStrategy() {
+        return this.generationStrategy;
+    }
+
+    public void setGenerationStrategy(GenerationStrategy generationStrategy) {
+        this.generationStrategy = generationStrategy;
+    }
+
+    public FillStrategy getFillStrategy() {
+        return this.fillStrategy;
+    }
+
+    public void setFillStrategy(FillStrategy fillStrategy) {
+        this.fillStrategy = fillStrategy;
+    }
+
+    public int getCandidateBoards() {
+        return this.candidateBoards;
+    }
+
+    public void setCandidateBoards(int candidateBoards) {
+        this.candidateBoards = candidateBoards;
+    }
+
+    public long getGenerationBudget() {
+        return this.generationBudget;
+    }
+
+    public void setGenerationBudget(long generationBudget) {
+        this.generationBudget = generationBudget;
+    }
+
     public Set<WordOrientations> getOrientationsAllowed() {
         return Collections.unmodifiableSet(this.orientationsAllowed);
     }
@@ -2,5 +2,9 @@ package pt.ipbeja.app.model;
 
 import java.util.Set;
 
-public record GameResults(Set<String> words, Set<String> words_found, boolean onReplay) {
+/**
+ * @param seed The seed of the random numbers the board of the game was generated with
+ * @see WSModel#setSeed(long)
+ */
+public record GameResults(Set<String> words, Set<String> words_found, boolean onReplay, long seed) {
 }
@@ -0,0 +1,213 @@
+package pt.ipbeja.app.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The words of a game and which of them were already found.
+ * <p>Each word has an id, its index in alphabetical order, and the words found are the bits set in a {@link BitSet},
+ * so finding a word, or knowing how many are still to find, doesn't change any collection. The words are only seen as
+ * a {@link Set} through views of the same array, that don't copy any word.</p>
+ *
+ * @see #results()
+ */
+public final class GameWords {
+    /**
+     * What's returned when a word isn't of the game.
+     */
+    public static final int NONE = -1;
+
+    private final String[] words;
+    private final BitSet found;
+    private int foundCount;
+
+    /**
+     * @param words The words of the game
+     */
+    public GameWords(Collection<String> words) {
+        super();
+        this.words = words.stream().distinct().sorted().toArray(String[]::new);
+        this.found = new BitSet(this.words.length);
+        this.foundCount = 0;
+    }
+
+    /**
+     * @return The number of words
+     */
+    public int size() {
+        return this.words.length;
+    }
+
+    /**
+     * @param word A word
+     * @return The id of the word, or {@link #NONE} if it's not of the game
+     */
+    public int id(String word) {
+        int id = Arrays.binarySearch(this.words, word);
+        return 0 > id ? NONE : id;
+    }
+
+    /**
+     * @param id The id of a word
+     * @return The word
+     */
+    public String word(int id) {
+        return this.words[id];
+    }
+
+    /**
+     * @param id The id of a word
+     * @return If the word was already found
+     */
+    public boolean isFound(int id) {
+        return this.found.get(id);
+    }
+
+    /**
+     * @param word A word
+     * @return If the word it's of the game and wasn't found yet
+     */
+    public boolean isToFind(String word) {
+        int id = this.id(word);
+        return NONE != id && !this.found.get(id);
+    }
+
+    /**
+     * Marks a word as found.
+     *
+     * @param id The id of the word
+     * @return If the word wasn't found before
+     */
+    public boolean find(int id) {
+        if (this.found.get(id)) {
+            return false;
+        }
+        this.found.set(id);
+        ++this.foundCount;
+        return true;
+    }
+
+    /**
+     * @return The number of words found
+     */
+    public int foundCount() {
+        return this.foundCount;
+    }
+
+    /**
+     * @return If every word was found
+     */
+    public boolean allFound() {
+        return this.foundCount == this.words.length;
+    }
+
+    /**
+     * Marks every word as not found, to play the game again.
+     */
+    public void reset() {
+        this.found.clear();
+        this.foundCount = 0;
+    }
+
+    /**
+     * @return Which words were found, a bit for each id, copied
+     */
+    public BitSet found() {
+        return (BitSet) this.found.clone();
+    }
+
+    /**
+     * Marks as found only the words found in a copy from {@link #found()}.
+     *
+     * @param found Which words were found, a bit for each id
+     */
+    public void restore(BitSet found) {
+        this.found.clear();
+        this.found.or(found);
+        this.foundCount = this.found.cardinality();
+    }
+
+    /**
+     * The words are shared with the results, because they don't change, but the words found are copied, a bit for
+     * each word, so the results stay the same when more words are found.
+     *
+     * @param onReplay If the game was a replay
+     * @param seed     The seed of the board
+     * @return The results of the game as it's now
+     */
+    public GameResults results(boolean onReplay, long seed) {
+        return new GameResults(
+                new WordsView(this.words, null, this.words.length),
+                new WordsView(this.words, (BitSet) this.found.clone(), this.foundCount),
+                onReplay,
+                seed
+        );
+    }
+
+    /**
+     * A read only set of some of the words, in alphabetical order.
+     */
+    private static final class WordsView extends AbstractSet<String> {
+        private final String[] words;
+        /**
+         * Which words are in the set, or {@code null} for all of them.
+         */
+        private final BitSet ids;
+        private final int size;
+
+        private WordsView(String[] words, BitSet ids, int size) {
+            super();
+            this.words = words;
+            this.ids = ids;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof String word)) {
+                return false;
+            }
+            int id = Arrays.binarySearch(this.words, word);
+            return 0 <= id && (null == this.ids || this.ids.get(id));
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<>() {
+                private int next = this.after(-1);
+
+                private int after(int id) {
+                    if (null == WordsView.this.ids) {
+                        return id + 1 < WordsView.this.words.length ? id + 1 : NONE;
+                    }
+                    return WordsView.this.ids.nextSetBit(id + 1);
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return NONE != this.next;
+                }
+
+                @Override
+                public String next() {
+                    if (NONE == this.next) {
+                        throw new NoSuchElementException();
+                    }
+                    String word = WordsView.this.words[this.next];
+                    this.next = this.after(this.next);
+                    return word;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package pt.ipbeja.app.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A matrix with words put in it, and where they are, that it's not yet in use by a game.
+ * <p>Boards can be compared by how good they are to play: the more words the better, then the more cells shared by
+ * words, then the more lines and columns with letters of words on them.</p>
+ *
+ * @see WSModel#setCandidateBoards(int)
+ */
+public final class GeneratedBoard implements Comparable<GeneratedBoard> {
+    private final LettersGrid grid;
+    private final long seed;
+    private final Set<String> words;
+    /**
+     * The positions of the first and last letter of each word, one after the other.
+     */
+    private final List<Position> positions;
+    /**
+     * The words in the order they were put, the same as {@link #positions}.
+     */
+    private final List<String> placed;
+    private SegmentIndex segments;
+
+    /**
+     * Creates a board with an empty matrix.
+     *
+     * @param lines The number of lines
+     * @param cols  The number of columns
+     * @param seed  The seed of the random numbers the board is generated with
+     */
+    public GeneratedBoard(int lines, int cols, long seed) {
+        super();
+        this.grid = new LettersGrid(lines, cols);
+        this.seed = seed;
+        this.words = new TreeSet<>();
+        this.positions = new ArrayList<>();
+        this.placed = new ArrayList<>();
+    }
+
+    public LettersGrid grid() {
+        return this.grid;
+    }
+
+    public long seed() {
+        return this.seed;
+    }
+
+    public Set<String> words() {
+        return Collections.unmodifiableSet(this.words);
+    }
+
+    public List<Position> positions() {
+        return Collections.unmodifiableList(this.positions);
+    }
+
+    /**
+     * @return The words in the order they were put, so the word with id {@code i} in {@link #segments()} it's the
+     * {@code i}th
+     */
+    public List<String> placedWords() {
+        return Collections.unmodifiableList(this.placed);
+    }
+
+    /**
+     * @return Where each word is, or {@code null} before {@link #indexSegments()}
+     */
+    public SegmentIndex segments() {
+        return this.segments;
+    }
+
+    /**
+     * Indexes where each word is. It's the last step of generating the board, after the wild cards.
+     */
+    public void indexSegments() {
+        this.segments = new SegmentIndex(this.grid, this.positions);
+    }
+
+    /**
+     * Writes a word in the matrix and saves where it is.
+     *
+     * @param word  The word
+     * @param start The index of the first letter
+     * @param step  What to add to a cell index to get to the next
+     */
+    public void place(String word, int start, int step) {
+        WordSlots.write(this.grid, word, start, step);
+        this.record(word, start, step);
+    }
+
+    /**
+     * Saves where a word, already written in the matrix, is.
+     *
+     * @param word  The word
+     * @param start The index of the first letter
+     * @param step  What to add to a cell index to get to the next
+     */
+    public void record(String word, int start, int step) {
+        int cols = this.grid.cols();
+        int end = start + (word.length() - 1) * step;
+        this.words.add(word);
+        this.placed.add(word);
+        this.positions.add(new Position(start / cols, start % cols));
+        this.positions.add(new Position(end / cols, end % cols));
+    }
+
+    /**
+     * @return How many cells are used by more than one word
+     */
+    public int overlaps() {
+        int[] uses = this.uses();
+        int overlaps = 0;
+        for (int use : uses) {
+            if (1 < use) {
+                ++overlaps;
+            }
+        }
+        return overlaps;
+    }
+
+    /**
+     * @return How many lines and columns have letters of words on them
+     */
+    public int spread() {
+        int[] uses = this.uses();
+        boolean[] lines = new boolean[this.grid.lines()];
+        boolean[] cols = new boolean[this.grid.cols()];
+        int spread = 0;
+        for (int idx = 0; idx < uses.length; idx++) {
+            if (0 == uses[idx]) {
+                continue;
+            }
+            int line = idx / this.grid.cols();
+            int col = idx % this.grid.cols();
+            if (!lines[line]) {
+                lines[line] = true;
+                ++spread;
+            }
+            if (!cols[col]) {
+                cols[col] = true;
+                ++spread;
+            }
+        }
+        return spread;
+    }
+
+    private int[] uses() {
+        int[] uses = new int[this.grid.size()];
+        for (int i = 0; i < this.positions.size(); i += 2) {
+            Position start = this.positions.get(i);
+            Position end = this.positions.get(i + 1);
+            int lineWalk = Integer.signum(end.line() - start.line());
+            int colWalk = Integer.signum(end.col() - start.col());
+            int length = Math.max(Math.abs(end.line() - start.line()), Math.abs(end.col() - start.col())) + 1;
+            int idx = this.grid.index(start.line(), start.col());
+            int step = this.grid.index(lineWalk, colWalk);
+            for (int k = 0; k < length; k++, idx += step) {
+                ++uses[idx];
+            }
+        }
+        return uses;
+    }
+
+    @Override
+    public int compareTo(GeneratedBoard o) {
+        int cmp = Integer.compare(this.words.size(), o.words.size());
+        if (0 == cmp) {
+            cmp = Integer.compare(this.overlaps(), o.overlaps());
+        }
+        if (0 == cmp) {
+            cmp = Integer.compare(this.spread(), o.spread());
+        }
+        return cmp;
+    }
+}
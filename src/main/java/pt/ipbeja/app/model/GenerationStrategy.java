@@ -0,0 +1,19 @@
+package pt.ipbeja.app.model;
+
+/**
+ * How the words of a game are put into the matrix.
+ *
+ * @see WSModel#setGenerationStrategy(GenerationStrategy)
+ */
+public enum GenerationStrategy {
+    /**
+     * One word at a time, in a random order, each in the first free slot found.
+     */
+    GREEDY,
+    /**
+     * All the words at once as a constraint problem, going back on placements that leave other words without room.
+     *
+     * @see BacktrackingGenerator
+     */
+    BACKTRACKING,
+}
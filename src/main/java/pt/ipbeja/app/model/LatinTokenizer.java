@@ -0,0 +1,76 @@
+package pt.ipbeja.app.model;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits lines in the words of the game: the sequences of letters of the latin script, in uppercase.
+ * <p>It gives the same words as splitting the line with the regular expression {@code [^\p{sc=LATN}]} and turning
+ * each part to uppercase with {@link Locale#ROOT}, but the ASCII characters, most of them in most dictionaries, are
+ * checked and turned to uppercase without looking up their script.</p>
+ */
+public final class LatinTokenizer {
+    private LatinTokenizer() {
+    }
+
+    /**
+     * @param c An ASCII character
+     * @return If it's a letter
+     */
+    private static boolean isAsciiLetter(char c) {
+        return ('A' <= c && 'Z' >= c) || ('a' <= c && 'z' >= c);
+    }
+
+    /**
+     * Adds the words of a line to a list.
+     *
+     * @param line  The line
+     * @param words Where to add the words
+     */
+    public static void split(CharSequence line, List<String> words) {
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            int start = i;
+            boolean ascii = true;
+            boolean upper = true;
+            while (i < length) {
+                char c = line.charAt(i);
+                if (0x80 > c) {
+                    if (!isAsciiLetter(c)) {
+                        break;
+                    }
+                    upper &= 'Z' >= c;
+                    ++i;
+                } else {
+                    int codePoint = Character.codePointAt(line, i);
+                    if (Character.UnicodeScript.LATIN != Character.UnicodeScript.of(codePoint)) {
+                        break;
+                    }
+                    ascii = false;
+                    i += Character.charCount(codePoint);
+                }
+            }
+            if (start < i) {
+                words.add(word(line, start, i, ascii, upper));
+            } else {
+                i += Character.charCount(Character.codePointAt(line, i));
+            }
+        }
+    }
+
+    private static String word(CharSequence line, int start, int end, boolean ascii, boolean upper) {
+        if (!ascii) {
+            return line.subSequence(start, end).toString().toUpperCase(Locale.ROOT);
+        }
+        if (upper) {
+            return line.subSequence(start, end).toString();
+        }
+        char[] word = new char[end - start];
+        for (int k = 0; k < word.length; k++) {
+            char c = line.charAt(start + k);
+            word[k] = 'a' <= c ? (char) (c - ('a' - 'A')) : c;
+        }
+        return new String(word);
+    }
+}
@@ -0,0 +1,167 @@
+package pt.ipbeja.app.model;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * The words of a {@link WordStore} grouped by length, so the words of a game are chosen without going through all of
+ * them.
+ * <p>Each length has the indexes in the store of its words. The words that fit in a board are the ones of a range of
+ * lengths, so how many there are it's known by adding the sizes of those lengths, and a random word of them it's a
+ * random number below that. Choosing {@code n} words only takes {@code n} random numbers and {@code n} words from the
+ * store, however many words it has.</p>
+ * <p>A {@link BinaryDictionary} already has its words by length in the file, so its index it's made without reading
+ * any word.</p>
+ *
+ * @see BoardSettings#minWordSize()
+ * @see BoardSettings#maxWordLength()
+ */
+public final class LengthIndex {
+    private static final LengthIndex EMPTY = new LengthIndex(WordStore.empty());
+
+    private final WordStore words;
+    /**
+     * The indexes in {@link #words} of the words of each length, in alphabetical order.
+     */
+    private final IntBuffer[] lengths;
+
+    /**
+     * Goes through the words once, or not at all if they are a {@link BinaryDictionary}.
+     *
+     * @param words The words
+     */
+    public LengthIndex(WordStore words) {
+        super();
+        this.words = words;
+        if (words instanceof BinaryDictionary dictionary) {
+            this.lengths = new IntBuffer[dictionary.maxLength() + 1];
+            for (int length = 0; length < this.lengths.length; length++) {
+                this.lengths[length] = dictionary.wordsOfLength(length);
+            }
+            return;
+        }
+        int[][] lengths = new int[1][];
+        int[] sizes = new int[1];
+        int i = 0;
+        for (String word : words) {
+            int length = word.length();
+            if (lengths.length <= length) {
+                lengths = Arrays.copyOf(lengths, length + 1);
+                sizes = Arrays.copyOf(sizes, length + 1);
+            }
+            if (null == lengths[length]) {
+                lengths[length] = new int[16];
+            } else if (lengths[length].length == sizes[length]) {
+                lengths[length] = Arrays.copyOf(lengths[length], 2 * sizes[length]);
+            }
+            lengths[length][sizes[length]++] = i++;
+        }
+        this.lengths = new IntBuffer[lengths.length];
+        for (int length = 0; length < lengths.length; length++) {
+            this.lengths[length] = IntBuffer.wrap(
+                    null == lengths[length] ? new int[0] : Arrays.copyOf(lengths[length], sizes[length]));
+        }
+    }
+
+    /**
+     * @return An index without words
+     */
+    public static LengthIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return The words indexed
+     */
+    public WordStore words() {
+        return this.words;
+    }
+
+    /**
+     * @param min The minimum length
+     * @param max The maximum length
+     * @return How many words have a length from {@code min} to {@code max}
+     */
+    public int count(int min, int max) {
+        int count = 0;
+        for (int length = Math.max(0, min), end = Math.min(max, this.lengths.length - 1); length <= end; length++) {
+            count += this.lengths[length].limit();
+        }
+        return count;
+    }
+
+    /**
+     * @param min The minimum length
+     * @param max The maximum length
+     * @return The words with a length from {@code min} to {@code max}, in alphabetical order
+     */
+    public Set<String> words(int min, int max) {
+        Set<String> words = new TreeSet<>();
+        for (int length = Math.max(0, min), end = Math.min(max, this.lengths.length - 1); length <= end; length++) {
+            IntBuffer ranks = this.lengths[length];
+            for (int i = 0; i < ranks.limit(); i++) {
+                words.add(this.words.get(ranks.get(i)));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Chooses different words at random, each with the same probability, from the words with a length from
+     * {@code min} to {@code max}.
+     * <p>The ranks of the words are chosen with Floyd's algorithm, that takes a random number for each one and never
+     * repeats, and then they are shuffled because the algorithm doesn't give them in a random order.</p>
+     *
+     * @param min    The minimum length
+     * @param max    The maximum length
+     * @param n      How many words to choose, {@code 0} for all of them
+     * @param random The random numbers to use
+     * @return The words, in a random order. Fewer than {@code n} if there aren't that many
+     */
+    public List<String> sample(int min, int max, int n, RandomGenerator random) {
+        assert 0 <= n;
+        int count = this.count(min, max);
+        List<String> sample = new ArrayList<>(0 == n ? count : Math.min(n, count));
+        if (0 == n || count <= n) {
+            for (int length = Math.max(0, min), end = Math.min(max, this.lengths.length - 1); length <= end; length++) {
+                IntBuffer ranks = this.lengths[length];
+                for (int i = 0; i < ranks.limit(); i++) {
+                    sample.add(this.words.get(ranks.get(i)));
+                }
+            }
+        } else {
+            Set<Integer> ranks = new HashSet<>();
+            for (int j = count - n; j < count; j++) {
+                int rank = random.nextInt(j + 1);
+                ranks.add(ranks.contains(rank) ? j : rank);
+            }
+            for (int rank : ranks) {
+                sample.add(this.get(Math.max(0, min), rank));
+            }
+        }
+        for (int i = sample.size() - 1; 0 < i; i--) {
+            int j = random.nextInt(i + 1);
+            sample.set(i, sample.set(j, sample.get(i)));
+        }
+        return sample;
+    }
+
+    /**
+     * @param min  The minimum length
+     * @param rank The position of a word in the words with a length from {@code min}, shorter words first
+     * @return The word
+     */
+    private String get(int min, int rank) {
+        int length = min;
+        while (this.lengths[length].limit() <= rank) {
+            rank -= this.lengths[length++].limit();
+        }
+        return this.words.get(this.lengths[length].get(rank));
+    }
+}
@@ -0,0 +1,128 @@
+package pt.ipbeja.app.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws letters from {@code 'A'} to {@code 'Z'} as often as they appear in the words of a dictionary, so the letters
+ * that fill the matrix look like the ones of the words and don't give them away.
+ * <p>It uses the alias method: each letter has a column with a probability of being itself and, otherwise, another
+ * letter, its alias. Drawing a letter it's choosing a column and a number to compare with its probability, so it
+ * takes constant time.</p>
+ *
+ * @see #count(String, long[])
+ */
+public final class LetterSampler {
+    /**
+     * The number of letters that can be drawn.
+     */
+    public static final int LETTERS = (int) 'Z' - (int) 'A' + 1;
+
+    private final double[] probabilities;
+    private final char[] aliases;
+
+    /**
+     * Creates the alias table of the letters, with Vose's algorithm.
+     *
+     * @param counts How many times each letter, from {@code 'A'} to {@code 'Z'}, appears. If they are all
+     *               {@code 0} every letter is as likely
+     */
+    public LetterSampler(long[] counts) {
+        super();
+        assert LETTERS == counts.length;
+        this.probabilities = new double[LETTERS];
+        this.aliases = new char[LETTERS];
+
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        double[] scaled = new double[LETTERS];
+        int[] small = new int[LETTERS];
+        int[] large = new int[LETTERS];
+        int smalls = 0;
+        int larges = 0;
+        for (int i = 0; i < LETTERS; i++) {
+            scaled[i] = 0 == total ? 1.0 : (double) counts[i] * LETTERS / total;
+            this.aliases[i] = (char) ('A' + i);
+            if (1.0 > scaled[i]) {
+                small[smalls++] = i;
+            } else {
+                large[larges++] = i;
+            }
+        }
+        while (0 < smalls && 0 < larges) {
+            int less = small[--smalls];
+            int more = large[--larges];
+            this.probabilities[less] = scaled[less];
+            this.aliases[less] = (char) ('A' + more);
+            scaled[more] -= 1.0 - scaled[less];
+            if (1.0 > scaled[more]) {
+                small[smalls++] = more;
+            } else {
+                large[larges++] = more;
+            }
+        }
+        // What's left it's 1.0, give or take rounding errors.
+        while (0 < larges) {
+            this.probabilities[large[--larges]] = 1.0;
+        }
+        while (0 < smalls) {
+            this.probabilities[small[--smalls]] = 1.0;
+        }
+    }
+
+    /**
+     * @return A sampler where every letter is as likely
+     */
+    public static LetterSampler uniform() {
+        return new LetterSampler(new long[LETTERS]);
+    }
+
+    /**
+     * Counts the letters of a word, folded the same way they are displayed in the matrix.
+     *
+     * @param word   The word
+     * @param counts Where to add the counts, from {@code 'A'} to {@code 'Z'}
+     * @see LetterVariants#fold(char)
+     */
+    public static void count(String word, long[] counts) {
+        for (int i = 0; i < word.length(); i++) {
+            char letter = word.charAt(i);
+            if ('A' > letter || 'Z' < letter) {
+                letter = LetterVariants.fold(letter);
+            }
+            if ('A' <= letter && 'Z' >= letter) {
+                ++counts[letter - 'A'];
+            }
+        }
+    }
+
+    /**
+     * @param letter A letter from {@code 'A'} to {@code 'Z'}
+     * @return The probability of drawing the letter
+     */
+    public double probability(char letter) {
+        int target = letter - 'A';
+        double probability = 0.0;
+        for (int i = 0; i < LETTERS; i++) {
+            if (i == target) {
+                probability += this.probabilities[i];
+            }
+            if (this.aliases[i] == letter) {
+                probability += 1.0 - this.probabilities[i];
+            }
+        }
+        return probability / LETTERS;
+    }
+
+    /**
+     * Draws a letter.
+     *
+     * @param random The random numbers to use
+     * @return The letter
+     */
+    public char next(RandomGenerator random) {
+        int column = random.nextInt(LETTERS);
+        return random.nextDouble() < this.probabilities[column] ? (char) ('A' + column) : this.aliases[column];
+    }
+}
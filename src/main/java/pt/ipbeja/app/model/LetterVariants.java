@@ -0,0 +1,97 @@
+package pt.ipbeja.app.model;
+
+import java.util.Locale;
+
+/**
+ * The accented variants a displayed letter can stand for.
+ * <p>A cell shows a letter without accents (its display) but can be the accented letter (one of its reals) of a word.
+ * Every display has a fixed, ordered list of variants where the index {@code 0} it's always the display itself, so the
+ * reals of a cell can be saved as a bitmask of indexes in that list.</p>
+ *
+ * @see LettersGrid
+ * @see BaseCell
+ */
+public final class LetterVariants {
+    /**
+     * The maximum number of variants any display has. Any mask of variants fits in the lower bits of a {@code short}.
+     */
+    public static final int MAX_VARIANTS = 7;
+
+    private static final char[][] VARIANTS = new char[(int) 'Z' - (int) 'A' + 1][];
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) {
+            VARIANTS[c - 'A'] = new char[]{c};
+        }
+        VARIANTS['A' - 'A'] = new char[]{'A', 'À', 'Á', 'Â', 'Ã', 'Ä', 'Å'};
+        VARIANTS['C' - 'A'] = new char[]{'C', 'Ç'};
+        VARIANTS['D' - 'A'] = new char[]{'D', 'Ð', 'Þ'};
+        VARIANTS['E' - 'A'] = new char[]{'E', 'È', 'É', 'Ê', 'Ë'};
+        VARIANTS['I' - 'A'] = new char[]{'I', 'Ì', 'Í', 'Î', 'Ï'};
+        VARIANTS['N' - 'A'] = new char[]{'N', 'Ñ'};
+        VARIANTS['O' - 'A'] = new char[]{'O', 'Ò', 'Ó', 'Ô', 'Õ', 'Ö', 'Ø'};
+        VARIANTS['S' - 'A'] = new char[]{'S', 'ß'};
+        VARIANTS['U' - 'A'] = new char[]{'U', 'Ù', 'Ú', 'Û', 'Ü'};
+        VARIANTS['Y' - 'A'] = new char[]{'Y', 'Ý'};
+    }
+
+    private LetterVariants() {
+        super();
+    }
+
+    /**
+     * Folds a letter into the letter that it's displayed to the player.
+     *
+     * @param real The letter
+     * @return The uppercase letter without accents
+     */
+    public static char fold(char real) {
+        real = String.valueOf(real).toUpperCase(Locale.ROOT).charAt(0);
+        return switch (real) {
+            case 'À', 'Á', 'Â', 'Ã', 'Ä', 'Å' -> 'A';
+            case 'Ç' -> 'C';
+            case 'È', 'É', 'Ê', 'Ë' -> 'E';
+            case 'Ì', 'Í', 'Î', 'Ï' -> 'I';
+            case 'Ð', 'Þ' -> 'D';
+            case 'Ñ' -> 'N';
+            case 'Ò', 'Ó', 'Ô', 'Õ', 'Ö', 'Ø' -> 'O';
+            case 'Ù', 'Ú', 'Û', 'Ü' -> 'U';
+            case 'Ý' -> 'Y';
+            case 'ß' -> 'S';
+            default -> real;
+        };
+    }
+
+    /**
+     * @param display A folded letter
+     * @param real    A letter that folds into {@code display}
+     * @return The index of {@code real} in the variants of {@code display} or {@code -1} if it isn't one of them
+     */
+    public static int indexOf(char display, char real) {
+        if (display == real) {
+            return 0;
+        }
+        if ('A' > display || 'Z' < display) {
+            return -1;
+        }
+        char[] variants = VARIANTS[display - 'A'];
+        for (int i = 1; i < variants.length; i++) {
+            if (variants[i] == real) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param display A folded letter
+     * @param index   The index of the variant
+     * @return The variant of {@code display} in that index
+     */
+    public static char variant(char display, int index) {
+        if (0 == index || 'A' > display || 'Z' < display) {
+            return display;
+        }
+        return VARIANTS[display - 'A'][index];
+    }
+}
@@ -0,0 +1,223 @@
+package pt.ipbeja.app.model;
+
+/**
+ * The letters matrix of a game.
+ * <p>Instead of a {@link BaseCell} object per cell, every cell it's two primitives in flat {@code lines * cols} arrays:
+ * the display letter and a {@code short} mask with the indexes of its reals in {@link LetterVariants}, and the
+ * highest bit of the mask marking a wild cell. The cell in line {@code a} and column {@code b} it's at the index
+ * {@code a * cols + b}. Reading a cell never allocates; {@link #cellAt(int, int)} creates a {@link BaseCell} only for
+ * who still needs one.</p>
+ *
+ * @see LetterVariants
+ * @see BaseCell
+ */
+public final class LettersGrid {
+    /**
+     * The letter of a cell that doesn't have one yet.
+     */
+    public static final char EMPTY = '\0';
+    private static final char WILD_DISPLAY = '*';
+    private static final char EMPTY_DISPLAY = ' ';
+    private static final int WILD = 0x8000;
+    private static final int REALS = (1 << LetterVariants.MAX_VARIANTS) - 1;
+
+    private final int lines;
+    private final int cols;
+    private final char[] letters;
+    private final short[] masks;
+
+    /**
+     * Creates an empty matrix.
+     *
+     * @param lines The number of lines
+     * @param cols  The number of columns
+     */
+    public LettersGrid(int lines, int cols) {
+        super();
+        this.lines = lines;
+        this.cols = cols;
+        this.letters = new char[lines * cols];
+        this.masks = new short[lines * cols];
+    }
+
+    public int lines() {
+        return this.lines;
+    }
+
+    public int cols() {
+        return this.cols;
+    }
+
+    /**
+     * @return The number of cells
+     */
+    public int size() {
+        return this.letters.length;
+    }
+
+    /**
+     * @param line The line of the cell
+     * @param col  The column of the cell
+     * @return The index of the cell in the flat arrays
+     */
+    public int index(int line, int col) {
+        return line * this.cols + col;
+    }
+
+    public boolean isEmpty(int idx) {
+        return EMPTY == this.letters[idx];
+    }
+
+    public boolean isWild(int idx) {
+        return 0 != (this.masks[idx] & WILD);
+    }
+
+    /**
+     * @param idx The index of the cell
+     * @return The folded letter of the cell, even if it's a wild cell, or {@link #EMPTY}
+     */
+    public char letter(int idx) {
+        return this.letters[idx];
+    }
+
+    /**
+     * @param idx The index of the cell
+     * @return What the player sees in the cell
+     * @see BaseCell#getDisplay()
+     */
+    public char display(int idx) {
+        if (this.isWild(idx)) {
+            return WILD_DISPLAY;
+        }
+        return this.isEmpty(idx) ? EMPTY_DISPLAY : this.letters[idx];
+    }
+
+    /**
+     * @param idx The index of the cell
+     * @return How many points the cell gives
+     * @see BaseCell#getPoints()
+     */
+    public int points(int idx) {
+        return this.isWild(idx) ? 2 : 1;
+    }
+
+    /**
+     * @param idx The index of the cell
+     * @return A bitmask with the indexes, in {@link LetterVariants}, of the reals of the cell
+     * @see #real(int, int)
+     */
+    public int realsMask(int idx) {
+        return this.masks[idx] & REALS;
+    }
+
+    /**
+     * @param idx     The index of the cell
+     * @param variant One of the bits set in {@link #realsMask(int)}
+     * @return The real letter
+     */
+    public char real(int idx, int variant) {
+        return LetterVariants.variant(this.letters[idx], variant);
+    }
+
+    /**
+     * @param idx  The index of the cell
+     * @param real A letter
+     * @return {@code true} if the letter it's one of the reals of the cell
+     */
+    public boolean hasReal(int idx, char real) {
+        int variant = LetterVariants.indexOf(this.letters[idx], real);
+        return 0 <= variant && 0 != (this.masks[idx] & (1 << variant));
+    }
+
+    /**
+     * Tests if a letter can be written in a cell, because the cell it's empty or it displays the same.
+     *
+     * @param idx  The index of the cell
+     * @param real The letter
+     * @return {@code true} if it can
+     * @see BaseCell#hasSameDisplayAs(char)
+     */
+    public boolean accepts(int idx, char real) {
+        char display = LetterVariants.fold(real);
+        if (0 > LetterVariants.indexOf(display, real)) {
+            return false;
+        }
+        return this.isEmpty(idx) || this.letters[idx] == display;
+    }
+
+    /**
+     * Writes a letter in a cell. The cell needs to {@link #accepts(int, char)} it.
+     *
+     * @param idx  The index of the cell
+     * @param real The letter
+     * @return {@code true} if the letter wasn't yet one of the reals of the cell
+     * @throws IllegalArgumentException If the cell doesn't accept the letter
+     * @see BaseCell#addReal(char)
+     */
+    public boolean put(int idx, char real) {
+        char display = LetterVariants.fold(real);
+        if (this.isEmpty(idx)) {
+            this.letters[idx] = display;
+        }
+        int variant = LetterVariants.indexOf(this.letters[idx], real);
+        if (0 > variant) {
+            throw new IllegalArgumentException(real + " can't be written over " + this.letters[idx]);
+        }
+        int bit = 1 << variant;
+        int old = this.masks[idx];
+        this.masks[idx] = (short) (old | bit);
+        return 0 == (old & bit);
+    }
+
+    /**
+     * Removes a letter from the reals of a cell. A cell without reals becomes empty again.
+     *
+     * @param idx  The index of the cell
+     * @param real The letter
+     * @see BaseCell#removeReal(char)
+     */
+    public void removeReal(int idx, char real) {
+        int variant = LetterVariants.indexOf(this.letters[idx], real);
+        if (0 > variant) {
+            return;
+        }
+        this.masks[idx] = (short) (this.masks[idx] & ~(1 << variant));
+        if (0 == (this.masks[idx] & REALS)) {
+            this.clear(idx);
+        }
+    }
+
+    public void clear(int idx) {
+        this.letters[idx] = EMPTY;
+        this.masks[idx] = 0;
+    }
+
+    public void setWild(int idx) {
+        this.masks[idx] = (short) (this.masks[idx] | WILD);
+    }
+
+    /**
+     * Creates the {@link BaseCell} equivalent of a cell.
+     *
+     * @param line The line of the cell
+     * @param col  The column of the cell
+     * @return A {@link WildCell}, or a {@link Cell} with a blank space for empty cells
+     */
+    public BaseCell cellAt(int line, int col) {
+        int idx = this.index(line, col);
+        int mask = this.realsMask(idx);
+        BaseCell cell = null;
+        for (int m = mask; 0 != m; m &= m - 1) {
+            char real = this.real(idx, Integer.numberOfTrailingZeros(m));
+            if (null == cell) {
+                cell = this.isWild(idx) ? new WildCell(real) : new Cell(real);
+            } else {
+                cell.addReal(real);
+            }
+        }
+        if (null == cell) {
+            cell = this.isWild(idx) ? new WildCell(EMPTY_DISPLAY) : new Cell(EMPTY_DISPLAY);
+        }
+        return cell;
+    }
+}
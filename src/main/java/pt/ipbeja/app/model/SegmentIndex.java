@@ -0,0 +1,123 @@
+package pt.ipbeja.app.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Where the words of a board were put, to know which word a selection is with only one lookup.
+ * <p>The words are numbered in the order they were put in the matrix. The index of the first and of the last cell of
+ * each word are packed in a {@code long}, both ways, as the key of an open addressing hash table of {@code int} ids, so
+ * looking up a selection doesn't allocate. Words written in the same cells, like one with accents and one without, are
+ * chained by {@link #next(int)}.</p>
+ * <p>The points of each word are computed when the index it's created, so it must be after the wild cards are
+ * set.</p>
+ *
+ * @see GeneratedBoard#indexSegments()
+ */
+public final class SegmentIndex {
+    /**
+     * What's returned when there's no word.
+     */
+    public static final int NONE = -1;
+    private static final long EMPTY = -1L;
+
+    private final long[] keys;
+    private final int[] ids;
+    private final int mask;
+    private final int[] next;
+    private final int[] points;
+
+    /**
+     * @param grid      The matrix, with the wild cards already in it
+     * @param positions The positions of the first and last letter of each word, one after the other
+     */
+    public SegmentIndex(LettersGrid grid, List<Position> positions) {
+        super();
+        int words = positions.size() / 2;
+        // At most half full, with two keys per word.
+        int capacity = Integer.highestOneBit(Math.max(1, 4 * words - 1)) << 1;
+        this.keys = new long[capacity];
+        Arrays.fill(this.keys, EMPTY);
+        this.ids = new int[capacity];
+        this.mask = capacity - 1;
+        this.next = new int[words];
+        this.points = new int[words];
+        for (int id = 0; id < words; id++) {
+            Position first = positions.get(2 * id);
+            Position last = positions.get(2 * id + 1);
+            int start = grid.index(first.line(), first.col());
+            int end = grid.index(last.line(), last.col());
+            int length = Math.max(Math.abs(last.line() - first.line()), Math.abs(last.col() - first.col())) + 1;
+            int step = 1 == length ? 0 : (end - start) / (length - 1);
+            for (int k = 0; k < length; k++) {
+                this.points[id] += grid.points(start + k * step);
+            }
+            this.next[id] = this.put(start, end, id);
+            if (start != end) {
+                this.put(end, start, id);
+            }
+        }
+    }
+
+    private static long key(int start, int end) {
+        return (long) start << 32 | (end & 0xFFFFFFFFL);
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing, to spread keys of close cells.
+        return (int) (key * 0x9E3779B97F4A7C15L >>> 32) & this.mask;
+    }
+
+    /**
+     * @return The id the key had before, or {@link #NONE}
+     */
+    private int put(int start, int end, int id) {
+        long key = key(start, end);
+        int slot = this.slot(key);
+        while (EMPTY != this.keys[slot] && key != this.keys[slot]) {
+            slot = (slot + 1) & this.mask;
+        }
+        int previous = EMPTY == this.keys[slot] ? NONE : this.ids[slot];
+        this.keys[slot] = key;
+        this.ids[slot] = id;
+        return previous;
+    }
+
+    /**
+     * @param start The index of the cell where the selection starts
+     * @param end   The index of the cell where the selection ends
+     * @return The id of a word written from one cell to the other, in either direction, or {@link #NONE}
+     */
+    public int first(int start, int end) {
+        long key = key(start, end);
+        for (int slot = this.slot(key); EMPTY != this.keys[slot]; slot = (slot + 1) & this.mask) {
+            if (key == this.keys[slot]) {
+                return this.ids[slot];
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * @param id The id of a word
+     * @return The id of another word in the same cells, or {@link #NONE}
+     */
+    public int next(int id) {
+        return this.next[id];
+    }
+
+    /**
+     * @param id The id of a word
+     * @return The points the word gives
+     */
+    public int points(int id) {
+        return this.points[id];
+    }
+
+    /**
+     * @return The number of words
+     */
+    public int size() {
+        return this.next.length;
+    }
+}
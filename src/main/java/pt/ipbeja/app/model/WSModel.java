@@ -4,8 +4,13 @@
  */
 package pt.ipbeja.app.model;
 
+import pt.ipbeja.app.model.eventlog.GameEvent;
+import pt.ipbeja.app.model.eventlog.GameEventLog;
+import pt.ipbeja.app.model.replay.Replay;
+import pt.ipbeja.app.model.replay.ReplayTarget;
+import pt.ipbeja.app.model.replay.Replayer;
+import pt.ipbeja.app.model.replay.Timeline;
 import pt.ipbeja.app.model.resultssaver.ResultsSaver;
-import pt.ipbeja.app.model.wordsprovider.DBWordsProvider;
 import pt.ipbeja.app.model.wordsprovider.WordsProvider;
 import pt.ipbeja.app.throwables.*;
 
@@ -15,7 +20,16 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.SecureRandom;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +44,12 @@ public class WSModel {
      * A natural number representing the maximum acceptable length for a matrix side.
      */
     public static final int MAX_SIDE_LEN = 12;
+    /**
+     * A natural number representing the maximum acceptable length for a matrix side in large-board mode.
+     *
+     * @see #setLargeBoard(boolean)
+     */
+    public static final int MAX_LARGE_SIDE_LEN = 8192;
     /**
      * A natural number representing the default amount of words the matrix will have in the game.
      */
@@ -42,15 +62,31 @@ public class WSModel {
             "this action";
     private static final String NO_WORDS_MSG_ERR = "no words were given for the game to be able to start";
     private static final String NOT_IN_GAME_ERR = "can't perform this action if a game hasn't started";
-    private static final String INVALID_SIDE_LEN_MSG_FORMAT = String.format("the %s provided is invalid! it needs to " +
-            "be a number between %d and %d", "%s", MIN_SIDE_LEN, MAX_SIDE_LEN);
-    private static final Pattern PATTERN = Pattern.compile("[^\\p{sc=LATN}]");
-    private static final BaseCell[][] EMPTY_LETTERS_GRID = new BaseCell[0][];
-    private static final char FIRST_ALPHABET_LETTER = 'A';
-    private static final char LAST_ALPHABET_LETTER = 'Z';
-    private static final long A_SECOND_IN_MILLIS = 1000L;
+    private static final String INVALID_SIDE_LEN_MSG_FORMAT = "the %s provided is invalid! it needs to be a number " +
+            "between %d and %d";
+    private static final LettersGrid EMPTY_LETTERS_GRID = new LettersGrid(0, 0);
+    private static final long DEFAULT_GENERATION_BUDGET_MILLIS = 200L;
 
-    private final Random random;
+    /**
+     * Where the seeds of the games come from when no seed was set.
+     */
+    private final RandomGenerator seeds;
+    /**
+     * Creates the generator of random numbers of a game from its seed.
+     */
+    private LongFunction<RandomGenerator.SplittableGenerator> randomFactory;
+    /**
+     * The seed every game uses, or {@code null} for a new seed each game.
+     */
+    private Long fixedSeed;
+    /**
+     * The seed of the current game.
+     */
+    private long seed;
+    /**
+     * The random numbers of the current game.
+     */
+    private RandomGenerator random;
     /**
      * The allowed orientations a word can be found in game.
      */
@@ -64,13 +100,17 @@ public class WSModel {
      */
     private int cols;
     /**
-     * The matrix of {@link BaseCell}s.
-     * <p>Can be a simple {@code BaseCell[lines*cols]} and to access a {@code BaseCell} in line {@code a}
-     * and column {@code b} you just {@code this.matrix[a * this.cols + b]}.</p>
+     * The matrix of letters.
+     *
+     * @see LettersGrid
+     */
+    private LettersGrid lettersGrid;
+    /**
+     * The places where words can be written in {@link #lettersGrid}. Kept between games with the same dimensions.
      *
-     * @see BaseCell
+     * @see WordSlots
      */
-    private BaseCell[][] lettersGrid;
+    private volatile WordSlots wordSlots;
     /**
      * The user interface. To use when we want to communicate with the player.
      */
@@ -80,19 +120,49 @@ public class WSModel {
      *
      * @see #setWords(WordsProvider)
      */
-    private Set<String> words;
+    private WordStore words;
+    /**
+     * The {@link #words} grouped by length, to choose the words of a game from.
+     */
+    private LengthIndex wordsByLength;
+    /**
+     * How many times each letter, from {@code 'A'} to {@code 'Z'}, appears in {@link #words}.
+     */
+    private final long[] letterCounts;
+    /**
+     * Draws the letters that fill the matrix as often as they appear in {@link #words}.
+     */
+    private volatile LetterSampler letterSampler;
+    /**
+     * Finds the {@link #words} in a matrix. Only created when needed, and thrown away when the words change.
+     *
+     * @see #solveBoard()
+     */
+    private volatile BoardSolver boardSolver;
+    /**
+     * Subset of {@link #words} of the words that are currently on the matrix, and which of them were already found.
+     */
+    private GameWords gameWords;
     /**
-     * Subset of {@link #words} of the words that are currently on the matrix to be found.
+     * The words of the current game, to find them in the cells selected.
      *
-     * @see #wordsFound
+     * @see #findWord(Position)
      */
-    private Set<String> wordsToFind;
+    private WordsTrie wordsTrie;
     /**
-     * Subset of {@link #words} of the words that are currently on the matrix, that were already found.
+     * Where each word of the current game was put, by id.
      *
-     * @see #wordsToFind
+     * @see #segmentWords
+     */
+    private SegmentIndex segments;
+    /**
+     * The id in {@link #gameWords} of each word, by its id in {@link #segments}.
      */
-    private Set<String> wordsFound;
+    private int[] segmentWords;
+    /**
+     * Tests if a word of the current game wasn't found yet, without creating a new lambda each selection.
+     */
+    private final Predicate<String> stillToFind;
     /**
      * Represents if a game it's currently happening.
      */
@@ -107,6 +177,12 @@ public class WSModel {
      * @see ResultsSaver
      */
     private ResultsSaver saver;
+    /**
+     * Where the events of the games are written as they happen, or {@code null}.
+     *
+     * @see GameEventLog
+     */
+    private GameEventLog eventLog;
     /**
      * Maximum of words that can appear in a game.
      */
@@ -120,11 +196,66 @@ public class WSModel {
      */
     private int wildCards;
 
-    private final List<Position> plays;
+    /**
+     * The plays of the current game, as they are played.
+     */
+    private Timeline.Builder plays;
+    /**
+     * The plays of the last game that ended, to replay it, or {@code null}.
+     */
+    private Timeline timeline;
     private boolean onReplay;
+    /**
+     * The positions of both ends of each selection that found words, in pairs, to show them again when a replay goes
+     * back to a checkpoint.
+     */
+    private final List<Position> foundSelections;
+    /**
+     * Who schedules the plays of the replays.
+     */
+    private Replayer replayer;
+    /**
+     * The replay happening, or the last one.
+     */
+    private Replay<ReplayState> replay;
+    /**
+     * What the {@link #replay} plays on. The other targets are of replays cancelled, and do nothing.
+     */
+    private ModelReplay replayTarget;
 
     private final List<Position> wordsLettersPositions;
 
+    /**
+     * Represents if the matrix sides can go up to {@link #MAX_LARGE_SIDE_LEN} instead of {@link #MAX_SIDE_LEN}.
+     */
+    private boolean largeBoard;
+
+    /**
+     * How the words are put into the matrix.
+     */
+    private GenerationStrategy generationStrategy;
+    /**
+     * How the cells without letters of words are filled.
+     */
+    private FillStrategy fillStrategy;
+    /**
+     * How many boards are generated at the same time when a game starts, to keep the best one.
+     */
+    private int candidateBoards;
+    /**
+     * How long to wait for the candidate boards before keeping the best one ready.
+     */
+    private long generationBudgetMillis;
+    /**
+     * The boards generated in the background, or {@code null} if every board it's generated when a game starts.
+     */
+    private BoardPool boardPool;
+    /**
+     * The {@link #wordsByLength} for the {@link #boardPool} to generate the boards from. The words are read only, so
+     * they don't need to be copied.
+     */
+    private volatile LengthIndex pooledWords;
+
     /**
      * Creates the model for a words matrix game.
      *
@@ -140,16 +271,28 @@ public class WSModel {
     public WSModel() {
         super();
         // https://docs.oracle.com/javase/8/docs/api/java/security/SecureRandom.html
-        this.random = new SecureRandom();
+        this.seeds = new SecureRandom();
+        this.randomFactory = SplittableRandom::new;
+        this.seed = this.seeds.nextLong();
+        this.random = this.randomFactory.apply(this.seed);
         this.maxWords = 0;
         this.minWordSize = 1;
         // https://docs.oracle.com/javase/8/docs/api/java/util/EnumSet.html
         this.orientationsAllowed = EnumSet.noneOf(WordOrientations.class);
         this.orientationsAllowed.addAll(List.of(WordOrientations.VERTICAL, WordOrientations.HORIZONTAL));
         this.lettersGrid = EMPTY_LETTERS_GRID;
-        this.plays = new ArrayList<>();
+        this.plays = new Timeline.Builder(System.currentTimeMillis());
         this.onReplay = false;
+        this.foundSelections = new ArrayList<>();
+        this.replayer = Replayer.common();
         this.wordsLettersPositions = new ArrayList<>();
+        this.generationStrategy = GenerationStrategy.GREEDY;
+        this.fillStrategy = FillStrategy.RANDOM;
+        this.letterCounts = new long[LetterSampler.LETTERS];
+        this.letterSampler = LetterSampler.uniform();
+        this.stillToFind = word -> this.gameWords.isToFind(word);
+        this.candidateBoards = 1;
+        this.generationBudgetMillis = DEFAULT_GENERATION_BUDGET_MILLIS;
     }
 
     /**
@@ -208,7 +351,7 @@ public class WSModel {
      * @throws IOException Could not read the file given
      */
     public WSModel(int lines, int cols, String file) throws IOException {
-        this(lines, cols, new DBWordsProvider(Paths.get(file).toFile()));
+        this(lines, cols, WordsProvider.ofFile(Paths.get(file).toFile()));
     }
 
     /**
@@ -220,7 +363,7 @@ public class WSModel {
      * @throws IOException Could not read the file given
      */
     public WSModel(int lines, int cols, URI file) throws IOException {
-        this(lines, cols, new DBWordsProvider(Paths.get(file).toFile()));
+        this(lines, cols, WordsProvider.ofFile(Paths.get(file).toFile()));
     }
 
     /**
@@ -232,17 +375,7 @@ public class WSModel {
      * @throws IOException Could not read the file given
      */
     public WSModel(int lines, int cols, Path file) throws IOException {
-        this(lines, cols, new DBWordsProvider(file.toFile()));
-    }
-
-    /**
-     * Gives a random latin alphabet character.
-     *
-     * @param random To be able to create pseudorandom numbers
-     * @return The random character
-     */
-    private static char randomLatinCharacter(Random random) {
-        return (char) random.nextInt(FIRST_ALPHABET_LETTER, LAST_ALPHABET_LETTER + 1);
+        this(lines, cols, WordsProvider.ofFile(file.toFile()));
     }
 
     private static void throwInvalidInGameChange() throws InvalidInGameChangeException {
@@ -269,14 +402,14 @@ public class WSModel {
             throw new IllegalArgumentException("`lines` and `cols` are natural numbers");
         }
 
-        boolean validLines = MIN_SIDE_LEN <= lines && MAX_SIDE_LEN >= lines;
-        boolean validCols = MIN_SIDE_LEN <= cols && MAX_SIDE_LEN >= cols;
+        boolean validLines = !this.invalidLines(lines);
+        boolean validCols = !this.invalidCols(cols);
         if (!validLines || !validCols) {
             boolean bothInvalid = !validLines && !validCols;
             String invalid = (validLines ? "" : "`lines``") +
                     (bothInvalid ? " and " : "") +
                     (validCols ? "" : "`cols``");
-            String msg = String.format(INVALID_SIDE_LEN_MSG_FORMAT, invalid);
+            String msg = String.format(INVALID_SIDE_LEN_MSG_FORMAT, invalid, MIN_SIDE_LEN, this.maxSideLen());
             throw new IllegalArgumentException(msg);
         }
 
@@ -312,16 +445,16 @@ public class WSModel {
             throw new IllegalArgumentException("`lines` are natural numbers");
         }
 
-        if (invalidLines(lines)) {
-            String msg = String.format(INVALID_SIDE_LEN_MSG_FORMAT, "`lines`");
+        if (this.invalidLines(lines)) {
+            String msg = String.format(INVALID_SIDE_LEN_MSG_FORMAT, "`lines`", MIN_SIDE_LEN, this.maxSideLen());
             throw new IllegalArgumentException(msg);
         }
 
         this.lines = lines;
     }
 
-    private static boolean invalidLines(int lines) {
-        return MIN_SIDE_LEN > lines || MAX_SIDE_LEN < lines;
+    private boolean invalidLines(int lines) {
+        return MIN_SIDE_LEN > lines || this.maxSideLen() < lines;
     }
 
     /**
@@ -352,64 +485,242 @@ public class WSModel {
             throw new IllegalArgumentException("`cols` are natural numbers");
         }
 
-        if (invalidCols(cols)) {
-            String msg = String.format(INVALID_SIDE_LEN_MSG_FORMAT, "`cols`");
+        if (this.invalidCols(cols)) {
+            String msg = String.format(INVALID_SIDE_LEN_MSG_FORMAT, "`cols`", MIN_SIDE_LEN, this.maxSideLen());
             throw new IllegalArgumentException(msg);
         }
 
         this.cols = cols;
     }
 
-    private static boolean invalidCols(int cols) {
-        return MIN_SIDE_LEN > cols || MAX_SIDE_LEN < cols;
+    private boolean invalidCols(int cols) {
+        return MIN_SIDE_LEN > cols || this.maxSideLen() < cols;
     }
 
     /**
-     * Method to define which words to use in the game via a {@link WordsProvider}.
+     * @return The maximum acceptable length for a matrix side
+     * @see #setLargeBoard(boolean)
+     */
+    private int maxSideLen() {
+        return this.largeBoard ? MAX_LARGE_SIDE_LEN : MAX_SIDE_LEN;
+    }
+
+    /**
+     * Turns the large-board mode on or off. In large-board mode the matrix sides can go up to
+     * {@link #MAX_LARGE_SIDE_LEN} so puzzles with thousands of lines and tens of thousands of words can be made.
+     * <p>Turning it off doesn't change the dimensions already set, but a game will not start with them if they are
+     * bigger than {@link #MAX_SIDE_LEN}.</p>
      *
-     * @param provider     Any {@link WordsProvider}
-     * @param keepExistent Choose if you want to keep the existent words provided in the past
-     * @see WordsProvider
+     * @param largeBoard If the mode should be on
+     * @throws InvalidInGameChangeException In case of trying to change the mode mid-game
      */
-    public void setWords(WordsProvider provider, boolean keepExistent) {
-        if (!keepExistent || null == this.words) {
-            this.words = new TreeSet<>();
+    public void setLargeBoard(boolean largeBoard) throws InvalidInGameChangeException {
+        if (this.inGame) {
+            throwInvalidInGameChange();
         }
+        this.largeBoard = largeBoard;
+    }
 
-        String line;
-        while (null != (line = provider.getLine())) {
-            String[] words = parseLine(line);
-            Collections.addAll(this.words, words);
+    public boolean isLargeBoard() {
+        return this.largeBoard;
+    }
+
+    /**
+     * Chooses how the words are put into the matrix when a game starts.
+     * <p>In large-board mode the words are always put with {@link GenerationStrategy#GREEDY}.</p>
+     *
+     * @param generationStrategy The strategy
+     * @throws InvalidInGameChangeException In case of trying to change the strategy mid-game
+     */
+    public void setGenerationStrategy(GenerationStrategy generationStrategy) throws InvalidInGameChangeException {
+        if (this.inGame) {
+            throwInvalidInGameChange();
         }
+        this.generationStrategy = generationStrategy;
+    }
+
+    public GenerationStrategy getGenerationStrategy() {
+        return this.generationStrategy;
     }
 
     /**
-     * Parses a line with possible (supported) words.
+     * Chooses how the cells without letters of words are filled when a game starts.
      *
-     * @param line Line to be parsed
-     * @return An array of words found in the line
+     * @param fillStrategy The strategy
+     * @throws InvalidInGameChangeException In case of trying to change the strategy mid-game
      */
-    private static String[] parseLine(String line) {
-        // trim whitespaces
-        line = line.trim();
+    public void setFillStrategy(FillStrategy fillStrategy) throws InvalidInGameChangeException {
+        if (this.inGame) {
+            throwInvalidInGameChange();
+        }
+        this.fillStrategy = fillStrategy;
+    }
+
+    public FillStrategy getFillStrategy() {
+        return this.fillStrategy;
+    }
 
-        // no words obviously
-        if (line.isBlank()) {
-            return new String[0];
+    /**
+     * Chooses how many boards are generated at the same time when a game starts. The game uses the one with the most
+     * words, then the most shared cells, then the most spread words.
+     *
+     * @param candidateBoards The number of boards, {@code 1} to generate only one, on the calling thread
+     * @throws InvalidInGameChangeException In case of trying to change it mid-game
+     * @see #setGenerationBudget(long)
+     * @see GeneratedBoard
+     */
+    public void setCandidateBoards(int candidateBoards) throws InvalidInGameChangeException {
+        if (this.inGame) {
+            throwInvalidInGameChange();
         }
+        assert 0 < candidateBoards;
+        this.candidateBoards = candidateBoards;
+    }
+
+    public int getCandidateBoards() {
+        return this.candidateBoards;
+    }
+
+    /**
+     * Sets how long a game start waits for the candidate boards. The best one ready by then it's used, or the first to
+     * be ready if none is. With a fixed seed every candidate it's waited for, so the board doesn't depend on the time.
+     *
+     * @param millis The time in milliseconds
+     * @throws InvalidInGameChangeException In case of trying to change it mid-game
+     * @see #setCandidateBoards(int)
+     */
+    public void setGenerationBudget(long millis) throws InvalidInGameChangeException {
+        if (this.inGame) {
+            throwInvalidInGameChange();
+        }
+        assert 0 <= millis;
+        this.generationBudgetMillis = millis;
+    }
+
+    public long getGenerationBudget() {
+        return this.generationBudgetMillis;
+    }
+
+    /**
+     * Makes every game after this one use the same seed for its random numbers, so the same words and options always
+     * give the same board, even with many candidate boards, which are then all waited for.
+     *
+     * @param seed The seed
+     * @see #useRandomSeeds()
+     * @see #getSeed()
+     */
+    public void setSeed(long seed) {
+        this.fixedSeed = seed;
+    }
+
+    /**
+     * Makes every game after this one use a new seed for its random numbers.
+     *
+     * @see #setSeed(long)
+     */
+    public void useRandomSeeds() {
+        this.fixedSeed = null;
+    }
 
-        // separate into latin alphabet sequences of words.
-        // https://stackoverflow.com/questions/51732439/regex-accented-characters-for-special-field
-        // https://docs.oracle.com/javase/8/docs/api/java/util/regex/Pattern.html
-        // http://www.unicode.org/reports/tr24/
-        String[] words = PATTERN.split(line);
+    /**
+     * @return The seed of the random numbers of the current, or last, game
+     * @see GameResults#seed()
+     */
+    public long getSeed() {
+        return this.seed;
+    }
 
-        // uppercase each word
-        for (int i = 0; i < words.length; i++) {
-            words[i] = words[i].toUpperCase(Locale.ROOT);
+    /**
+     * Chooses the algorithm of the random numbers of the games.
+     *
+     * @param randomFactory Creates a generator from a seed, like {@code SplittableRandom::new}
+     * @throws InvalidInGameChangeException In case of trying to change it mid-game
+     */
+    public void setRandomGenerator(LongFunction<RandomGenerator.SplittableGenerator> randomFactory)
+            throws InvalidInGameChangeException {
+        if (this.inGame) {
+            throwInvalidInGameChange();
+        }
+        this.randomFactory = randomFactory;
+        if (null != this.boardPool) {
+            this.boardPool.invalidate();
         }
+    }
 
-        return Arrays.stream(words).filter(s -> !s.isBlank()).toArray(String[]::new);
+    /**
+     * Keeps boards ready, generated in the background, so a game can start without waiting for one to be generated.
+     * <p>The pool keeps {@code size} boards for each configuration used to start a game, and they are thrown away
+     * every time the words change.</p>
+     *
+     * @param size How many boards to keep ready, {@code 0} to stop using a pool
+     * @see BoardPool
+     */
+    public void setBoardPoolSize(int size) {
+        assert 0 <= size;
+        if (null != this.boardPool) {
+            this.boardPool.close();
+            this.boardPool = null;
+        }
+        if (0 < size) {
+            this.boardPool = new BoardPool(
+                    size,
+                    settings -> this.generateBoard(settings, this.pooledWords, this.seeds.nextLong(), false)
+            );
+            this.refillBoardPool();
+        }
+    }
+
+    /**
+     * @return The pool of boards, to see how it's doing, or {@code null} if there's none
+     * @see #setBoardPoolSize(int)
+     */
+    public BoardPool getBoardPool() {
+        return this.boardPool;
+    }
+
+    /**
+     * Method to define which words to use in the game via a {@link WordsProvider}.
+     *
+     * @param provider     Any {@link WordsProvider}
+     * @param keepExistent Choose if you want to keep the existent words provided in the past
+     * @see WordsProvider
+     */
+    public void setWords(WordsProvider provider, boolean keepExistent) {
+        WordStore provided = provider.words();
+        if (null == provided) {
+            provided = WordStore.parse(provider);
+        }
+        if (!keepExistent || null == this.words) {
+            this.words = WordStore.empty();
+            Arrays.fill(this.letterCounts, 0L);
+        }
+
+        // Only new words count, so keeping the existent words doesn't count them again.
+        WordStore added = provided.minus(this.words);
+        long[] counts = added.letterCounts();
+        for (int i = 0; i < counts.length; i++) {
+            this.letterCounts[i] += counts[i];
+        }
+        // Front coded, so a big dictionary takes a few bytes for each word.
+        this.words = this.words.merge(added).compact();
+        this.wordsByLength = new LengthIndex(this.words);
+        this.letterSampler = new LetterSampler(this.letterCounts);
+        this.boardSolver = null;
+
+        if (null != this.boardPool) {
+            this.refillBoardPool();
+        }
+    }
+
+    /**
+     * Throws away the boards of the {@link #boardPool}, generated from old words, and starts generating new ones.
+     */
+    private void refillBoardPool() {
+        this.pooledWords = null == this.wordsByLength ? LengthIndex.empty() : this.wordsByLength;
+        this.boardPool.invalidate();
+        if (!this.pooledWords.words().isEmpty() && !this.invalidLines(this.lines) && !this.invalidCols(this.cols)) {
+            this.boardPool.fill(this.boardSettings());
+        }
     }
 
     /**
@@ -432,11 +743,14 @@ public class WSModel {
 
         this.initMatrix();
         this.inGame = true;
-        this.wordsFound = new TreeSet<>();
         this.startSelected = null;
 
-        this.plays.clear();
+        long now = System.currentTimeMillis();
+        this.plays = new Timeline.Builder(now);
+        this.timeline = null;
+        this.foundSelections.clear();
 
+        this.logStarted(now, false);
         if (null != this.wsView) {
             this.wsView.gameStarted();
         }
@@ -450,299 +764,340 @@ public class WSModel {
      *     <li>Fills blank spaces with random characters;</li>
      *     <li>Adds some wild cards.</li>
      * </ol>
-     * <p>Some of this steps can be changed in behaviour by configuration.</p>
+     * <p>Some of this steps can be changed in behaviour by configuration. With a board pool the matrix it's one that
+     * was already created in the background, if there's one ready.</p>
+     *
+     * @see #generateBoard(BoardSettings, LengthIndex, long, boolean)
+     * @see #setBoardPoolSize(int)
      */
     private void initMatrix() throws NoWordsException, CouldNotPopulateMatrixException, NoDimensionsDefinedException {
-        this.initClearMatrix();
-        this.populateMatrix();
-        this.fillMatrix();
-        this.createWildCards(this.wildCards);
+        if (this.invalidLines(this.lines) || this.invalidCols(this.cols)) {
+            throw new NoDimensionsDefinedException();
+        }
+        if (null == this.words || this.words.isEmpty()) {
+            throw new NoWordsException(NO_WORDS_MSG_ERR);
+        }
+
+        BoardSettings settings = this.boardSettings();
+        GeneratedBoard board = null;
+        // The boards in the pool have their own seeds.
+        if (null != this.boardPool && null == this.fixedSeed) {
+            // The boards of settings changed since aren't going to be taken.
+            this.boardPool.retain(settings);
+            board = this.boardPool.take(settings);
+        }
+        if (null == board) {
+            long seed = null == this.fixedSeed ? this.seeds.nextLong() : this.fixedSeed;
+            board = this.generateBoard(settings, this.wordsByLength, seed, null != this.fixedSeed);
+        }
+        if (board.words().isEmpty()) {
+            throw new CouldNotPopulateMatrixException(
+                    this.wordsByLength.words(settings.minWordSize(), settings.maxWordLength()),
+                    this.lines,
+                    this.cols
+            );
+        }
+
+        this.seed = board.seed();
+        this.random = this.randomFactory.apply(this.seed);
+        this.lettersGrid = board.grid();
+        this.gameWords = new GameWords(board.words());
+        this.wordsTrie = new WordsTrie(board.words());
+        this.segments = board.segments();
+        this.segmentWords = board.placedWords().stream().mapToInt(this.gameWords::id).toArray();
+        this.wordsLettersPositions.clear();
+        this.wordsLettersPositions.addAll(board.positions());
     }
 
     /**
-     * Creates an empty matrix with {@link #lines} lines and {@link #cols} columns.
-     *
-     * @see #setDimensions(int, int)
-     * @see #setLines(int)
-     * @see #setCols(int)
+     * @return The settings of the boards for the current configuration
      */
-    private void initClearMatrix() throws NoDimensionsDefinedException {
-        if (invalidLines(this.lines) || invalidCols(this.cols)) {
-            throw new NoDimensionsDefinedException();
-        }
-        this.lettersGrid = new BaseCell[this.lines][this.cols];
+    private BoardSettings boardSettings() {
+        return new BoardSettings(
+                this.lines,
+                this.cols,
+                this.maxWords,
+                this.minWordSize,
+                this.wildCards,
+                this.orientationsAllowed,
+                this.generationStrategy,
+                this.fillStrategy,
+                this.largeBoard,
+                this.candidateBoards,
+                this.generationBudgetMillis
+        );
     }
 
     /**
-     * Populates the matrix with the words provided by {@link #setWords(WordsProvider, boolean)}.
-     *
-     * @throws NoWordsException                In case no words were provided
-     * @throws CouldNotPopulateMatrixException In case for some reason could not fit ANY of the words (that you can see
-     *                                         using {@link CouldNotPopulateMatrixException#getWords()}) in the matrix.
-     * @see #getGameWords()
-     * @see #addWord(String, WordOrientations)
-     * @see #setWords(WordsProvider)
-     * @see #setWords(WordsProvider, boolean)
+     * @return The {@link WordSlots} of a matrix with the size in the settings
      */
-    private void populateMatrix() throws NoWordsException, CouldNotPopulateMatrixException {
-        this.wordsToFind = new TreeSet<>();
-
-        if (null == this.words || this.words.isEmpty()) {
-            throw new NoWordsException(NO_WORDS_MSG_ERR);
+    private WordSlots wordSlots(BoardSettings settings) {
+        WordSlots slots = this.wordSlots;
+        if (null == slots || slots.lines() != settings.lines() || slots.cols() != settings.cols()) {
+            slots = new WordSlots(settings.lines(), settings.cols());
+            this.wordSlots = slots;
         }
+        return slots;
+    }
 
-        Set<String> words = this.getGameWords();
-        for (String w : words) {
-            List<WordOrientations> orientations = new ArrayList<>(this.orientationsAllowed);
-            Collections.shuffle(orientations);
-
-            boolean added = this.addWord(w, orientations);
-
-            if (added) {
-                this.wordsToFind.add(w);
+    /**
+     * Generates a whole board: puts the words in the matrix, fills the blank spaces and adds the wild cards.
+     * <p>It only reads the settings and the words given, so many boards can be generated at the same time and out of
+     * the thread of the game. Every random number comes from a generator created from the seed, so the same seed, words
+     * and settings always give the same board, when every candidate board it's waited for.</p>
+     *
+     * @param settings       The settings of the board
+     * @param dictionary     The words to choose from
+     * @param seed           The seed of the random numbers
+     * @param everyCandidate If every candidate board it's waited for, whatever the time it takes
+     * @return The board, without words if none could be put in the matrix
+     * @see #populateMatrix(BoardSettings, LengthIndex, RandomGenerator, long, BooleanSupplier)
+     * @see #bestCandidateBoard(BoardSettings, LengthIndex, RandomGenerator.SplittableGenerator, long, boolean)
+     */
+    private GeneratedBoard generateBoard(BoardSettings settings,
+                                         LengthIndex dictionary,
+                                         long seed,
+                                         boolean everyCandidate) {
+        RandomGenerator.SplittableGenerator random = this.randomFactory.apply(seed);
+        GeneratedBoard board = 1 < settings.candidateBoards()
+                ? this.bestCandidateBoard(settings, dictionary, random, seed, everyCandidate)
+                : this.populateMatrix(settings, dictionary, random, seed, () -> false);
+        if (!board.words().isEmpty()) {
+            if (FillStrategy.COLLISION_FREE == settings.fillStrategy()) {
+                WordsAutomaton automaton = new WordsAutomaton(board.words(), true);
+                new CollisionFreeFiller(board.grid(), automaton, this.letterSampler).fill(random);
+            } else {
+                fillMatrix(board.grid(), this.letterSampler, random);
             }
+            createWildCards(board.grid(), settings.wildCards(), random);
         }
+        board.indexSegments();
+        return board;
+    }
 
-        if (this.wordsToFind.isEmpty()) {
-            throw new CouldNotPopulateMatrixException(words, this.lines, this.cols);
+    /**
+     * Generates {@link BoardSettings#candidateBoards()} boards at the same time, each with its own random numbers, and
+     * keeps the best, the first of them if many are as good. Boards that are not ready after
+     * {@link BoardSettings#generationBudgetMillis()} are not waited for, unless none is or every one is asked for, and
+     * stop being generated as soon as the best is chosen.
+     *
+     * @param settings       The settings of the boards
+     * @param dictionary     The words to choose from
+     * @param random         Split into the random numbers of each board
+     * @param seed           The seed the random numbers came from
+     * @param everyCandidate If every board it's waited for, so the one chosen doesn't depend on the time they took
+     * @return The best board
+     * @see GeneratedBoard#compareTo(GeneratedBoard)
+     */
+    private GeneratedBoard bestCandidateBoard(BoardSettings settings,
+                                              LengthIndex dictionary,
+                                              RandomGenerator.SplittableGenerator random,
+                                              long seed,
+                                              boolean everyCandidate) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<ForkJoinTask<GeneratedBoard>> tasks = new ArrayList<>();
+        AtomicBoolean chosen = new AtomicBoolean(false);
+        for (int i = 0; i < settings.candidateBoards(); i++) {
+            RandomGenerator candidate = random.split();
+            tasks.add(pool.submit(() -> this.populateMatrix(settings, dictionary, candidate, seed, chosen::get)));
         }
-    }
 
-    private boolean addWord(String w, List<WordOrientations> orientations) {
-        boolean added = false;
-        for (WordOrientations orientation : orientations) {
-            try {
-                if (!switch (orientation) {
-                    case VERTICAL -> this.wordFitsVertically(w);
-                    case HORIZONTAL -> this.wordFitsHorizontally(w);
-                    case DIAGONAL -> this.wordFitsHorizontally(w) && this.wordFitsVertically(w);
-                }) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.generationBudgetMillis());
+        GeneratedBoard best = null;
+        try {
+            for (ForkJoinTask<GeneratedBoard> task : tasks) {
+                GeneratedBoard board;
+                try {
+                    board = everyCandidate
+                            ? task.get()
+                            : task.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
                     continue;
                 }
-
-                this.addWord(w, orientation);
-                added = true;
-                break;
-            } catch (WordCanNotFitMatrixException ignored) {
+                if (null == best || 0 < board.compareTo(best)) {
+                    best = board;
+                }
+            }
+            if (null == best) {
+                best = tasks.get(0).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            // Cancelling a task doesn't stop it once it's running.
+            chosen.set(true);
+            for (ForkJoinTask<GeneratedBoard> task : tasks) {
+                task.cancel(false);
             }
         }
-        return added;
+        return best;
     }
 
     /**
-     * Selects a subset of {@link #words} to use in a game.
+     * Puts a subset of the usable words in a new matrix.
      *
-     * @return That subset
-     * @see #calculateUsableWords()
-     * @see #setMaxWords(int)
+     * @param settings   The settings of the board
+     * @param dictionary The words to choose from
+     * @param random     The random numbers to use
+     * @param seed       The seed the random numbers came from
+     * @param stopped    If the board it's not needed anymore, so the words left aren't put
+     * @return The board
+     * @see #getGameWords(BoardSettings, LengthIndex, RandomGenerator)
      */
-    private Set<String> getGameWords() {
-        Set<String> usableWords = this.calculateUsableWords();
-
-        List<String> words = new ArrayList<>(usableWords);
-        Collections.shuffle(words);
-
-        int max = usableWords.size();
-        if (0 != this.maxWords && this.maxWords < max) {
-            max = this.maxWords;
+    private GeneratedBoard populateMatrix(BoardSettings settings,
+                                          LengthIndex dictionary,
+                                          RandomGenerator random,
+                                          long seed,
+                                          BooleanSupplier stopped) {
+        GeneratedBoard board = new GeneratedBoard(settings.lines(), settings.cols(), seed);
+        WordSlots slots = this.wordSlots(settings);
+        List<String> words = getGameWords(settings, dictionary, random);
+        if (GenerationStrategy.BACKTRACKING == settings.strategy() && !settings.largeBoard()) {
+            solveWords(board, slots, settings, words, random, stopped);
+        } else {
+            for (String w : words) {
+                if (stopped.getAsBoolean()) {
+                    break;
+                }
+                List<WordOrientations> orientations = new ArrayList<>(settings.orientations());
+                shuffle(orientations, random);
+                addWord(board, slots, w, orientations, random);
+            }
         }
-
-        return new HashSet<>(words.subList(0, max));
+        return board;
     }
 
     /**
-     * Calculates the usable words in {@link #words} based on model state.
+     * Puts the words in the matrix all at once with a {@link BacktrackingGenerator}.
      *
-     * @return A set of usable words
-     * @see #setWords(WordsProvider)
-     * @see #setWords(WordsProvider, boolean)
-     * @see #wordFitsGrid(String)
-     * @see #setMinWordSize(int)
+     * @param board    The board
+     * @param slots    The slots of the matrix
+     * @param settings The settings of the board
+     * @param words    The words
+     * @param random   The random numbers to use
+     * @param stopped  If the board it's not needed anymore
+     * @see GenerationStrategy#BACKTRACKING
      */
-    private Set<String> calculateUsableWords() {
-        if (null == this.words) {
-            return new TreeSet<>();
+    private static void solveWords(GeneratedBoard board,
+                                   WordSlots slots,
+                                   BoardSettings settings,
+                                   List<String> words,
+                                   RandomGenerator random,
+                                   BooleanSupplier stopped) {
+        BacktrackingGenerator generator = new BacktrackingGenerator(
+                board.grid(),
+                slots,
+                settings.orientations(),
+                random,
+                BacktrackingGenerator.DEFAULT_MAX_STEPS,
+                stopped
+        );
+        generator.place(words);
+        for (int i = 0; i < words.size(); i++) {
+            if (generator.isPlaced(i)) {
+                board.record(words.get(i), generator.start(i), generator.step(i));
+            }
         }
+    }
 
-        Set<String> usableWords = new TreeSet<>();
-        for (String w : this.words) {
-            if (this.wordFitsGrid(w) && (this.minWordSize <= w.length())) {
-                usableWords.add(w);
+    private static boolean addWord(GeneratedBoard board,
+                                   WordSlots slots,
+                                   String w,
+                                   List<WordOrientations> orientations,
+                                   RandomGenerator random) {
+        for (WordOrientations orientation : orientations) {
+            if (addWord(board, slots, w, orientation, random)) {
+                return true;
             }
         }
-        return usableWords;
+        return false;
     }
 
     /**
-     * Tests if a {@link String} word fits on the board based on the number of lines and columns.
+     * Selects a subset of the usable words to use in a game, in a random order. Only the words chosen are taken from
+     * the dictionary.
      *
-     * @param word The word to test
-     * @return `true` if it fits
+     * @param settings   The settings of the board
+     * @param dictionary The words to choose from
+     * @param random     The random numbers to use
+     * @return That subset
+     * @see BoardSettings#usable(String)
+     * @see LengthIndex#sample(int, int, int, RandomGenerator)
+     * @see #setMaxWords(int)
      */
-    private boolean wordFitsGrid(String word) {
-        return this.wordFitsHorizontally(word) || this.wordFitsVertically(word);
+    private static List<String> getGameWords(BoardSettings settings, LengthIndex dictionary, RandomGenerator random) {
+        return dictionary.sample(settings.minWordSize(), settings.maxWordLength(), settings.maxWords(), random);
     }
 
     /**
-     * Tests if a {@link String} word fits on the board based on the number of columns.
+     * Shuffles a list like {@link Collections#shuffle(List, Random)}, but with any {@link RandomGenerator}.
      *
-     * @param word The word to test
-     * @return `true` if it fits
+     * @param list   The list
+     * @param random The random numbers to use
      */
-    private boolean wordFitsHorizontally(String word) {
-        return word.length() <= this.cols;
+    private static <T> void shuffle(List<T> list, RandomGenerator random) {
+        for (int i = list.size() - 1; 0 < i; i--) {
+            Collections.swap(list, i, random.nextInt(i + 1));
+        }
     }
 
     /**
-     * Tests if a {@link String} word fits on the board based on the number of lines.
+     * Writes a word in the first free slot, trying each slot at most once in a random order.
      *
-     * @param word The word to test
-     * @return `true` if it fits
-     */
-    private boolean wordFitsVertically(String word) {
-        return word.length() <= this.lines;
-    }
-
-    private void addWord(String w, WordOrientations orientation) throws WordCanNotFitMatrixException {
-        // Saves 'the x-y-directionWalk-inclineWalk' "tuple" of invalid combination for the word to be put on.
-        Set<String> invalids = new TreeSet<>();
-
-        // The number of places for the word to be able to be put on the matrix is:
-        int availableCols = orientation.equals(WordOrientations.HORIZONTAL) ? this.cols - w.length() + 1 : this.cols;
-        int availableLines = orientation.equals(WordOrientations.VERTICAL) ? this.lines - w.length() + 1 : this.lines;
-        int placesToTryToFit = availableCols * availableLines * (orientation.equals(WordOrientations.DIAGONAL) ? 4 : 2);
-        // the last multiplication it's because the word can be written in many directions.
-
-        // WORKAROUND: Because combinations are not controlled and random, can lead to a "infinite loop"
-        int tries = MAX_SIDE_LEN;
-
-        while (invalids.size() < placesToTryToFit && tries > 0) {
-            tries--;
-            // FIXME: this combinations can be repeated
-            int directionWalk = 0;
-            int startX = this.random.nextInt(0, this.cols);
-            if (!orientation.equals(WordOrientations.VERTICAL)) {
-                startX = this.random.nextInt(0, this.cols - w.length() + 1);
-                boolean directionX = this.random.nextBoolean();
-                if (!directionX) {
-                    startX += w.length() - 1;
-                }
-                directionWalk = directionX ? 1 : -1;
-            }
-
-            int inclineWalk = 0;
-            int startY = this.random.nextInt(0, this.lines);
-            if (!orientation.equals(WordOrientations.HORIZONTAL)) {
-                startY = this.random.nextInt(0, this.lines - w.length() + 1);
-                boolean directionY = this.random.nextBoolean();
-                if (!directionY) {
-                    startY += w.length() - 1;
-                }
-                inclineWalk = directionY ? 1 : -1;
-            }
-
-            if (invalids.contains(getAddWordHash(startX, startY, directionWalk, inclineWalk))) {
-                continue;
-            }
-
-            Position startPos = new Position(startY, startX);
-
-            WordAdditionResult result = this.tryAddWord(w, startX, startY, directionWalk, inclineWalk);
-
-            // We do not want words on top of others.
-            // TODO: This does not stop bigger words of being inserted on top of smaller ones.
-            if (result.valid && (result.overlaps < w.length())) {
-                this.wordsLettersPositions.add(startPos);
-                this.wordsLettersPositions.add(result.finalPos);
-                return;
-            }
-
-            invalids.add(getAddWordHash(startX, startY, directionWalk, inclineWalk));
+     * @param board       The board to write the word in
+     * @param slots       The slots of the matrix
+     * @param w           The word
+     * @param orientation The orientation to write the word in
+     * @param random      The random numbers to use
+     * @return {@code false} if the word doesn't fit anywhere in the matrix
+     * @see WordSlots#find(LettersGrid, String, WordOrientations, RandomGenerator)
+     */
+    private static boolean addWord(GeneratedBoard board,
+                                   WordSlots slots,
+                                   String w,
+                                   WordOrientations orientation,
+                                   RandomGenerator random) {
+        int slot = slots.find(board.grid(), w, orientation, random);
+        if (0 > slot) {
+            return false;
         }
 
-        throw new WordCanNotFitMatrixException(w, this.lines, this.cols);
-    }
-
-    private static String getAddWordHash(int startX, int startY, int directionWalk, int inclineWalk) {
-        return startX + ";" + startY + ";" + directionWalk + ";" + inclineWalk;
-    }
-
-    private WordAdditionResult tryAddWord(
-            String word,
-            int startX,
-            int startY,
-            int directionWalk,
-            int inclineWalk
-    ) {
-        Set<Integer> sameDisplayPos = new TreeSet<>();
-        Set<Integer> sameActualPos = new TreeSet<>();
-        boolean validPos = true;
-        int overlapCounter = 0;
-        for (int i = 0; i < word.length(); i++, startX += directionWalk, startY += inclineWalk) {
-            char c = word.charAt(i);
-
-            // The cell isn't empty and doesn't share the display with `c`. We need to abort the word insertion.
-            if (null != this.lettersGrid[startY][startX] && !this.lettersGrid[startY][startX].hasSameDisplayAs(c)) {
-                while (0 < i--) {
-                    startX -= directionWalk;
-                    startY -= inclineWalk;
-                    if (!sameDisplayPos.contains(startY)) {
-                        this.lettersGrid[startY][startX] = null;
-                    } else if (!sameActualPos.contains(startY)) {
-                        this.lettersGrid[startY][startX].removeReal(c);
-                    }
-                }
-                validPos = false;
-                break;
-            }
-
-            if (null == this.lettersGrid[startY][startX] || !this.lettersGrid[startY][startX].hasSameDisplayAs(c)) {
-                this.lettersGrid[startY][startX] = new Cell(c);
-            } else {
-                ++overlapCounter;
-                sameDisplayPos.add(startY);
-                if (!this.lettersGrid[startY][startX].addReal(c)) {
-                    sameActualPos.add(startY);
-                }
-            }
-        }
-
-        return new WordAdditionResult(
-                validPos,
-                new Position(startY - inclineWalk, startX - directionWalk),
-                overlapCounter
-        );
-    }
-
-    private record WordAdditionResult(boolean valid, Position finalPos, int overlaps) {
+        int start = slots.start(orientation, w.length(), slot);
+        int step = slots.step(orientation, w.length(), slot);
+        board.place(w, start, step);
+        return true;
     }
 
     /**
-     * Fills the empty spaces in the matrix with random latin alphabet characters.
+     * Fills the empty spaces in a matrix with random latin alphabet characters, as often as they are in the words.
      *
-     * @see #randomLatinCharacter(Random)
+     * @param grid    The matrix
+     * @param letters Draws the letters
+     * @param random  The random numbers to use
      */
-    private void fillMatrix() {
-        for (int i = 0; i < this.lines; i++) {
-            for (int j = 0; j < this.cols; j++) {
-                if (null == this.lettersGrid[i][j]) {
-                    this.lettersGrid[i][j] = new Cell(randomLatinCharacter(this.random));
-                }
+    private static void fillMatrix(LettersGrid grid, LetterSampler letters, RandomGenerator random) {
+        for (int idx = 0; idx < grid.size(); idx++) {
+            if (grid.isEmpty(idx)) {
+                grid.put(idx, letters.next(random));
             }
         }
     }
 
     /**
-     * Create wild cards in random cells of the matrix.
+     * Create wild cards in random cells of a matrix.
      *
-     * @param n The number of wild cards to create
+     * @param grid   The matrix
+     * @param n      The number of wild cards to create
+     * @param random The random numbers to use
      */
-    private void createWildCards(int n) {
+    private static void createWildCards(LettersGrid grid, int n, RandomGenerator random) {
         for (int i = 0; i < n; i++) {
-            int x = this.random.nextInt(0, this.cols);
-            int y = this.random.nextInt(0, this.lines);
-            BaseCell cell = this.lettersGrid[y][x];
-            this.lettersGrid[y][x] = WildCell.fromCell(null == cell ? new Cell(' ') : cell);
+            int x = random.nextInt(0, grid.cols());
+            int y = random.nextInt(0, grid.lines());
+            grid.setWild(grid.index(y, x));
         }
     }
 
@@ -761,14 +1116,17 @@ public class WSModel {
             throw new NotInGameException(NOT_IN_GAME_ERR);
         }
 
+        long now = System.currentTimeMillis();
+        int idx = this.lettersGrid.index(pos.line(), pos.col());
+        char display = this.lettersGrid.display(idx);
+        this.logEvent(new GameEvent.Click(now, pos, display));
         if (null != this.wsView) {
-            BaseCell cell = this.lettersGrid[pos.line()][pos.col()];
-            this.wsView.update(new ClickMessage(pos, cell.getDisplay()));
-            this.wsView.updatePoints(new Word(cell.getDisplay() + "", cell.getPoints()));
+            this.wsView.update(new ClickMessage(pos, display));
+            this.wsView.updatePoints(new Word(display + "", this.lettersGrid.points(idx)));
         }
 
         if (!this.onReplay) {
-            this.plays.add(pos);
+            this.plays.add(now, pos);
         }
 
         if (null == this.startSelected) {
@@ -779,20 +1137,7 @@ public class WSModel {
         Position startPos = this.startSelected;
         this.startSelected = null;
 
-        String found = null;
-        for (Word possibleWord : this.getPossibleWords(startPos, pos)) {
-            String word = this.wordWithWildcardFound(possibleWord.word());
-            if (null != word) {
-                if (null != this.wsView) {
-                    this.wsView.wordFound(startPos, pos);
-                    this.wsView.update(new WordFoundMessage(startPos, pos, word));
-                    this.wsView.updatePoints(new Word(word, possibleWord.points()));
-                    this.wordsLettersPositions.remove(startPos);
-                    this.wordsLettersPositions.remove(pos);
-                }
-                found = word;
-            }
-        }
+        String found = this.findSelectedWords(startPos, pos);
 
         if (this.allWordsWereFound()) {
             this.endGame();
@@ -802,99 +1147,91 @@ public class WSModel {
     }
 
     /**
-     * Transforms the sequence of cells from start to end to a list of the possible words they can create.
+     * Finds the words still to find written in the cells from one position to another.
+     * <p>The words where they were put are found with one lookup in the {@link #segments}. Only if there isn't one the
+     * cells are walked from the one more to the left, or more to the top if in the same column, down the
+     * {@link #wordsTrie}, for other copies written by chance. So a word written forwards it's found before one written
+     * backwards, like it was when every string the cells could write was checked.</p>
      *
-     * @param start The start position
-     * @param end   The end position
-     * @return The possible words in the board in those positions
-     * @see #getPossibleWordsVertically(Position, Position)
-     * @see #getPossibleWordsHorizontally(Position, Position)
-     * @see #getPossibleWordsDiagonally(Position, Position)
-     */
-    private Word[] getPossibleWords(Position start, Position end) {
-        if (start.col() == end.col()) {
-            return this.getPossibleWordsVertically(start, end);
-        } else if (start.line() == end.line()) {
-            return this.getPossibleWordsHorizontally(start, end);
-        } else {
-            double slope = ((double) start.line() - end.line()) / (start.col() - end.col());
-            if (1.0 == Math.abs(slope)) {
-                return this.getPossibleWordsDiagonally(start, end);
+     * @param startPos The position of one end of the selection
+     * @param endPos   The position of the other end of the selection
+     * @return The last word found, or {@code null} if the cells don't write any word still to find
+     */
+    private String findSelectedWords(Position startPos, Position endPos) {
+        int lines = endPos.line() - startPos.line();
+        int cols = endPos.col() - startPos.col();
+        if (0 != lines && 0 != cols && Math.abs(lines) != Math.abs(cols)) {
+            return null;
+        }
+
+        String found = null;
+        int startIdx = this.lettersGrid.index(startPos.line(), startPos.col());
+        int endIdx = this.lettersGrid.index(endPos.line(), endPos.col());
+        for (int id = this.segments.first(startIdx, endIdx); SegmentIndex.NONE != id; id = this.segments.next(id)) {
+            int word = this.segmentWords[id];
+            if (!this.gameWords.isFound(word)) {
+                found = this.gameWords.word(word);
+                this.selectionFound(startPos, endPos, word, this.segments.points(id));
             }
         }
+        if (null != found) {
+            return found;
+        }
 
-        return new Word[0];
+        Position first = 0 > cols || 0 == cols && 0 > lines ? endPos : startPos;
+        int length = Math.max(Math.abs(lines), Math.abs(cols)) + 1;
+        int sign = first == startPos ? 1 : -1;
+        int start = this.lettersGrid.index(first.line(), first.col());
+        int step = this.lettersGrid.index(sign * Integer.signum(lines), sign * Integer.signum(cols));
+        int points = 0;
+        for (int i = 0; i < length; i++) {
+            points += this.lettersGrid.points(start + i * step);
+        }
+        String word;
+        while (null != (word = this.wordsTrie.find(this.lettersGrid, start, step, length, this.stillToFind))) {
+            this.selectionFound(startPos, endPos, this.gameWords.id(word), points);
+            found = word;
+        }
+        return found;
     }
 
-    private Word[] getPossibleWordsVertically(Position startPos, Position endPos) {
-        List<Word> words = new ArrayList<>();
-        words.add(new Word("", 0));
-        int start = Math.min(startPos.line(), endPos.line());
-        int end = Math.max(startPos.line(), endPos.line());
-        for (int i = start; i <= end; i++) {
-            BaseCell[] line = this.lettersGrid[i];
-            Word[] bases = words.toArray(Word[]::new);
-            words.clear();
-            for (char actual : line[endPos.col()].getReals()) {
-                for (Word base : bases) {
-                    words.add(new Word(base.word() + actual, base.points() + line[endPos.col()].getPoints()));
-                }
-            }
-        }
-        return words.toArray(Word[]::new);
-    }
-
-    private Word[] getPossibleWordsHorizontally(Position startPos, Position endPos) {
-        List<Word> words = new ArrayList<>();
-        words.add(new Word("", 0));
-        BaseCell[] line = this.lettersGrid[endPos.line()];
-        int start = Math.min(startPos.col(), endPos.col());
-        int end = Math.max(startPos.col(), endPos.col());
-        for (int i = start; i <= end; i++) {
-            Word[] bases = words.toArray(Word[]::new);
-            words.clear();
-            for (char actual : line[i].getReals()) {
-                for (Word base : bases) {
-                    words.add(new Word(base.word() + actual, base.points() + line[i].getPoints()));
-                }
-            }
+    /**
+     * Marks a word as found, and tells the {@link #wsView}.
+     *
+     * @param startPos The position of one end of the selection
+     * @param endPos   The position of the other end of the selection
+     * @param id       The id of the word in {@link #gameWords}
+     * @param points   The points of the cells selected
+     */
+    private void selectionFound(Position startPos, Position endPos, int id, int points) {
+        this.gameWords.find(id);
+        this.foundSelections.add(startPos);
+        this.foundSelections.add(endPos);
+        String word = this.gameWords.word(id);
+        this.logEvent(new GameEvent.WordFound(System.currentTimeMillis(), startPos, endPos, word));
+        if (null != this.wsView) {
+            this.wsView.wordFound(startPos, endPos);
+            this.wsView.update(new WordFoundMessage(startPos, endPos, word));
+            this.wsView.updatePoints(new Word(word, points));
+            this.wordsLettersPositions.remove(startPos);
+            this.wordsLettersPositions.remove(endPos);
         }
-        return words.toArray(Word[]::new);
-    }
-
-    private Word[] getPossibleWordsDiagonally(Position startPos, Position endPos) {
-        List<Word> words = new ArrayList<>();
-        words.add(new Word("", 0));
-        double slope = ((double) startPos.line() - endPos.line()) / (startPos.col() - endPos.col());
-        int startX = Math.min(startPos.col(), endPos.col());
-        int startY = Math.min(startPos.line(), endPos.line());
-        int endY = Math.max(startPos.line(), endPos.line());
-        if (1.0 == slope) {
-            for (int i = startY; i <= endY; i++) {
-                BaseCell[] line = this.lettersGrid[i];
-                Word[] bases = words.toArray(Word[]::new);
-                words.clear();
-                for (char actual : line[startX].getReals()) {
-                    for (Word base : bases) {
-                        words.add(new Word(base.word() + actual, base.points() + line[startX].getPoints()));
-                    }
-                }
-                startX++;
-            }
-        } else if (-1.0 == slope) {
-            for (int i = endY; i >= startY; i--) {
-                BaseCell[] line = this.lettersGrid[i];
-                Word[] bases = words.toArray(Word[]::new);
-                words.clear();
-                for (char actual : line[startX].getReals()) {
-                    for (Word base : bases) {
-                        words.add(new Word(base.word() + actual, base.points() + line[startX].getPoints()));
-                    }
-                }
-                startX++;
-            }
+    }
+
+    /**
+     * Finds every word of the words given with {@link #setWords(WordsProvider)} written in the current matrix, in any
+     * direction, not only the ones of the game. The matrix of the last game it's used when not in a game.
+     *
+     * @return Where each word is, in no particular order
+     * @see BoardSolver
+     */
+    public List<WordOccurrence> solveBoard() {
+        BoardSolver solver = this.boardSolver;
+        if (null == solver) {
+            solver = new BoardSolver(null == this.words ? List.of() : this.words);
+            this.boardSolver = solver;
         }
-        return words.toArray(Word[]::new);
+        return solver.solve(this.lettersGrid);
     }
 
     /**
@@ -909,7 +1246,7 @@ public class WSModel {
             throw new NotInGameException(NOT_IN_GAME_ERR);
         }
 
-        if (null == this.wordsToFind || null == this.wordsFound) {
+        if (null == this.gameWords) {
             throw new NotInGameException(NOT_IN_GAME_ERR);
         }
 
@@ -917,13 +1254,11 @@ public class WSModel {
 
         // https://stackoverflow.com/questions/7569335/reverse-a-string-in-java
         String reversed = new StringBuilder(word).reverse().toString();
-        if (this.wordsToFind.contains(word)) {
-            this.wordsToFind.remove(word);
-            this.wordsFound.add(word);
+        if (this.gameWords.isToFind(word)) {
+            this.gameWords.find(this.gameWords.id(word));
             return word;
-        } else if (this.wordsToFind.contains(reversed)) {
-            this.wordsToFind.remove(reversed);
-            this.wordsFound.add(reversed);
+        } else if (this.gameWords.isToFind(reversed)) {
+            this.gameWords.find(this.gameWords.id(reversed));
             return reversed;
         } else {
             return null;
@@ -945,34 +1280,41 @@ public class WSModel {
     }
 
     /**
-     * Ends the game and tells the {@link #wsView} about it, and the {@link #saver} to save the game results.
+     * Ends the game, tells the {@link #saver} to save the game results, of a replay too, which
+     * {@link GameResults#onReplay()} tells, and then tells the {@link #wsView} about it, so the view already sees
+     * them saved.
      *
      * @return The game results
      * @see #curGameResults()
      */
     public GameResults endGame() {
         this.inGame = false;
+        long now = System.currentTimeMillis();
+        if (!this.onReplay) {
+            this.timeline = this.plays.build(now);
+        }
         GameResults res = this.curGameResults();
+        this.logEvent(new GameEvent.Ended(now, res));
+        if (null != this.saver) {
+            this.saver.save(res);
+        }
         if (null != this.wsView) {
             this.wsView.gameEnded(res);
         }
-        if (null != this.saver && !this.onReplay) {
-            this.saver.save(res);
-        }
         return res;
     }
 
     /**
+     * The words of the results are views of the words of the game, so it's cheap to call often.
+     *
      * @return The current game results
+     * @see GameWords#results(boolean, long)
      */
     public GameResults curGameResults() {
-        if (null == this.wordsToFind || null == this.wordsFound) {
-            return new GameResults(new TreeSet<>(), new TreeSet<>(), this.onReplay);
+        if (null == this.gameWords) {
+            return new GameResults(Set.of(), Set.of(), this.onReplay, this.seed);
         }
-
-        Set<String> union = new TreeSet<>(this.wordsToFind);
-        union.addAll(this.wordsFound);
-        return new GameResults(union, this.wordsFound, this.onReplay);
+        return this.gameWords.results(this.onReplay, this.seed);
     }
 
     /**
@@ -991,8 +1333,7 @@ public class WSModel {
      * @return the text in the position
      */
     public BaseCell textInPosition(Position position) {
-        BaseCell cell = this.lettersGrid[position.line()][position.col()];
-        return null == cell ? new Cell(' ') : cell;
+        return this.lettersGrid.cellAt(position.line(), position.col());
     }
 
     /**
@@ -1004,47 +1345,147 @@ public class WSModel {
         if (!this.inGame) {
             throw new NotInGameException();
         }
-        return null == this.wordsToFind || this.wordsToFind.isEmpty();
+        return null == this.gameWords || this.gameWords.allFound();
     }
 
     /**
-     * Replays the last game plays
+     * Replays the last game plays, as fast as they were played.
+     *
+     * @see #replay(double)
      */
     public void replay() {
+        this.replay(1.0);
+    }
+
+    /**
+     * Replays the plays of the last game with the {@link #replayer}, each one after its time since the play before.
+     * The plays are clicks in the {@link #wsView}, given in its thread, or played in the model if there's no view. A
+     * replay happening it's cancelled.
+     *
+     * @param speed How many times faster than the game, or {@link Replay#INSTANT}
+     * @return The replay, to pause it, change its speed, move it to another play or cancel it
+     */
+    public Replay<ReplayState> replay(double speed) {
+        if (null != this.replay) {
+            this.replay.cancel();
+        }
+        long now = System.currentTimeMillis();
+        Timeline timeline = null == this.timeline ? this.plays.build(now) : this.timeline;
         this.inGame = true;
         this.onReplay = true;
-        this.wordsToFind.addAll(this.wordsFound);
-        this.wordsFound.clear();
-        this.wsView.gameStarted();
-        this.replayPlay(0);
+        this.startSelected = null;
+        this.gameWords.reset();
+        this.foundSelections.clear();
+        this.logStarted(now, true);
+        if (null != this.wsView) {
+            this.wsView.gameStarted();
+        }
+        this.replayTarget = new ModelReplay();
+        this.replay = this.replayer.replay(
+                timeline,
+                this.replayTarget,
+                speed,
+                null == this.wsView ? Runnable::run : this.wsView::execute
+        );
+        return this.replay;
     }
 
-    private void replayPlay(int i) {
-        Position play = this.plays.get(i);
-        Thread task = new Thread(() -> this.replayPlayOnPosition(i, play));
+    /**
+     * @return The replay happening, or the last one, or {@code null} if there wasn't one
+     */
+    public Replay<ReplayState> getReplay() {
+        return this.replay;
+    }
 
-        task.start();
+    /**
+     * @param replayer Who schedules the plays of the replays
+     */
+    public void setReplayer(Replayer replayer) {
+        this.replayer = replayer;
     }
 
-    private void replayPlayOnPosition(int i, Position play) {
-        try {
-            Thread.sleep(A_SECOND_IN_MILLIS);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
-        this.wsView.click(play);
+    /**
+     * The state of a game being replayed, to go back to it.
+     *
+     * @param found      The words found
+     * @param selections The {@link #foundSelections}
+     * @param selected   The {@link #startSelected}
+     * @param inGame     If the game didn't end, because every word was found
+     */
+    public record ReplayState(BitSet found, List<Position> selections, Position selected, boolean inGame) {
+    }
 
+    /**
+     * Plays the plays of a replay on the model.
+     */
+    private final class ModelReplay implements ReplayTarget<ReplayState> {
+        private boolean isCurrent() {
+            return this == WSModel.this.replayTarget;
+        }
 
-        if (i + 1 >= this.plays.size()) {
+        @Override
+        public void play(Position position) {
+            if (!this.isCurrent()) {
+                return;
+            }
+            if (null != WSModel.this.wsView) {
+                WSModel.this.wsView.click(position);
+                return;
+            }
             try {
-                Thread.sleep(A_SECOND_IN_MILLIS);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+                WSModel.this.findWord(position);
+            } catch (NotInGameException ignored) {
+                // Every word was found before the game ended.
             }
-            this.endGame();
-            this.onReplay = false;
-        } else {
-            this.replayPlay(i + 1);
+        }
+
+        @Override
+        public ReplayState checkpoint() {
+            return new ReplayState(
+                    WSModel.this.gameWords.found(),
+                    List.copyOf(WSModel.this.foundSelections),
+                    WSModel.this.startSelected,
+                    WSModel.this.inGame
+            );
+        }
+
+        @Override
+        public void restore(ReplayState state) {
+            if (!this.isCurrent()) {
+                return;
+            }
+            WSModel.this.gameWords.restore(state.found());
+            List<Position> selections = WSModel.this.foundSelections;
+            selections.clear();
+            selections.addAll(state.selections());
+            WSModel.this.startSelected = state.selected();
+            WSModel.this.inGame = state.inGame();
+            if (null != WSModel.this.wsView) {
+                WSModel.this.wsView.gameStarted();
+                for (int i = 0; i < selections.size(); i += 2) {
+                    WSModel.this.wsView.wordFound(selections.get(i), selections.get(i + 1));
+                }
+            }
+        }
+
+        @Override
+        public void end() {
+            if (!this.isCurrent()) {
+                return;
+            }
+            if (WSModel.this.inGame) {
+                WSModel.this.endGame();
+            }
+            WSModel.this.onReplay = false;
+        }
+
+        @Override
+        public void cancelled() {
+            if (!this.isCurrent()) {
+                return;
+            }
+            WSModel.this.inGame = false;
+            WSModel.this.onReplay = false;
         }
     }
 
@@ -1055,7 +1496,9 @@ public class WSModel {
         if (null != this.startSelected) {
             int clicked = this.wordsLettersPositions.indexOf(this.startSelected);
             if (0 <= clicked) {
-                this.wsView.click(this.wordsLettersPositions.get(clicked + ((0 == clicked % 2) ? 1 : -1)));
+                Position hint = this.wordsLettersPositions.get(clicked + ((0 == clicked % 2) ? 1 : -1));
+                this.logEvent(new GameEvent.Hint(System.currentTimeMillis(), hint));
+                this.wsView.click(hint);
                 return;
             } else {
                 this.startSelected = null;
@@ -1063,20 +1506,54 @@ public class WSModel {
         }
 
         int word = this.random.nextInt(0, this.wordsLettersPositions.size() / 2);
-        this.wsView.click(this.wordsLettersPositions.get(word << 1));
+        Position hint = this.wordsLettersPositions.get(word << 1);
+        this.logEvent(new GameEvent.Hint(System.currentTimeMillis(), hint));
+        this.wsView.click(hint);
     }
 
     public int wordsInUse() {
-        if (null != this.wordsToFind && null != this.wordsFound) {
-            return this.wordsToFind.size() + this.wordsFound.size();
-        }
-        return 0;
+        return null == this.gameWords ? 0 : this.gameWords.size();
     }
 
     public void setSaver(ResultsSaver saver) {
         this.saver = saver;
     }
 
+    /**
+     * @param eventLog Where to write the events of the games as they happen, or {@code null} to not write them
+     */
+    public void setEventLog(GameEventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Writes in the {@link #eventLog}, if there's one, that a game started. The matrix it's only written as text if
+     * it's not larger than {@link #MAX_SIDE_LEN}, a large board being only its seed and its size.
+     *
+     * @param time     When it started
+     * @param onReplay If it's a replay
+     */
+    private void logStarted(long time, boolean onReplay) {
+        if (null == this.eventLog) {
+            return;
+        }
+        int lines = this.lettersGrid.lines();
+        int cols = this.lettersGrid.cols();
+        String matrix = MAX_SIDE_LEN < lines || MAX_SIDE_LEN < cols ? "" : this.matrixToString();
+        this.eventLog.log(new GameEvent.Started(time, this.seed, onReplay, lines, cols, matrix));
+    }
+
+    /**
+     * Writes an event in the {@link #eventLog}, if there's one.
+     *
+     * @param event The event
+     */
+    private void logEvent(GameEvent event) {
+        if (null != this.eventLog) {
+            this.eventLog.log(event);
+        }
+    }
+
     public void setMaxWords(int maxWords) {
         assert 0 < maxWords;
         this.maxWords = maxWords;
@@ -1096,13 +1573,13 @@ public class WSModel {
         StringBuilder matrix = new StringBuilder();
         int size = 0;
 
-        for (BaseCell[] cells : this.lettersGrid) {
-            size = cells.length;
+        for (int i = 0; i < this.lettersGrid.lines(); i++) {
+            size = this.lettersGrid.cols();
             matrix.append('+')
                     .append(Arrays.stream(new String[size]).map(s -> "---").collect(Collectors.joining("+")))
                     .append("+\n");
-            for (BaseCell cell : cells) {
-                matrix.append("| ").append(null != cell ? cell.getDisplay() : ' ').append(' ');
+            for (int j = 0; j < size; j++) {
+                matrix.append("| ").append(this.lettersGrid.display(this.lettersGrid.index(i, j))).append(' ');
             }
             matrix.append("|\n");
         }
@@ -1114,7 +1591,7 @@ public class WSModel {
     }
 
     public boolean gameEnded() {
-        return null == this.wordsToFind || this.wordsToFind.isEmpty();
+        return null == this.gameWords || this.gameWords.allFound();
     }
 
     public void allowWordOrientation(WordOrientations... orientations) {
@@ -1150,6 +1627,11 @@ public class WSModel {
 
     public GameOptions getOptions() {
         GameOptions opts = new GameOptions();
+        opts.setLargeBoard(this.largeBoard);
+        opts.setGenerationStrategy(this.generationStrategy);
+        opts.setFillStrategy(this.fillStrategy);
+        opts.setCandidateBoards(this.candidateBoards);
+        opts.setGenerationBudget(this.generationBudgetMillis);
         opts.setLines(0 < this.lines ? this.lines : MIN_SIDE_LEN);
         opts.setColumns(0 < this.cols ? this.cols : MAX_SIDE_LEN);
         opts.setMaxWords(0 < this.maxWords ? this.maxWords : DEFAULT_AMOUNT_OF_WORDS);
@@ -1164,15 +1646,21 @@ public class WSModel {
     }
 
     public void setOptions(GameOptions opts) throws InvalidInGameChangeException {
+        this.setLargeBoard(opts.isLargeBoard());
+        this.setGenerationStrategy(opts.getGenerationStrategy());
+        this.setFillStrategy(opts.getFillStrategy());
+        this.setCandidateBoards(opts.getCandidateBoards());
+        this.setGenerationBudget(opts.getGenerationBudget());
         this.setDimensions(opts.getLines(), opts.getColumns());
 
         this.setMaxWords(opts.getMaxWords());
         this.setMinWordSize(opts.getMinWordSize());
         this.setWildCards(opts.getNumberOfWilds());
+        // Before the words, so the boards of the pool are generated with them.
+        this.orientationsAllowed.clear();
+        this.orientationsAllowed.addAll(opts.getOrientationsAllowed());
 
         this.setWords(opts.getProvider(), opts.isKeepExistent());
-
-        this.orientationsAllowed = opts.getOrientationsAllowed();
     }
 
     public boolean isNotOnReplay() {
@@ -18,4 +18,14 @@ public interface WSView {
     void gameEnded(GameResults res);
 
     void click(Position pos);
+
+    /**
+     * Runs a task in the thread of the view, after the ones given before. The plays of the replays are given to the
+     * view with it.
+     *
+     * @param task The task
+     */
+    default void execute(Runnable task) {
+        task.run();
+    }
 }
@@ -0,0 +1,12 @@
+package pt.ipbeja.app.model;
+
+/**
+ * Where a word is written in the matrix.
+ *
+ * @param word  The word
+ * @param start The position of its first letter
+ * @param end   The position of its last letter
+ * @see BoardSolver
+ */
+public record WordOccurrence(String word, Position start, Position end) {
+}
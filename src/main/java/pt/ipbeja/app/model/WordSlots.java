@@ -0,0 +1,228 @@
+package pt.ipbeja.app.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Every place a word can be written in a matrix.
+ * <p>A slot it's a start cell plus a direction. For a word length and an orientation the slots of each direction are a
+ * rectangle of start cells, so the slots are numbered {@code 0..count-1} direction after direction and a number it's
+ * decoded back to its start cell with the prefix counts of the directions. Those are all calculated when the slots are
+ * created, so the same slots can be used by many threads at the same time.
+ * {@link #find(LettersGrid, String, WordOrientations, RandomGenerator)} visits all of them exactly once, in a random
+ * order, by walking {@code offset + k * stride (mod count)} with {@code stride} coprime to {@code count}.</p>
+ *
+ * @see LettersGrid
+ */
+public final class WordSlots {
+    /**
+     * The {line, column} steps of the directions of each {@link WordOrientations}.
+     */
+    private static final int[][][] DIRECTIONS = new int[WordOrientations.values().length][][];
+
+    static {
+        DIRECTIONS[WordOrientations.VERTICAL.ordinal()] = new int[][]{{1, 0}, {-1, 0}};
+        DIRECTIONS[WordOrientations.HORIZONTAL.ordinal()] = new int[][]{{0, 1}, {0, -1}};
+        DIRECTIONS[WordOrientations.DIAGONAL.ordinal()] = new int[][]{{1, 1}, {-1, -1}, {1, -1}, {-1, 1}};
+    }
+
+    private final int lines;
+    private final int cols;
+    /**
+     * For each orientation and word length, the number of slots before each direction, plus the total at the end.
+     */
+    private final int[][][] prefixes;
+
+    /**
+     * @param lines The number of lines of the matrix
+     * @param cols  The number of columns of the matrix
+     */
+    public WordSlots(int lines, int cols) {
+        super();
+        this.lines = lines;
+        this.cols = cols;
+        this.prefixes = new int[DIRECTIONS.length][Math.max(lines, cols) + 1][];
+        for (int o = 0; o < DIRECTIONS.length; o++) {
+            for (int length = 1; length < this.prefixes[o].length; length++) {
+                this.prefixes[o][length] = this.prefixOf(DIRECTIONS[o], length);
+            }
+        }
+    }
+
+    public int lines() {
+        return this.lines;
+    }
+
+    public int cols() {
+        return this.cols;
+    }
+
+    /**
+     * @param orientation The orientation
+     * @param length      The length of the word
+     * @return How many slots there are for a word with that length
+     */
+    public int count(WordOrientations orientation, int length) {
+        if (0 >= length || this.prefixes[orientation.ordinal()].length <= length) {
+            return 0;
+        }
+        int[] prefix = this.prefix(orientation, length);
+        return prefix[prefix.length - 1];
+    }
+
+    /**
+     * Looks for a slot where a word can be written: every cell it's empty or has the same display as the letter, and
+     * not all of them are already used by other words.
+     *
+     * @param grid        The matrix
+     * @param word        The word
+     * @param orientation The orientation to write the word in
+     * @param random      Decides the order in which the slots are tried
+     * @return The slot or {@code -1} if the word doesn't fit anywhere
+     * @see #start(WordOrientations, int, int)
+     * @see #step(WordOrientations, int, int)
+     */
+    public int find(LettersGrid grid, String word, WordOrientations orientation, RandomGenerator random) {
+        int n = this.count(orientation, word.length());
+        if (0 == n) {
+            return -1;
+        }
+
+        int slot = random.nextInt(n);
+        int stride = coprimeStride(n, random);
+        for (int k = 0; k < n; k++) {
+            int overlaps = overlaps(
+                    grid,
+                    word,
+                    this.start(orientation, word.length(), slot),
+                    this.step(orientation, word.length(), slot)
+            );
+            // We do not want words on top of others.
+            // TODO: This does not stop bigger words of being inserted on top of smaller ones.
+            if (0 <= overlaps && overlaps < word.length()) {
+                return slot;
+            }
+            slot = (int) (((long) slot + stride) % n);
+        }
+        return -1;
+    }
+
+    /**
+     * @param orientation The orientation of the slot
+     * @param length      The length of the word
+     * @param slot        The slot
+     * @return The index in the matrix of the cell where the word starts
+     */
+    public int start(WordOrientations orientation, int length, int slot) {
+        int[] prefix = this.prefix(orientation, length);
+        int direction = direction(prefix, slot);
+        int[] walk = DIRECTIONS[orientation.ordinal()][direction];
+        int local = slot - prefix[direction];
+        int width = span(this.cols, length, walk[1]);
+        int line = first(length, walk[0]) + local / width;
+        int col = first(length, walk[1]) + local % width;
+        return line * this.cols + col;
+    }
+
+    /**
+     * @param orientation The orientation of the slot
+     * @param length      The length of the word
+     * @param slot        The slot
+     * @return What to add to a cell index to get to the index of the next letter
+     */
+    public int step(WordOrientations orientation, int length, int slot) {
+        int[] walk = DIRECTIONS[orientation.ordinal()][direction(this.prefix(orientation, length), slot)];
+        return walk[0] * this.cols + walk[1];
+    }
+
+    /**
+     * Writes a word in the matrix.
+     *
+     * @param grid  The matrix
+     * @param word  The word
+     * @param start The index of the first letter
+     * @param step  What to add to a cell index to get to the next
+     */
+    public static void write(LettersGrid grid, String word, int start, int step) {
+        for (int i = 0, idx = start; i < word.length(); i++, idx += step) {
+            grid.put(idx, word.charAt(i));
+        }
+    }
+
+    /**
+     * Checks if a word can be written in the matrix, without changing it.
+     *
+     * @param grid  The matrix
+     * @param word  The word
+     * @param start The index of the first letter
+     * @param step  What to add to a cell index to get to the next
+     * @return The number of cells the word would share with the ones already in the matrix, or {@code -1} if some
+     * cell has another letter
+     */
+    public static int overlaps(LettersGrid grid, String word, int start, int step) {
+        int overlapCounter = 0;
+        for (int i = 0, idx = start; i < word.length(); i++, idx += step) {
+            if (!grid.accepts(idx, word.charAt(i))) {
+                return -1;
+            }
+            if (!grid.isEmpty(idx)) {
+                ++overlapCounter;
+            }
+        }
+        return overlapCounter;
+    }
+
+    private int[] prefix(WordOrientations orientation, int length) {
+        return this.prefixes[orientation.ordinal()][length];
+    }
+
+    private int[] prefixOf(int[][] directions, int length) {
+        int[] prefix = new int[directions.length + 1];
+        for (int d = 0; d < directions.length; d++) {
+            int slots = span(this.lines, length, directions[d][0]) * span(this.cols, length, directions[d][1]);
+            prefix[d + 1] = prefix[d] + slots;
+        }
+        return prefix;
+    }
+
+    /**
+     * @return How many start positions a side has for a word walking {@code walk} in it
+     */
+    private static int span(int side, int length, int walk) {
+        return 0 == walk ? side : Math.max(0, side - length + 1);
+    }
+
+    /**
+     * @return The first start position in a side for a word walking {@code walk} in it
+     */
+    private static int first(int length, int walk) {
+        return 0 > walk ? length - 1 : 0;
+    }
+
+    private static int direction(int[] prefix, int slot) {
+        int d = 0;
+        while (prefix[d + 1] <= slot) {
+            d++;
+        }
+        return d;
+    }
+
+    private static int coprimeStride(int n, RandomGenerator random) {
+        if (2 >= n) {
+            return 1;
+        }
+        int stride = random.nextInt(1, n);
+        while (1 != gcd(stride, n)) {
+            stride = stride % (n - 1) + 1;
+        }
+        return stride;
+    }
+
+    private static int gcd(int a, int b) {
+        while (0 != b) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,308 @@
+package pt.ipbeja.app.model;
+
+import pt.ipbeja.app.model.wordsprovider.WordsProvider;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A read only set of words, in alphabetical order, where each word has an index.
+ * <p>Checking if it has a word it's a binary search, and creating it from words already sorted, or merging it with
+ * more words, only goes through them once, without the nodes of a {@link java.util.TreeSet}. The words may be kept in
+ * an array, with {@link #of(String[])}, front coded in memory, with {@link #compact()}, or in a file, with
+ * {@link BinaryDictionary}.</p>
+ *
+ * @see WSModel#setWords(WordsProvider, boolean)
+ */
+public abstract class WordStore extends AbstractSet<String> {
+    /**
+     * How many lines of the words provided are parsed by each task.
+     */
+    private static final int CHUNK_LINES = 1 << 13;
+    /**
+     * How many chunks of lines can be waiting to be parsed for each thread of the pool.
+     */
+    private static final int TASKS_PER_THREAD = 2;
+    private static final WordStore EMPTY = new ArrayStore(new String[0]);
+
+    protected WordStore() {
+        super();
+    }
+
+    /**
+     * @return A store without words
+     */
+    public static WordStore empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param words Words in any order, with or without repetitions. The array it's sorted in place and may be kept
+     * @return A store with the words
+     */
+    public static WordStore of(String[] words) {
+        Arrays.parallelSort(words);
+        return new ArrayStore(distinct(words));
+    }
+
+    /**
+     * Removes the repetitions of sorted words.
+     *
+     * @param words Sorted words. The array may be changed and kept
+     * @return The words without repetitions
+     */
+    private static String[] distinct(String[] words) {
+        int n = 0;
+        for (int i = 0; i < words.length; i++) {
+            if (0 == n || !words[i].equals(words[n - 1])) {
+                words[n++] = words[i];
+            }
+        }
+        return n == words.length ? words : Arrays.copyOf(words, n);
+    }
+
+    /**
+     * Parses all the lines of a provider with possible (supported) words.
+     * <p>The lines are read in chunks with {@link WordsProvider#getLines(CharSequence[])}, and each chunk it's parsed in
+     * its own task in the {@link ForkJoinPool#commonPool()} while the next lines are read. The words of every chunk
+     * are put in the same concurrent set, because in a dictionary most are repeated, and only the different words are
+     * sorted. At most {@link #TASKS_PER_THREAD} chunks for each thread of the pool are waiting to be parsed, the reading
+     * waiting for the oldest one when there are more, so the lines read are never much more than the ones being
+     * parsed.</p>
+     *
+     * @param provider Where the lines come from
+     * @return The words found in the lines
+     * @see LatinTokenizer
+     */
+    public static WordStore parse(WordsProvider provider) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        Set<String> words = ConcurrentHashMap.newKeySet();
+        int maxTasks = TASKS_PER_THREAD * Math.max(1, pool.getParallelism());
+        Deque<ForkJoinTask<?>> tasks = new ArrayDeque<>(maxTasks + 1);
+        CharSequence[] chunk = new CharSequence[CHUNK_LINES];
+        int n;
+        while (0 < (n = provider.getLines(chunk))) {
+            CharSequence[] lines = chunk;
+            int count = n;
+            tasks.addLast(pool.submit(() -> parseChunk(lines, count, words)));
+            if (maxTasks < tasks.size()) {
+                tasks.removeFirst().join();
+            }
+            chunk = new CharSequence[CHUNK_LINES];
+        }
+        while (!tasks.isEmpty()) {
+            tasks.removeFirst().join();
+        }
+        return of(words.toArray(String[]::new));
+    }
+
+    /**
+     * @param lines Lines with possible (supported) words
+     * @param n     How many of the lines to parse, from the start
+     * @param words Where to add the words found in the lines
+     */
+    private static void parseChunk(CharSequence[] lines, int n, Set<String> words) {
+        List<String> parsed = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            LatinTokenizer.split(lines[i], parsed);
+        }
+        words.addAll(parsed);
+    }
+
+    /**
+     * @param i The index of a word, in alphabetical order
+     * @return The word
+     */
+    public abstract String get(int i);
+
+    /**
+     * @param word A word
+     * @return The index of the word, or, if it's not in the store, {@code -(insertion point) - 1} like
+     * {@link Arrays#binarySearch(Object[], Object)}
+     */
+    public int indexOf(String word) {
+        int low = 0;
+        int high = this.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compared = this.get(middle).compareTo(word);
+            if (0 > compared) {
+                low = middle + 1;
+            } else if (0 < compared) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String word && 0 <= this.indexOf(word);
+    }
+
+    /**
+     * Counts the letters of the words, folded the same way they are displayed in the matrix.
+     *
+     * @return How many times each letter, from {@code 'A'} to {@code 'Z'}, appears
+     * @see LetterSampler#count(String, long[])
+     */
+    public long[] letterCounts() {
+        return this.parallelStream().collect(
+                () -> new long[LetterSampler.LETTERS],
+                (c, word) -> LetterSampler.count(word, c),
+                (c, other) -> {
+                    for (int i = 0; i < c.length; i++) {
+                        c[i] += other[i];
+                    }
+                }
+        );
+    }
+
+    /**
+     * @return A store with the same words front coded in memory, or this one if it already is, so each word only takes
+     * a few bytes
+     * @see FrontCodedStore
+     */
+    public WordStore compact() {
+        FrontCodedStore.Builder compact = new FrontCodedStore.Builder();
+        for (String word : this) {
+            compact.add(word);
+        }
+        return compact.build();
+    }
+
+    /**
+     * @param other Other words
+     * @return A store with the words of both, front coded if they are from both
+     */
+    public WordStore merge(WordStore other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (this.isEmpty()) {
+            return other;
+        }
+        FrontCodedStore.Builder merged = new FrontCodedStore.Builder();
+        Iterator<String> mine = this.iterator();
+        Iterator<String> theirs = other.iterator();
+        String a = mine.next();
+        String b = theirs.next();
+        while (null != a && null != b) {
+            int compared = a.compareTo(b);
+            if (0 >= compared) {
+                merged.add(a);
+                a = mine.hasNext() ? mine.next() : null;
+                if (0 == compared) {
+                    b = theirs.hasNext() ? theirs.next() : null;
+                }
+            } else {
+                merged.add(b);
+                b = theirs.hasNext() ? theirs.next() : null;
+            }
+        }
+        for (; null != a; a = mine.hasNext() ? mine.next() : null) {
+            merged.add(a);
+        }
+        for (; null != b; b = theirs.hasNext() ? theirs.next() : null) {
+            merged.add(b);
+        }
+        return merged.build();
+    }
+
+    /**
+     * @param other Other words
+     * @return A store with the words of this one that aren't in the other, front coded if some were left out
+     */
+    public WordStore minus(WordStore other) {
+        if (other.isEmpty() || this.isEmpty()) {
+            return this;
+        }
+        FrontCodedStore.Builder left = new FrontCodedStore.Builder();
+        Iterator<String> theirs = other.iterator();
+        String b = theirs.next();
+        for (String a : this) {
+            while (null != b && 0 < a.compareTo(b)) {
+                b = theirs.hasNext() ? theirs.next() : null;
+            }
+            if (!a.equals(b)) {
+                left.add(a);
+            }
+        }
+        return left.size() == this.size() ? this : left.build();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < WordStore.this.size();
+            }
+
+            @Override
+            public String next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return WordStore.this.get(this.next++);
+            }
+        };
+    }
+
+    /**
+     * The words kept in an array.
+     */
+    private static final class ArrayStore extends WordStore {
+        private final String[] words;
+
+        /**
+         * @param words Words sorted, without repetitions
+         */
+        private ArrayStore(String[] words) {
+            super();
+            this.words = words;
+        }
+
+        @Override
+        public String get(int i) {
+            return this.words[i];
+        }
+
+        @Override
+        public int size() {
+            return this.words.length;
+        }
+
+        @Override
+        public int indexOf(String word) {
+            return Arrays.binarySearch(this.words, word);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return Arrays.asList(this.words).iterator();
+        }
+
+        @Override
+        public Spliterator<String> spliterator() {
+            return Spliterators.spliterator(this.words,
+                    Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package pt.ipbeja.app.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An Aho-Corasick automaton of words, to find all of them in a sequence of letters in only one pass.
+ * <p>It works with the letters the player sees, so the words are folded with {@link LetterVariants#fold(char)} and
+ * every letter that isn't from {@code 'A'} to {@code 'Z'} it's the same symbol. The automaton it's complete: every
+ * state has a transition for every symbol in a flat {@code int} table, so going to the next state it's one array
+ * read. The length of the longest word ending in a state it's in the same row, after the transitions, to be read
+ * from the same cache line. The states where words end are numbered after the others, so {@link #endsWords(int)}
+ * doesn't read the table at all.</p>
+ * <p>Every word ending in a state can also be listed, without allocating: {@link #output(int)} gives the first state,
+ * of the state itself and its suffixes, where words end, {@link #nextOutput(int)} the next one, and the words of each
+ * are a list of entries from {@link #firstEntry(int)}.</p>
+ *
+ * @see CollisionFreeFiller
+ * @see BoardSolver
+ */
+public final class WordsAutomaton {
+    /**
+     * The state before reading any letter.
+     */
+    public static final int ROOT = 0;
+    /**
+     * What's returned when there's no state or entry.
+     */
+    public static final int NONE = -1;
+    private static final int SYMBOLS = (int) 'Z' - (int) 'A' + 2;
+    private static final int OTHER = SYMBOLS - 1;
+    /**
+     * The ints of each state in the table: the transitions and the length of the longest word.
+     */
+    private static final int ROW = SYMBOLS + 1;
+
+    /**
+     * The transitions of each state, followed by the length of the longest word that ends in it, {@code 0} for none.
+     */
+    private int[] table;
+    private int states;
+    private int maxLength;
+    /**
+     * The first of the states where words end, numbered after the others.
+     */
+    private int firstEnd;
+    /**
+     * The first entry of the words that end in each state, or {@link #NONE}.
+     */
+    private int[] firstEntry;
+    /**
+     * The nearest suffix of each state where words end, or {@link #NONE}.
+     */
+    private int[] outputLink;
+    /**
+     * The index in {@link #words} of each entry, negative and minus one if the word it's written backwards.
+     */
+    private int[] entryWords;
+    private int[] entryNext;
+    private int entries;
+    private final String[] words;
+
+    /**
+     * @param words    The words
+     * @param reversed If the words written in reverse are also words of the automaton
+     */
+    public WordsAutomaton(Collection<String> words, boolean reversed) {
+        super();
+        this.table = new int[ROW * 16];
+        this.firstEntry = new int[16];
+        this.firstEntry[ROOT] = NONE;
+        this.states = 1;
+        this.entryWords = new int[16];
+        this.entryNext = new int[16];
+        this.words = words.toArray(String[]::new);
+        for (int i = 0; i < this.words.length; i++) {
+            this.add(this.words[i], i, false);
+            if (reversed) {
+                this.add(this.words[i], i, true);
+            }
+        }
+        this.renumber();
+        this.link();
+        this.separateEnds();
+    }
+
+    /**
+     * @param letter A letter
+     * @return The symbol of the letter in the transitions table
+     */
+    private static int symbol(char letter) {
+        // The letters of the matrix are already folded, and it's where the automaton it's used the most.
+        if ('A' <= letter && 'Z' >= letter) {
+            return letter - 'A';
+        }
+        char display = LetterVariants.fold(letter);
+        return 'A' <= display && 'Z' >= display ? display - 'A' : OTHER;
+    }
+
+    /**
+     * @return The length of the longest word
+     */
+    public int maxLength() {
+        return this.maxLength;
+    }
+
+    /**
+     * @return The number of states
+     */
+    public int states() {
+        return this.states;
+    }
+
+    /**
+     * @param state  The current state
+     * @param letter The letter read
+     * @return The state after reading the letter
+     */
+    public int next(int state, char letter) {
+        return this.table[state * ROW + symbol(letter)];
+    }
+
+    /**
+     * @param state A state
+     * @return The length of the longest word that ends with the last letter read to get to the state, or {@code 0} if
+     * no word does
+     */
+    public int longest(int state) {
+        return this.table[state * ROW + SYMBOLS];
+    }
+
+    /**
+     * @param state A state
+     * @return If a word ends with the last letter read to get to the state, like {@code 0 != longest(state)} but
+     * without reading the table
+     */
+    public boolean endsWords(int state) {
+        return this.firstEnd <= state;
+    }
+
+    /**
+     * @param state A state
+     * @return The state itself, if words end in it, or else the output of its longest suffix, or {@link #NONE}
+     */
+    public int output(int state) {
+        return NONE == this.firstEntry[state] ? this.outputLink[state] : state;
+    }
+
+    /**
+     * @param output A state returned by {@link #output(int)} or by this
+     * @return The next shorter suffix where words end, or {@link #NONE}
+     */
+    public int nextOutput(int output) {
+        return this.outputLink[output];
+    }
+
+    /**
+     * @param output A state where words end
+     * @return The first entry of the words ending in the state
+     */
+    public int firstEntry(int output) {
+        return this.firstEntry[output];
+    }
+
+    /**
+     * @param entry An entry
+     * @return The next entry of the same state, or {@link #NONE}
+     */
+    public int nextEntry(int entry) {
+        return this.entryNext[entry];
+    }
+
+    /**
+     * @param entry An entry
+     * @return The index of the word, in the order the words were given
+     */
+    public int wordIndex(int entry) {
+        int word = this.entryWords[entry];
+        return 0 > word ? -word - 1 : word;
+    }
+
+    /**
+     * @param entry An entry
+     * @return The word, as it was given
+     */
+    public String word(int entry) {
+        return this.words[this.wordIndex(entry)];
+    }
+
+    /**
+     * @param entry An entry
+     * @return If the letters read are the word written backwards
+     */
+    public boolean isBackwards(int entry) {
+        return 0 > this.entryWords[entry];
+    }
+
+    private void add(String word, int index, boolean reversed) {
+        int state = ROOT;
+        int length = word.length();
+        for (int i = 0; i < length; i++) {
+            int sym = symbol(word.charAt(reversed ? length - 1 - i : i));
+            int next = this.table[state * ROW + sym];
+            if (ROOT == next) {
+                next = this.newState();
+                this.table[state * ROW + sym] = next;
+            }
+            state = next;
+        }
+        this.table[state * ROW + SYMBOLS] = Math.max(this.table[state * ROW + SYMBOLS], length);
+        this.maxLength = Math.max(this.maxLength, length);
+
+        if (this.entries == this.entryWords.length) {
+            this.entryWords = Arrays.copyOf(this.entryWords, 2 * this.entries);
+            this.entryNext = Arrays.copyOf(this.entryNext, 2 * this.entries);
+        }
+        this.entryWords[this.entries] = reversed ? -index - 1 : index;
+        this.entryNext[this.entries] = this.firstEntry[state];
+        this.firstEntry[state] = this.entries++;
+    }
+
+    private int newState() {
+        if (this.states * ROW == this.table.length) {
+            this.table = Arrays.copyOf(this.table, 2 * this.table.length);
+            this.firstEntry = Arrays.copyOf(this.firstEntry, 2 * this.states);
+        }
+        this.firstEntry[this.states] = NONE;
+        return this.states++;
+    }
+
+    /**
+     * Numbers the states breadth first, so the states of the first letters of the words, where the automaton it's most
+     * of the time, are close together in memory.
+     */
+    private void renumber() {
+        int[] order = new int[this.states];
+        int tail = 1;
+        for (int head = 0; head < tail; head++) {
+            int state = order[head];
+            for (int sym = 0; sym < SYMBOLS; sym++) {
+                int child = this.table[state * ROW + sym];
+                if (ROOT != child) {
+                    order[tail++] = child;
+                }
+            }
+        }
+        this.relabel(order);
+    }
+
+    /**
+     * Numbers the states where words end after the others, keeping the order of both.
+     */
+    private void separateEnds() {
+        int[] order = new int[this.states];
+        int id = 0;
+        for (int state = 0; state < this.states; state++) {
+            if (0 == this.longest(state)) {
+                order[id++] = state;
+            }
+        }
+        this.firstEnd = id;
+        for (int state = 0; state < this.states; state++) {
+            if (0 != this.longest(state)) {
+                order[id++] = state;
+            }
+        }
+        this.relabel(order);
+    }
+
+    /**
+     * Numbers the states again.
+     *
+     * @param order The state with each new number, the root first
+     */
+    private void relabel(int[] order) {
+        int[] ids = new int[this.states];
+        for (int id = 0; id < this.states; id++) {
+            ids[order[id]] = id;
+        }
+        int[] table = new int[this.states * ROW];
+        int[] firstEntry = new int[this.states];
+        int[] outputLink = null == this.outputLink ? null : new int[this.states];
+        for (int id = 0; id < this.states; id++) {
+            int state = order[id];
+            for (int sym = 0; sym < SYMBOLS; sym++) {
+                table[id * ROW + sym] = ids[this.table[state * ROW + sym]];
+            }
+            table[id * ROW + SYMBOLS] = this.table[state * ROW + SYMBOLS];
+            firstEntry[id] = this.firstEntry[state];
+            if (null != outputLink) {
+                int link = this.outputLink[state];
+                outputLink[id] = NONE == link ? NONE : ids[link];
+            }
+        }
+        this.table = table;
+        this.firstEntry = firstEntry;
+        this.outputLink = outputLink;
+    }
+
+    /**
+     * Computes the failure links breadth first and turns them into transitions, so the table it's complete.
+     */
+    private void link() {
+        int[] fail = new int[this.states];
+        int[] queue = new int[this.states];
+        this.outputLink = new int[this.states];
+        Arrays.fill(this.outputLink, NONE);
+        int head = 0;
+        int tail = 0;
+        for (int sym = 0; sym < SYMBOLS; sym++) {
+            int child = this.table[sym];
+            if (ROOT != child) {
+                queue[tail++] = child;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            // The words ending in the failure state also end here.
+            this.table[state * ROW + SYMBOLS] = Math.max(this.longest(state), this.longest(fail[state]));
+            if (ROOT != fail[state]) {
+                this.outputLink[state] = this.output(fail[state]);
+            }
+            for (int sym = 0; sym < SYMBOLS; sym++) {
+                int idx = state * ROW + sym;
+                int child = this.table[idx];
+                int fallback = this.table[fail[state] * ROW + sym];
+                if (ROOT == child) {
+                    this.table[idx] = fallback;
+                } else {
+                    fail[child] = fallback;
+                    queue[tail++] = child;
+                }
+            }
+        }
+    }
+}
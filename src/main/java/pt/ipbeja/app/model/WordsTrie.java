@@ -0,0 +1,162 @@
+package pt.ipbeja.app.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * A trie of the words of a game, written forwards and backwards, to find which word a selection of cells is.
+ * <p>Instead of building every string the reals of the cells can make, the selection it's walked cell by cell down the
+ * trie, and a cell with many reals only goes down the children that exist. Nodes are indexes in flat arrays, with the
+ * children of a node in a list of siblings, and the walk uses a stack kept between calls, so finding a word doesn't
+ * allocate. For the same reason it's not thread-safe.</p>
+ *
+ * @see WSModel#findWord(Position)
+ */
+public final class WordsTrie {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private char[] letters;
+    private int[] firstChild;
+    private int[] nextSibling;
+    /**
+     * The word that ends in each node, or {@code null}.
+     */
+    private String[] forwards;
+    /**
+     * The word that, written backwards, ends in each node, or {@code null}.
+     */
+    private String[] backwards;
+    private int nodes;
+
+    /**
+     * The nodes still to visit in a walk, and how many cells were walked to get to each of them.
+     */
+    private int[] stackNodes;
+    private int[] stackDepths;
+
+    /**
+     * @param words The words
+     */
+    public WordsTrie(Collection<String> words) {
+        super();
+        this.letters = new char[16];
+        this.firstChild = new int[16];
+        this.nextSibling = new int[16];
+        this.forwards = new String[16];
+        this.backwards = new String[16];
+        this.nodes = 0;
+        this.newNode(LettersGrid.EMPTY);
+        for (String word : words) {
+            int forward = this.add(word, false);
+            this.forwards[forward] = word;
+            int backward = this.add(word, true);
+            this.backwards[backward] = word;
+        }
+        this.stackNodes = new int[16];
+        this.stackDepths = new int[16];
+    }
+
+    /**
+     * @return The number of nodes
+     */
+    public int nodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Finds a word written in cells in a line, in either direction, with the reals of the cells. A word written from
+     * the first cell to the last it's preferred to one written from the last to the first.
+     *
+     * @param grid   The matrix
+     * @param start  The index of the first cell
+     * @param step   What to add to a cell index to get to the next
+     * @param length The number of cells
+     * @param wanted Which of the words can be found
+     * @return One of the wanted words, or {@code null} if the cells don't write any
+     */
+    public String find(LettersGrid grid, int start, int step, int length, Predicate<String> wanted) {
+        int top = 0;
+        this.push(top++, ROOT, 0);
+        while (0 < top) {
+            --top;
+            int node = this.stackNodes[top];
+            int depth = this.stackDepths[top];
+            if (depth == length) {
+                if (null != this.forwards[node] && wanted.test(this.forwards[node])) {
+                    return this.forwards[node];
+                }
+                if (null != this.backwards[node] && wanted.test(this.backwards[node])) {
+                    return this.backwards[node];
+                }
+                continue;
+            }
+            int idx = start + depth * step;
+            for (int m = grid.realsMask(idx); 0 != m; m &= m - 1) {
+                int child = this.child(node, grid.real(idx, Integer.numberOfTrailingZeros(m)));
+                if (NONE != child) {
+                    this.push(top++, child, depth + 1);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param node   A node
+     * @param letter The letter of the child
+     * @return The child, or {@link #NONE}
+     */
+    private int child(int node, char letter) {
+        for (int c = this.firstChild[node]; NONE != c; c = this.nextSibling[c]) {
+            if (letter == this.letters[c]) {
+                return c;
+            }
+        }
+        return NONE;
+    }
+
+    private void push(int top, int node, int depth) {
+        if (top == this.stackNodes.length) {
+            this.stackNodes = Arrays.copyOf(this.stackNodes, 2 * top);
+            this.stackDepths = Arrays.copyOf(this.stackDepths, 2 * top);
+        }
+        this.stackNodes[top] = node;
+        this.stackDepths[top] = depth;
+    }
+
+    /**
+     * @return The node where the word ends
+     */
+    private int add(String word, boolean reversed) {
+        int node = ROOT;
+        int length = word.length();
+        for (int i = 0; i < length; i++) {
+            char letter = word.charAt(reversed ? length - 1 - i : i);
+            int child = this.child(node, letter);
+            if (NONE == child) {
+                child = this.newNode(letter);
+                this.nextSibling[child] = this.firstChild[node];
+                this.firstChild[node] = child;
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private int newNode(char letter) {
+        if (this.nodes == this.letters.length) {
+            int capacity = 2 * this.nodes;
+            this.letters = Arrays.copyOf(this.letters, capacity);
+            this.firstChild = Arrays.copyOf(this.firstChild, capacity);
+            this.nextSibling = Arrays.copyOf(this.nextSibling, capacity);
+            this.forwards = Arrays.copyOf(this.forwards, capacity);
+            this.backwards = Arrays.copyOf(this.backwards, capacity);
+        }
+        this.letters[this.nodes] = letter;
+        this.firstChild[this.nodes] = NONE;
+        this.nextSibling[this.nodes] = NONE;
+        return this.nodes++;
+    }
+}
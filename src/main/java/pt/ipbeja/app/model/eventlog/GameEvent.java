@@ -0,0 +1,124 @@
+package pt.ipbeja.app.model.eventlog;
+
+import pt.ipbeja.app.model.ClickMessage;
+import pt.ipbeja.app.model.GameResults;
+import pt.ipbeja.app.model.Position;
+import pt.ipbeja.app.model.WordFoundMessage;
+
+/**
+ * Something that happened in a game, and when.
+ *
+ * @see GameEventLog
+ */
+public sealed interface GameEvent {
+    /**
+     * @return When it happened, in milliseconds since the epoch
+     */
+    long time();
+
+    /**
+     * @return The text the game shows in its log when it happens, with the end of the line
+     */
+    String message();
+
+    /**
+     * A game, or a replay of it, started.
+     *
+     * @param time     When it happened
+     * @param seed     The seed of the random numbers of the board
+     * @param onReplay If it's a replay
+     * @param lines    The number of lines of the matrix
+     * @param cols     The number of columns of the matrix
+     * @param matrix   The matrix of the game as text, or an empty string if it's too large to be written, as it can be
+     *                 generated again from the seed
+     */
+    record Started(long time, long seed, boolean onReplay, int lines, int cols, String matrix) implements GameEvent {
+        @Override
+        public String message() {
+            return "";
+        }
+    }
+
+    /**
+     * A cell was clicked.
+     *
+     * @param time     When it happened
+     * @param position The cell
+     * @param letter   The letter shown in the cell
+     */
+    record Click(long time, Position position, char letter) implements GameEvent {
+        @Override
+        public String message() {
+            return new ClickMessage(this.position, this.letter).getMessage() + "\n";
+        }
+    }
+
+    /**
+     * A word was found.
+     *
+     * @param time  When it happened
+     * @param start The position of the first letter selected
+     * @param end   The position of the last letter selected
+     * @param word  The word
+     */
+    record WordFound(long time, Position start, Position end, String word) implements GameEvent {
+        @Override
+        public String message() {
+            return new WordFoundMessage(this.start, this.end, this.word).getMessage() + "\n";
+        }
+    }
+
+    /**
+     * A hint was given.
+     *
+     * @param time     When it happened
+     * @param position The cell clicked for the player
+     */
+    record Hint(long time, Position position) implements GameEvent {
+        @Override
+        public String message() {
+            return "";
+        }
+    }
+
+    /**
+     * A game, or a replay of it, ended.
+     *
+     * @param time    When it happened
+     * @param results The results of the game
+     */
+    record Ended(long time, GameResults results) implements GameEvent {
+        /**
+         * @param res The results of a game
+         * @return How many words were found and which, as the game shows them
+         */
+        public static String describe(GameResults res) {
+            StringBuilder builder = new StringBuilder();
+            builder.append("\twords found:\t")
+                    .append(res.words_found().size())
+                    .append("\n\ttotal of words:\t")
+                    .append(res.words().size())
+                    .append("\n\tpercentage of words found:\t")
+                    .append(String.format(
+                            "%.2f%%\n", 100.0 * (double) res.words_found().size() / (double) res.words().size()
+                    ))
+                    .append("\n")
+                    .append("words in game:\n");
+
+            for (String word : res.words()) {
+                builder.append("\t")
+                        .append(res.words_found().contains(word) ? "+" : "-")
+                        .append(" ")
+                        .append(word)
+                        .append("\n");
+            }
+            builder.append("\n");
+            return builder.toString();
+        }
+
+        @Override
+        public String message() {
+            return describe(this.results);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package pt.ipbeja.app.model.eventlog;
+
+import pt.ipbeja.app.model.Position;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the events of the games to files as they happen, so nothing of the game it's kept in memory to save it later.
+ * <p>Each event it's its type, the milliseconds since the event before in the same file and its fields, with numbers
+ * of 7 bits in each byte and text in UTF-8. The files may be compressed with GZIP, flushed after each event so it can
+ * be read while the game goes on. When a file has {@link #MAX_BYTES} bytes the next events go to a new file, and only
+ * the last {@link #MAX_FILES} files are kept.</p>
+ *
+ * @see GameEventReader
+ */
+public class GameEventLog implements AutoCloseable {
+    /**
+     * The default size after which a new file it's started.
+     */
+    public static final long MAX_BYTES = 4L << 20;
+    /**
+     * The default number of files kept.
+     */
+    public static final int MAX_FILES = 8;
+
+    static final Pattern FILE = Pattern.compile("events-(\\d{10})\\.log(\\.gz)?");
+    static final int STARTED = 1;
+    static final int CLICK = 2;
+    static final int WORD_FOUND = 3;
+    static final int HINT = 4;
+    static final int ENDED = 5;
+
+    private final Path dir;
+    private final boolean gzip;
+    private final long maxBytes;
+    private final int maxFiles;
+    private final ReentrantLock lock;
+    private final AtomicLong failures;
+    private DataOutputStream out;
+    private CountingOutputStream counter;
+    private int next;
+    private long lastTime;
+    private boolean closed;
+    private volatile IOException lastFailure;
+
+    /**
+     * @param dir  Where to write the files, created if it doesn't exist
+     * @param gzip If the files are compressed
+     * @throws IOException If the directory can't be read
+     */
+    public GameEventLog(Path dir, boolean gzip) throws IOException {
+        this(dir, gzip, MAX_BYTES, MAX_FILES);
+    }
+
+    /**
+     * @param dir      Where to write the files, created if it doesn't exist
+     * @param gzip     If the files are compressed
+     * @param maxBytes The size after which a new file it's started
+     * @param maxFiles The number of files kept
+     * @throws IOException If the directory can't be read
+     */
+    public GameEventLog(Path dir, boolean gzip, long maxBytes, int maxFiles) throws IOException {
+        super();
+        assert 0 < maxBytes && 0 < maxFiles;
+        this.dir = Files.createDirectories(dir);
+        this.gzip = gzip;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+        this.lock = new ReentrantLock();
+        this.failures = new AtomicLong();
+        List<Path> files = GameEventReader.files(this.dir);
+        this.next = files.isEmpty() ? 0 : number(files.get(files.size() - 1)) + 1;
+        this.closed = false;
+    }
+
+    static int number(Path file) {
+        Matcher matcher = FILE.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(file.toString());
+        }
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    /**
+     * Writes an event at the end of the last file. If it can't be written, it's counted and the game goes on.
+     *
+     * @param event The event
+     */
+    public void log(GameEvent event) {
+        this.lock.lock();
+        try {
+            if (this.closed) {
+                throw new IllegalStateException("closed");
+            }
+            if (null == this.out) {
+                this.open();
+            }
+            this.write(event);
+            this.out.flush();
+            if (this.maxBytes <= this.counter.count) {
+                this.closeFile();
+            }
+        } catch (IOException e) {
+            this.failures.incrementAndGet();
+            this.lastFailure = e;
+            this.closeFileQuietly();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Starts a new file, and deletes the oldest ones that are too many.
+     */
+    private void open() throws IOException {
+        Path file = this.dir.resolve(String.format("events-%010d.log%s", this.next++, this.gzip ? ".gz" : ""));
+        this.counter = new CountingOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+        OutputStream stream = this.gzip
+                ? new GZIPOutputStream(this.counter, 1 << 12, true)
+                : new BufferedOutputStream(this.counter, 1 << 12);
+        this.out = new DataOutputStream(stream);
+        this.lastTime = 0L;
+
+        List<Path> files = GameEventReader.files(this.dir);
+        for (int i = 0; i < files.size() - this.maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private void write(GameEvent event) throws IOException {
+        if (event instanceof GameEvent.Started started) {
+            this.header(STARTED, started.time());
+            this.varlong(started.seed());
+            this.out.writeBoolean(started.onReplay());
+            this.varlong(started.lines());
+            this.varlong(started.cols());
+            this.string(started.matrix());
+        } else if (event instanceof GameEvent.Click click) {
+            this.header(CLICK, click.time());
+            this.position(click.position());
+            this.out.writeChar(click.letter());
+        } else if (event instanceof GameEvent.WordFound found) {
+            this.header(WORD_FOUND, found.time());
+            this.position(found.start());
+            this.position(found.end());
+            this.string(found.word());
+        } else if (event instanceof GameEvent.Hint hint) {
+            this.header(HINT, hint.time());
+            this.position(hint.position());
+        } else if (event instanceof GameEvent.Ended ended) {
+            this.header(ENDED, ended.time());
+            this.varlong(ended.results().seed());
+            this.out.writeBoolean(ended.results().onReplay());
+            this.varlong(ended.results().words().size());
+            for (String word : ended.results().words()) {
+                this.string(word);
+                this.out.writeBoolean(ended.results().words_found().contains(word));
+            }
+        }
+    }
+
+    private void header(int type, long time) throws IOException {
+        this.out.writeByte(type);
+        this.varlong(time - this.lastTime);
+        this.lastTime = time;
+    }
+
+    private void position(Position position) throws IOException {
+        this.varlong(position.line());
+        this.varlong(position.col());
+    }
+
+    private void string(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        this.varlong(bytes.length);
+        this.out.write(bytes);
+    }
+
+    /**
+     * Writes a number with 7 bits in each byte, zigzag encoded so small negative numbers are also short.
+     */
+    private void varlong(long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while (0 != (zigzag & ~0x7FL)) {
+            this.out.writeByte((int) (zigzag & 0x7F | 0x80));
+            zigzag >>>= 7;
+        }
+        this.out.writeByte((int) zigzag);
+    }
+
+    private void closeFile() throws IOException {
+        if (null != this.out) {
+            DataOutputStream out = this.out;
+            this.out = null;
+            this.counter = null;
+            out.close();
+        }
+    }
+
+    private void closeFileQuietly() {
+        try {
+            this.closeFile();
+        } catch (IOException e) {
+            this.lastFailure = e;
+        }
+    }
+
+    /**
+     * @return How many events couldn't be written
+     */
+    public long failures() {
+        return this.failures.get();
+    }
+
+    /**
+     * @return Why the last event that couldn't be written failed, or {@code null}
+     */
+    public IOException lastFailure() {
+        return this.lastFailure;
+    }
+
+    /**
+     * @return The directory of the files
+     */
+    public Path dir() {
+        return this.dir;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.closeFile();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Counts the bytes written to a file, after being compressed.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+            this.count = 0L;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.out.write(b);
+            ++this.count;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.out.write(b, off, len);
+            this.count += len;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package pt.ipbeja.app.model.eventlog;
+
+import pt.ipbeja.app.model.GameResults;
+import pt.ipbeja.app.model.Position;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the events written by a {@link GameEventLog}, one at a time, so only an event it's in memory at once.
+ * <p>An event cut at the end of a file, because it's still being written or the game crashed, it's the end of the
+ * file.</p>
+ */
+public final class GameEventReader implements Closeable {
+    private final DataInputStream in;
+    private long lastTime;
+
+    /**
+     * @param file A file written by a {@link GameEventLog}
+     * @throws IOException If it can't be read
+     */
+    public GameEventReader(Path file) throws IOException {
+        super();
+        InputStream stream = new BufferedInputStream(Files.newInputStream(file), 1 << 12);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            try {
+                // Buffered again, as the fields are read a byte at a time.
+                stream = new BufferedInputStream(new GZIPInputStream(stream, 1 << 12), 1 << 12);
+            } catch (EOFException e) {
+                // Not even the header of the file was written.
+                stream = InputStream.nullInputStream();
+            }
+        }
+        this.in = new DataInputStream(stream);
+        this.lastTime = 0L;
+    }
+
+    /**
+     * @param dir A directory with files written by a {@link GameEventLog}
+     * @return The files, from the oldest
+     * @throws IOException If the directory can't be read
+     */
+    public static List<Path> files(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> GameEventLog.FILE.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingInt(GameEventLog::number))
+                    .toList();
+        }
+    }
+
+    /**
+     * @param dir A directory with files written by a {@link GameEventLog}
+     * @return Every event of the files, from the oldest, read only when the stream gets to them
+     * @throws IOException If the directory can't be read
+     */
+    public static Stream<GameEvent> events(Path dir) throws IOException {
+        return files(dir).stream().flatMap(file -> {
+            try {
+                GameEventReader reader = new GameEventReader(file);
+                return Stream.iterate(reader.next(), event -> null != event, event -> reader.nextUnchecked())
+                        .onClose(reader::closeUnchecked);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Writes the report of the last game, or replay, of the files in Markdown, reading its events from the files as
+     * it's written.
+     *
+     * @param dir  A directory with files written by a {@link GameEventLog}
+     * @param date The date of the report
+     * @param out  Where to write the report
+     * @return If there was a game to write
+     * @throws IOException If the files can't be read or the report can't be written
+     */
+    public static boolean writeMarkdown(Path dir, long date, Writer out) throws IOException {
+        List<Path> files = files(dir);
+        // Where the last game starts: the file, and the number of the event in it.
+        int file = files.size() - 1;
+        long start = -1;
+        for (; 0 <= file && 0 > start; file--) {
+            try (GameEventReader reader = new GameEventReader(files.get(file))) {
+                long i = 0;
+                for (GameEvent event = reader.next(); null != event; event = reader.next(), i++) {
+                    if (event instanceof GameEvent.Started) {
+                        start = i;
+                    }
+                }
+            }
+        }
+        if (0 > start) {
+            return false;
+        }
+
+        for (int f = file + 1; f < files.size(); f++) {
+            try (GameEventReader reader = new GameEventReader(files.get(f))) {
+                long i = 0;
+                for (GameEvent event = reader.next(); null != event; event = reader.next(), i++) {
+                    if (f > file + 1 || i > start) {
+                        out.write(event.message());
+                    } else if (i == start) {
+                        GameEvent.Started started = (GameEvent.Started) event;
+                        out.write(String.format(
+                                "# Date\n%d\n\n# Seed\n%d\n\n# Matrix\n%s\n# Logs\n```\n",
+                                date,
+                                started.seed(),
+                                started.matrix().isEmpty()
+                                        ? String.format("%d lines by %d columns, generated from the seed\n",
+                                        started.lines(), started.cols())
+                                        : started.matrix()
+                        ));
+                    }
+                }
+            }
+        }
+        out.write("```\n");
+        return true;
+    }
+
+    /**
+     * @param dir  A directory with files written by a {@link GameEventLog}
+     * @param date The date of the report
+     * @return The report of the last game in Markdown, or {@code null} if there's none
+     * @throws IOException If the files can't be read
+     * @see #writeMarkdown(Path, long, Writer)
+     */
+    public static String markdown(Path dir, long date) throws IOException {
+        StringWriter out = new StringWriter();
+        return writeMarkdown(dir, date, out) ? out.toString() : null;
+    }
+
+    /**
+     * @return The next event, or {@code null} if there are no more
+     * @throws IOException If the file can't be read
+     */
+    public GameEvent next() throws IOException {
+        try {
+            int type = this.in.read();
+            if (0 > type) {
+                return null;
+            }
+            long time = this.lastTime + this.varlong();
+            this.lastTime = time;
+            return switch (type) {
+                case GameEventLog.STARTED -> new GameEvent.Started(time, this.varlong(), this.in.readBoolean(),
+                        (int) this.varlong(), (int) this.varlong(), this.string());
+                case GameEventLog.CLICK -> new GameEvent.Click(time, this.position(), this.in.readChar());
+                case GameEventLog.WORD_FOUND -> new GameEvent.WordFound(time, this.position(), this.position(),
+                        this.string());
+                case GameEventLog.HINT -> new GameEvent.Hint(time, this.position());
+                case GameEventLog.ENDED -> {
+                    long seed = this.varlong();
+                    boolean onReplay = this.in.readBoolean();
+                    long n = this.varlong();
+                    Set<String> words = new LinkedHashSet<>();
+                    Set<String> found = new LinkedHashSet<>();
+                    for (long i = 0; i < n; i++) {
+                        String word = this.string();
+                        words.add(word);
+                        if (this.in.readBoolean()) {
+                            found.add(word);
+                        }
+                    }
+                    yield new GameEvent.Ended(time, new GameResults(
+                            Collections.unmodifiableSet(words),
+                            Collections.unmodifiableSet(found),
+                            onReplay,
+                            seed
+                    ));
+                }
+                default -> throw new IOException("unknown event " + type);
+            };
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private GameEvent nextUnchecked() {
+        try {
+            return this.next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Position position() throws IOException {
+        return new Position((int) this.varlong(), (int) this.varlong());
+    }
+
+    private String string() throws IOException {
+        byte[] bytes = new byte[(int) this.varlong()];
+        this.in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long varlong() throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = this.in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if (0 == (b & 0x80)) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+
+    private void closeUnchecked() {
+        try {
+            this.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package pt.ipbeja.app.model.replay;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A game being replayed by a {@link Replayer}, that can be paused, made faster or slower, moved to any play and
+ * cancelled from any thread.
+ * <p>Each play it's played when its time since the play before, divided by the speed, passed. Every
+ * {@link #CHECKPOINT_INTERVAL} plays the state of the target it's saved, the first time the replay gets there, so
+ * going back to a play only plays again the plays after the checkpoint before it.</p>
+ *
+ * @param <S> The type of the checkpoints of the target
+ */
+public final class Replay<S> {
+    /**
+     * The speed to play every play at once.
+     */
+    public static final double INSTANT = Double.POSITIVE_INFINITY;
+    /**
+     * How many plays there are between checkpoints.
+     */
+    public static final int CHECKPOINT_INTERVAL = 32;
+    /**
+     * How many plays are played at once, at most, when they don't have to wait, so a replay doesn't keep the executor
+     * for itself.
+     */
+    private static final int BATCH = 256;
+
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final Timeline timeline;
+    private final ReplayTarget<S> target;
+    private final ReentrantLock lock;
+    private final Object[] checkpoints;
+    private final CompletableFuture<Void> finished;
+    /**
+     * The number of the next play.
+     */
+    private int next;
+    private double speed;
+    private boolean paused;
+    private boolean done;
+    /**
+     * Changed each time the next play changes or stops being scheduled, so a play scheduled before isn't played.
+     */
+    private long generation;
+    /**
+     * When the next play should be played, in {@link System#nanoTime()}.
+     */
+    private long due;
+    private ScheduledFuture<?> future;
+
+    Replay(ScheduledExecutorService scheduler, Executor executor, Timeline timeline, ReplayTarget<S> target,
+           double speed) {
+        super();
+        assert 0.0 < speed;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.timeline = timeline;
+        this.target = target;
+        this.lock = new ReentrantLock();
+        this.checkpoints = new Object[timeline.size() / CHECKPOINT_INTERVAL + 1];
+        this.finished = new CompletableFuture<>();
+        this.next = 0;
+        this.speed = speed;
+        this.paused = false;
+        this.done = false;
+        this.generation = 0L;
+    }
+
+    void start() {
+        this.lock.lock();
+        try {
+            this.due = System.nanoTime();
+            this.schedule();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Schedules the next play, or the end, for its time. The {@link #lock} must be held.
+     */
+    private void schedule() {
+        if (this.paused || this.done) {
+            return;
+        }
+        long gap = this.timeline.time(this.next) - (0 == this.next ? 0L : this.timeline.time(this.next - 1));
+        if (Double.isFinite(this.speed)) {
+            this.due += (long) (gap * 1e6 / this.speed);
+        }
+        long generation = this.generation;
+        this.future = this.scheduler.schedule(
+                () -> this.executor.execute(() -> this.step(generation)),
+                Math.max(0L, this.due - System.nanoTime()),
+                TimeUnit.NANOSECONDS
+        );
+    }
+
+    /**
+     * Stops the next play from being played, so it can be scheduled again. The {@link #lock} must be held.
+     */
+    private void unschedule() {
+        ++this.generation;
+        if (null != this.future) {
+            this.future.cancel(false);
+            this.future = null;
+        }
+    }
+
+    /**
+     * Plays the next play, and the ones after it that don't have to wait, up to {@link #BATCH} and the next
+     * checkpoint. The end it's never in the same task as a play.
+     */
+    private void step(long generation) {
+        this.lock.lock();
+        try {
+            if (generation != this.generation || this.paused || this.done) {
+                return;
+            }
+            this.checkpoint();
+            for (int played = 0; ; ) {
+                if (this.timeline.size() == this.next) {
+                    if (0 < played) {
+                        // The end in a new task of the executor too, after what the target gave it for the plays.
+                        this.schedule();
+                        return;
+                    }
+                    this.done = true;
+                    this.target.end();
+                    this.finished.complete(null);
+                    return;
+                }
+                this.target.play(this.timeline.position(this.next));
+                ++this.next;
+                ++played;
+                boolean waits = this.timeline.time(this.next) > this.timeline.time(this.next - 1)
+                        && Double.isFinite(this.speed);
+                if (waits || BATCH == played || this.missingCheckpoint()) {
+                    this.schedule();
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            this.done = true;
+            this.finished.completeExceptionally(e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private boolean missingCheckpoint() {
+        return 0 == this.next % CHECKPOINT_INTERVAL && null == this.checkpoints[this.next / CHECKPOINT_INTERVAL];
+    }
+
+    /**
+     * Saves the state of the target, if the next play it's one of a checkpoint not saved yet. Only called at the start
+     * of a task of the {@link #executor}, when the target did every play given to it.
+     */
+    private void checkpoint() {
+        if (this.missingCheckpoint()) {
+            this.checkpoints[this.next / CHECKPOINT_INTERVAL] = this.target.checkpoint();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void seekTo(int play, long generation) {
+        this.lock.lock();
+        try {
+            if (generation != this.generation || this.done) {
+                return;
+            }
+            this.checkpoint();
+            int k = play / CHECKPOINT_INTERVAL;
+            while (null == this.checkpoints[k]) {
+                --k;
+            }
+            int checkpoint = k * CHECKPOINT_INTERVAL;
+            if (play < this.next || checkpoint > this.next) {
+                this.target.restore((S) this.checkpoints[k]);
+                this.next = checkpoint;
+            }
+            while (this.next < play) {
+                this.target.play(this.timeline.position(this.next));
+                ++this.next;
+                if (this.next < play && this.missingCheckpoint()) {
+                    // Goes on in a new task, to save the checkpoint after the plays given to the target.
+                    this.executor.execute(() -> this.seekTo(play, generation));
+                    return;
+                }
+            }
+            this.due = System.nanoTime();
+            this.schedule();
+        } catch (RuntimeException e) {
+            this.done = true;
+            this.finished.completeExceptionally(e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stops playing the plays until {@link #resume()}.
+     */
+    public void pause() {
+        this.lock.lock();
+        try {
+            if (!this.done && !this.paused) {
+                this.paused = true;
+                this.unschedule();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Plays the plays again, the next one after its whole time since the play before.
+     */
+    public void resume() {
+        this.lock.lock();
+        try {
+            if (!this.done && this.paused) {
+                this.paused = false;
+                this.due = System.nanoTime();
+                this.schedule();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return If it's paused
+     */
+    public boolean isPaused() {
+        this.lock.lock();
+        try {
+            return this.paused;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Changes the speed. The next play waits its whole time at the new speed.
+     *
+     * @param speed How many times faster than the game, or {@link #INSTANT}
+     */
+    public void setSpeed(double speed) {
+        assert 0.0 < speed;
+        this.lock.lock();
+        try {
+            this.speed = speed;
+            if (!this.done && !this.paused) {
+                this.unschedule();
+                this.due = System.nanoTime();
+                this.schedule();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return How many times faster than the game it's replayed
+     */
+    public double getSpeed() {
+        this.lock.lock();
+        try {
+            return this.speed;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the replay to just before a play, from the checkpoint before it. If it's not paused, the play it's played
+     * after its time since the play before.
+     *
+     * @param play The number of the play, or the number of plays to go to the end
+     */
+    public void seek(int play) {
+        if (0 > play || this.timeline.size() < play) {
+            throw new IllegalArgumentException("no play " + play);
+        }
+        this.lock.lock();
+        try {
+            if (this.done) {
+                return;
+            }
+            this.unschedule();
+            long generation = this.generation;
+            this.executor.execute(() -> this.seekTo(play, generation));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the replay for good, without playing the plays still to play.
+     */
+    public void cancel() {
+        this.lock.lock();
+        try {
+            if (this.done) {
+                return;
+            }
+            this.done = true;
+            this.unschedule();
+            this.executor.execute(this.target::cancelled);
+            this.finished.cancel(false);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of the next play to play
+     */
+    public int position() {
+        this.lock.lock();
+        try {
+            return this.next;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return The plays replayed
+     */
+    public Timeline timeline() {
+        return this.timeline;
+    }
+
+    /**
+     * @return If it ended or was cancelled
+     */
+    public boolean isDone() {
+        this.lock.lock();
+        try {
+            return this.done;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return Completed when the replay ends, or completed with a {@link java.util.concurrent.CancellationException}
+     * if it's cancelled
+     */
+    public CompletableFuture<Void> finished() {
+        return this.finished.copy();
+    }
+}
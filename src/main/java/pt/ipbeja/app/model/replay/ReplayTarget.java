@@ -0,0 +1,43 @@
+package pt.ipbeja.app.model.replay;
+
+import pt.ipbeja.app.model.Position;
+
+/**
+ * What a {@link Replay} plays the plays of a {@link Timeline} on, like the model of the game.
+ * <p>Its methods are called one at a time, by the executor given to {@link Replayer#replay}. A play may be done later
+ * by the same executor, as long as it's done before anything given to the executor after it: a checkpoint and the end
+ * are only asked for in a new task of the executor.</p>
+ *
+ * @param <S> The type of the state saved in a checkpoint
+ */
+public interface ReplayTarget<S> {
+    /**
+     * Plays the next play.
+     *
+     * @param position The position clicked
+     */
+    void play(Position position);
+
+    /**
+     * @return The state after every play played so far, to go back to it with {@link #restore(Object)}
+     */
+    S checkpoint();
+
+    /**
+     * Goes back to the state of a checkpoint.
+     *
+     * @param state A state returned by {@link #checkpoint()}
+     */
+    void restore(S state);
+
+    /**
+     * Every play was played and the time of the end of the game passed.
+     */
+    void end();
+
+    /**
+     * The replay was cancelled before its end.
+     */
+    default void cancelled() {
+    }
+}
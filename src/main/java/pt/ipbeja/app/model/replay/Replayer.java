@@ -0,0 +1,92 @@
+package pt.ipbeja.app.model.replay;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Replays many games at the same time with a few threads: the next play of each {@link Replay} it's a task scheduled
+ * for when it's time to play it, so no thread waits for a play.
+ * <p>The plays themselves are played by the executor given with each replay, like the thread of the UI.</p>
+ */
+public final class Replayer implements AutoCloseable {
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * A replayer with a thread.
+     */
+    public Replayer() {
+        this(1);
+    }
+
+    /**
+     * @param threads The number of threads playing the plays, when the executor of a replay doesn't play them itself
+     */
+    public Replayer(int threads) {
+        super();
+        assert 0 < threads;
+        this.scheduler = new ScheduledThreadPoolExecutor(threads, task -> {
+            Thread thread = new Thread(task, "replayer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // A paused or cancelled replay doesn't leave its next play in the queue.
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * @return A replayer shared by the whole application, that's never closed
+     */
+    public static Replayer common() {
+        return Common.REPLAYER;
+    }
+
+    /**
+     * Starts replaying a game, with the plays played by the threads of the replayer.
+     *
+     * @param timeline The plays of the game
+     * @param target   What to play the plays on
+     * @param speed    How many times faster than the game, or {@link Replay#INSTANT}
+     * @param <S>      The type of the checkpoints of the target
+     * @return The replay, to control it
+     */
+    public <S> Replay<S> replay(Timeline timeline, ReplayTarget<S> target, double speed) {
+        return this.replay(timeline, target, speed, Runnable::run);
+    }
+
+    /**
+     * Starts replaying a game.
+     *
+     * @param timeline The plays of the game
+     * @param target   What to play the plays on
+     * @param speed    How many times faster than the game, or {@link Replay#INSTANT}
+     * @param executor Who plays the plays on the target, one at a time and in the order given
+     * @param <S>      The type of the checkpoints of the target
+     * @return The replay, to control it
+     */
+    public <S> Replay<S> replay(Timeline timeline, ReplayTarget<S> target, double speed, Executor executor) {
+        Replay<S> replay = new Replay<>(this.scheduler, executor, timeline, target, speed);
+        replay.start();
+        return replay;
+    }
+
+    /**
+     * @return How many plays are waiting for their time
+     */
+    public int pending() {
+        return this.scheduler.getQueue().size();
+    }
+
+    /**
+     * Stops every replay, without playing the plays still to play.
+     */
+    @Override
+    public void close() {
+        if (this != Common.REPLAYER) {
+            this.scheduler.shutdownNow();
+        }
+    }
+
+    private static final class Common {
+        private static final Replayer REPLAYER = new Replayer();
+    }
+}
@@ -0,0 +1,111 @@
+package pt.ipbeja.app.model.replay;
+
+import pt.ipbeja.app.model.Position;
+
+import java.util.Arrays;
+
+/**
+ * The plays of a game, each with when it was played, and when the game ended, to be replayed as they happened.
+ * <p>The times are in milliseconds since the game started, so a timeline can be replayed at any time.</p>
+ *
+ * @see Builder
+ */
+public final class Timeline {
+    private final long[] times;
+    private final Position[] positions;
+    private final long end;
+
+    private Timeline(long[] times, Position[] positions, long end) {
+        super();
+        this.times = times;
+        this.positions = positions;
+        this.end = end;
+    }
+
+    /**
+     * @return The number of plays
+     */
+    public int size() {
+        return this.positions.length;
+    }
+
+    /**
+     * @param i The number of the play
+     * @return The position clicked
+     */
+    public Position position(int i) {
+        return this.positions[i];
+    }
+
+    /**
+     * @param i The number of the play, or {@link #size()} for the end of the game
+     * @return When it was played, in milliseconds since the game started
+     */
+    public long time(int i) {
+        return i == this.positions.length ? this.end : this.times[i];
+    }
+
+    /**
+     * @return How long the game took, in milliseconds
+     */
+    public long duration() {
+        return this.end;
+    }
+
+    /**
+     * Records the plays of a game as they happen.
+     */
+    public static final class Builder {
+        private final long start;
+        private long[] times;
+        private Position[] positions;
+        private int size;
+
+        /**
+         * @param start When the game started, in milliseconds
+         */
+        public Builder(long start) {
+            super();
+            this.start = start;
+            this.times = new long[16];
+            this.positions = new Position[16];
+            this.size = 0;
+        }
+
+        /**
+         * @param time     When it was played, in milliseconds, not before the play before
+         * @param position The position clicked
+         * @return This builder
+         */
+        public Builder add(long time, Position position) {
+            if (this.size == this.positions.length) {
+                this.times = Arrays.copyOf(this.times, this.size << 1);
+                this.positions = Arrays.copyOf(this.positions, this.size << 1);
+            }
+            this.times[this.size] = Math.max(time - this.start, 0 == this.size ? 0L : this.times[this.size - 1]);
+            this.positions[this.size] = position;
+            ++this.size;
+            return this;
+        }
+
+        /**
+         * @return The number of plays
+         */
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * @param end When the game ended, in milliseconds
+         * @return The timeline of the plays added
+         */
+        public Timeline build(long end) {
+            long last = 0 == this.size ? 0L : this.times[this.size - 1];
+            return new Timeline(
+                    Arrays.copyOf(this.times, this.size),
+                    Arrays.copyOf(this.positions, this.size),
+                    Math.max(end - this.start, last)
+            );
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package pt.ipbeja.app.model.resultssaver;
+
+import pt.ipbeja.app.model.GameResults;
+
+import java.util.List;
+
+/**
+ * Saves the results of the games with many savers, in the order they were given.
+ * <p>A saver that fails doesn't stop the others from saving the results, and the first failure it's thrown after all
+ * of them were asked, with the others suppressed in it. Closing it closes the savers that can be closed.</p>
+ */
+public class AggregateResultsSaver implements ResultsSaver, AutoCloseable {
+    private final List<ResultsSaver> savers;
+
+    /**
+     * @param savers The savers
+     */
+    public AggregateResultsSaver(ResultsSaver... savers) {
+        super();
+        this.savers = List.of(savers);
+    }
+
+    @Override
+    public void save(GameResults res) {
+        RuntimeException failure = null;
+        for (ResultsSaver saver : this.savers) {
+            try {
+                saver.save(res);
+            } catch (RuntimeException e) {
+                if (null == failure) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (null != failure) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Closes every saver that can be closed, even if one fails, and throws the first failure.
+     *
+     * @throws Exception If a saver couldn't be closed
+     */
+    @Override
+    public void close() throws Exception {
+        Exception failure = null;
+        for (ResultsSaver saver : this.savers) {
+            if (saver instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    if (null == failure) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (null != failure) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package pt.ipbeja.app.model.resultssaver;
+
+import pt.ipbeja.app.model.GameResults;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Saves the results of the games in a file without making the game wait for the disk.
+ * <p>{@link #save(GameResults)} only puts the results in a queue, without locks, and a single thread writes them:
+ * all the results waiting are written together, with one write to the file and, if asked, one
+ * {@link FileChannel#force(boolean)}. If the queue is full the results are dropped, and if they can't be written they
+ * are counted as failed, so it's known how many were lost. {@link #close()} writes the ones still waiting.</p>
+ * <p>The results of a replay aren't written, the game was already written when it was played.</p>
+ * <p>The queue it's closed with a bit of the same counter that takes the results in, so a result it's either taken
+ * before the queue was closed, and written by {@link #close()}, or dropped.</p>
+ */
+public class AsyncResultsSaver implements ResultsSaver, AutoCloseable {
+    /**
+     * The default maximum of results waiting to be written.
+     */
+    public static final int CAPACITY = 1 << 12;
+    /**
+     * The maximum of results written at once.
+     */
+    private static final int BATCH = 1 << 8;
+    /**
+     * The bit of {@link #depth} set when it's closed.
+     */
+    private static final int CLOSED = Integer.MIN_VALUE;
+
+    private final Supplier<Path> file;
+    private final Function<GameResults, String> format;
+    private final boolean sync;
+    private final int capacity;
+    private final Queue<Pending> queue;
+    /**
+     * How many results are in the {@link #queue}, or are being put there, because counting a
+     * {@link ConcurrentLinkedQueue} goes through it. With the {@link #CLOSED} bit when it's closed.
+     */
+    private final AtomicInteger depth;
+    private final AtomicLong accepted;
+    private final AtomicLong written;
+    private final AtomicLong dropped;
+    private final AtomicLong failed;
+    private final Thread writer;
+    private volatile Exception lastFailure;
+
+    /**
+     * @param file   The file to save the results in, asked each time a result it's saved
+     * @param format The text written for a result
+     * @param sync   If the file it's forced to the disk after each batch of results
+     */
+    public AsyncResultsSaver(Supplier<Path> file, Function<GameResults, String> format, boolean sync) {
+        this(file, format, sync, CAPACITY);
+    }
+
+    /**
+     * @param file     The file to save the results in, asked each time a result it's saved
+     * @param format   The text written for a result
+     * @param sync     If the file it's forced to the disk after each batch of results
+     * @param capacity The maximum of results waiting to be written
+     */
+    public AsyncResultsSaver(Supplier<Path> file, Function<GameResults, String> format, boolean sync, int capacity) {
+        super();
+        assert 0 < capacity;
+        this.file = file;
+        this.format = format;
+        this.sync = sync;
+        this.capacity = capacity;
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.depth = new AtomicInteger();
+        this.accepted = new AtomicLong();
+        this.written = new AtomicLong();
+        this.dropped = new AtomicLong();
+        this.failed = new AtomicLong();
+        this.writer = new Thread(this::write, "results-saver");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Puts the results in the queue to be written, or drops them if it's full or closed. The results of a replay are
+     * ignored.
+     *
+     * @param res The results of a game
+     */
+    @Override
+    public void save(GameResults res) {
+        if (res.onReplay()) {
+            return;
+        }
+        Path file = this.file.get();
+        int depth;
+        do {
+            depth = this.depth.get();
+            if (0 > depth || this.capacity <= depth) {
+                this.dropped.incrementAndGet();
+                return;
+            }
+        } while (!this.depth.compareAndSet(depth, depth + 1));
+        this.accepted.incrementAndGet();
+        this.queue.offer(new Pending(file, res));
+        LockSupport.unpark(this.writer);
+    }
+
+    /**
+     * Writes the results in the queue until it's closed and every result was taken.
+     */
+    private void write() {
+        List<Pending> batch = new ArrayList<>(BATCH);
+        while (true) {
+            Pending pending;
+            while (batch.size() < BATCH && null != (pending = this.queue.poll())) {
+                this.depth.decrementAndGet();
+                batch.add(pending);
+            }
+            if (!batch.isEmpty()) {
+                this.commit(batch);
+                batch.clear();
+            } else if (0 > this.depth.get()) {
+                return;
+            } else {
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    /**
+     * Writes a batch of results, once for each file, in the order they were saved.
+     *
+     * @param batch The results
+     */
+    private void commit(List<Pending> batch) {
+        int start = 0;
+        while (start < batch.size()) {
+            Path file = batch.get(start).file();
+            int end = start + 1;
+            while (end < batch.size() && file.equals(batch.get(end).file())) {
+                ++end;
+            }
+            try {
+                StringBuilder text = new StringBuilder();
+                for (int i = start; i < end; i++) {
+                    text.append(this.format.apply(batch.get(i).results()));
+                }
+                this.append(file, StandardCharsets.UTF_8.encode(text.toString()));
+                this.written.addAndGet(end - start);
+            } catch (IOException | RuntimeException e) {
+                this.lastFailure = e;
+                this.failed.addAndGet(end - start);
+            }
+            start = end;
+        }
+        synchronized (this.queue) {
+            this.queue.notifyAll();
+        }
+    }
+
+    /**
+     * Writes at the end of a file, creating it if it doesn't exist.
+     *
+     * @param file  The file
+     * @param bytes What to write
+     * @throws IOException If it can't be written
+     */
+    private void append(Path file, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND
+        )) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            if (this.sync) {
+                channel.force(false);
+            }
+        }
+    }
+
+    /**
+     * Waits until every result saved before was written, or failed.
+     *
+     * @throws InterruptedException If the thread it's interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        long target = this.accepted.get();
+        synchronized (this.queue) {
+            while (this.written.get() + this.failed.get() < target && this.writer.isAlive()) {
+                this.queue.wait(10L);
+            }
+        }
+    }
+
+    /**
+     * @return How many results are waiting to be written
+     */
+    public int queueDepth() {
+        return this.depth.get() & ~CLOSED;
+    }
+
+    /**
+     * @return How many results were written
+     */
+    public long written() {
+        return this.written.get();
+    }
+
+    /**
+     * @return How many results weren't saved because the queue was full or it was closed
+     */
+    public long dropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * @return How many results couldn't be written
+     */
+    public long failures() {
+        return this.failed.get();
+    }
+
+    /**
+     * @return Why the last results that couldn't be written failed, or {@code null}
+     */
+    public Exception lastFailure() {
+        return this.lastFailure;
+    }
+
+    /**
+     * Stops saving results and writes the ones still waiting, waiting for them to be written.
+     */
+    @Override
+    public void close() {
+        if (0 > this.depth.getAndAccumulate(CLOSED, (depth, closed) -> depth | closed)) {
+            return;
+        }
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            // The writer still writes the results waiting, but it's not waited for.
+            Thread.currentThread().interrupt();
+            return;
+        }
+        // Results taken before it was closed, that may still be on their way to the queue.
+        List<Pending> batch = new ArrayList<>();
+        while (CLOSED != this.depth.get()) {
+            Pending pending = this.queue.poll();
+            if (null == pending) {
+                Thread.onSpinWait();
+                continue;
+            }
+            this.depth.decrementAndGet();
+            batch.add(pending);
+        }
+        if (!batch.isEmpty()) {
+            this.commit(batch);
+        }
+    }
+
+    /**
+     * @param file    Where to write the results
+     * @param results The results
+     */
+    private record Pending(Path file, GameResults results) {
+    }
+}
@@ -0,0 +1,533 @@
+package pt.ipbeja.app.model.resultssaver;
+
+import pt.ipbeja.app.model.GameResults;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Saves every result of the games, with the time they were saved, in binary files that only grow, and reads them back
+ * by time without reading the whole history.
+ * <p>The results are written in segments, files of at most {@link #SEGMENT_BYTES} bytes (or of one result, if it's
+ * bigger), numbered in order. Each result it's a record with:</p>
+ * <ol>
+ *     <li>the size of the rest of the record, without the checksum;</li>
+ *     <li>the time, in milliseconds, the seed and if it was on replay;</li>
+ *     <li>the number of words and, for each, its length and bytes in UTF-8 and if it was found;</li>
+ *     <li>a {@link CRC32C} of everything after the size.</li>
+ * </ol>
+ * <p>The times never go back, even if the clock does, so the records are in order of time. Each segment has an index
+ * file with the time and the position of every {@link #INDEX_INTERVAL}th record, so finding where a time starts it's
+ * a binary search in the index and reading at most that many records.</p>
+ * <p>When opened, a record cut at the end of the last segment, by a crash while it was written, it's thrown away.</p>
+ */
+public class ResultsJournal implements ResultsSaver, AutoCloseable {
+    /**
+     * The default size of the segments.
+     */
+    public static final long SEGMENT_BYTES = 64L << 20;
+    /**
+     * How many records there are from one entry of the index to the next.
+     */
+    public static final int INDEX_INTERVAL = 256;
+    private static final Pattern SEGMENT = Pattern.compile("results-(\\d{10})\\.journal");
+    private static final int HEADER = Long.BYTES * 2 + 1 + Integer.BYTES;
+
+    private final Path dir;
+    private final Clock clock;
+    private final long segmentBytes;
+    private final ReentrantLock lock;
+    private final List<Segment> segments;
+    private ByteBuffer record;
+    private FileChannel data;
+    private FileChannel index;
+    private long lastTime;
+    private boolean closed;
+
+    /**
+     * @param dir Where to keep the segments, created if it doesn't exist
+     * @throws IOException If the segments can't be read
+     */
+    public ResultsJournal(Path dir) throws IOException {
+        this(dir, Clock.systemUTC(), SEGMENT_BYTES);
+    }
+
+    /**
+     * @param dir          Where to keep the segments, created if it doesn't exist
+     * @param clock        What gives the time of the results
+     * @param segmentBytes The size of the segments
+     * @throws IOException If the segments can't be read
+     */
+    public ResultsJournal(Path dir, Clock clock, long segmentBytes) throws IOException {
+        super();
+        assert 0 < segmentBytes;
+        this.dir = Files.createDirectories(dir);
+        this.clock = clock;
+        this.segmentBytes = segmentBytes;
+        this.lock = new ReentrantLock();
+        this.segments = new ArrayList<>();
+        this.record = ByteBuffer.allocate(1 << 12);
+        this.lastTime = Long.MIN_VALUE;
+        this.closed = false;
+
+        List<Integer> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(this.dir)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    numbers.add(Integer.parseInt(matcher.group(1)));
+                }
+            });
+        }
+        Collections.sort(numbers);
+        for (int number : numbers) {
+            this.segments.add(this.load(number));
+        }
+        // A segment without index can't be searched.
+        for (Segment segment : List.copyOf(this.segments)) {
+            if (0 == segment.entries) {
+                this.recover(segment);
+            }
+        }
+        // The last segment may have been cut, and if only a cut record was in it, the time goes on from the one before.
+        int count;
+        do {
+            count = this.segments.size();
+            if (0 < count) {
+                this.recover(this.segments.get(count - 1));
+            }
+        } while (this.segments.size() < count);
+    }
+
+    private Path dataFile(int number) {
+        return this.dir.resolve(String.format("results-%010d.journal", number));
+    }
+
+    private Path indexFile(int number) {
+        return this.dir.resolve(String.format("results-%010d.index", number));
+    }
+
+    /**
+     * Reads the index of a segment.
+     */
+    private Segment load(int number) throws IOException {
+        Segment segment = new Segment(number, this.dataFile(number));
+        segment.size = Files.size(segment.file);
+        Path index = this.indexFile(number);
+        if (Files.exists(index)) {
+            ByteBuffer entries = ByteBuffer.wrap(Files.readAllBytes(index));
+            while (Long.BYTES * 2 <= entries.remaining()) {
+                long time = entries.getLong();
+                long position = entries.getLong();
+                // An entry written after the last record that was, by a crash.
+                if (position < segment.size) {
+                    segment.add(time, position);
+                }
+            }
+        }
+        return segment;
+    }
+
+    /**
+     * Reads the records of a segment after the last entry of its index, adding the entries missing, finds the end of
+     * the last complete record and cuts the segment and its index there. The entries of records cut, or never written,
+     * are thrown away.
+     */
+    private void recover(Segment segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment.file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = 0L;
+            for (int from = Math.max(0, segment.entries - 1); 0 <= from; from--) {
+                long position = 0 == segment.entries ? 0L : segment.positions[from];
+                end = this.scan(channel, segment, from, position);
+                // When the record of the entry it's the one cut, the last time it's in the records of the one before.
+                if (position < end || 0 == segment.entries) {
+                    break;
+                }
+            }
+            while (0 < segment.entries && end <= segment.positions[segment.entries - 1]) {
+                --segment.entries;
+            }
+            if (end < segment.size) {
+                segment.size = end;
+                channel.truncate(segment.size);
+            }
+        }
+        try (FileChannel index = FileChannel.open(this.indexFile(segment.number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer entries = ByteBuffer.allocate(Long.BYTES * 2 * segment.entries);
+            for (int i = 0; i < segment.entries; i++) {
+                entries.putLong(segment.times[i]).putLong(segment.positions[i]);
+            }
+            index.write(entries.flip());
+        }
+        if (0 == segment.size) {
+            Files.delete(segment.file);
+            Files.deleteIfExists(this.indexFile(segment.number));
+            this.segments.remove(segment);
+        }
+    }
+
+    /**
+     * Reads the complete records of a segment from an entry of its index, adding the entries missing after the last.
+     *
+     * @param from     The number of the entry
+     * @param position Where its record starts
+     * @return Where the last complete record ends
+     */
+    private long scan(FileChannel channel, Segment segment, int from, long position) throws IOException {
+        int count = from * INDEX_INTERVAL;
+        ByteBuffer buffer = ByteBuffer.allocate((int) (segment.size - position));
+        int read = 0;
+        while (buffer.hasRemaining() && 0 <= read) {
+            read = channel.read(buffer, position + buffer.position());
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            Entry entry = decode(buffer);
+            if (null == entry) {
+                buffer.position(start);
+                break;
+            }
+            boolean indexed = 0 < segment.entries && position + start <= segment.positions[segment.entries - 1];
+            if (0 == count % INDEX_INTERVAL && !indexed) {
+                segment.add(entry.time(), position + start);
+            }
+            this.lastTime = entry.time();
+            ++count;
+        }
+        segment.records = count;
+        return position + buffer.position();
+    }
+
+    /**
+     * Writes the results at the end of the last segment, with the time now.
+     *
+     * @param res The results of a game
+     * @throws UncheckedIOException If they can't be written
+     */
+    @Override
+    public void save(GameResults res) {
+        this.lock.lock();
+        try {
+            if (this.closed) {
+                throw new IllegalStateException("closed");
+            }
+            long time = Math.max(this.lastTime, this.clock.millis());
+            ByteBuffer record = this.encode(time, res);
+            Segment segment = this.segments.isEmpty() ? null : this.segments.get(this.segments.size() - 1);
+            if (null == segment || (0 < segment.size && this.segmentBytes < segment.size + record.remaining())) {
+                int number = null == segment ? 0 : segment.number + 1;
+                segment = new Segment(number, this.dataFile(number));
+                this.segments.add(segment);
+                this.open(segment);
+            } else if (null == this.data) {
+                this.open(segment);
+            }
+            long position = segment.size;
+            while (record.hasRemaining()) {
+                this.data.write(record);
+            }
+            if (0 == segment.records % INDEX_INTERVAL) {
+                segment.add(time, position);
+                ByteBuffer entry = ByteBuffer.allocate(Long.BYTES * 2).putLong(time).putLong(position).flip();
+                while (entry.hasRemaining()) {
+                    this.index.write(entry);
+                }
+            }
+            segment.size = this.data.position();
+            ++segment.records;
+            this.lastTime = time;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Opens a segment to write at its end.
+     *
+     * @param segment The segment
+     */
+    private void open(Segment segment) throws IOException {
+        this.closeFiles();
+        this.data = FileChannel.open(segment.file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.index = FileChannel.open(this.indexFile(segment.number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.data.position(this.data.size());
+    }
+
+    private void closeFiles() throws IOException {
+        if (null != this.data) {
+            this.data.close();
+            this.index.close();
+            this.data = null;
+            this.index = null;
+        }
+    }
+
+    /**
+     * @return The record, in {@link #record}, ready to be written
+     */
+    private ByteBuffer encode(long time, GameResults res) {
+        List<byte[]> words = new ArrayList<>(res.words().size());
+        int size = HEADER + Integer.BYTES;
+        for (String word : res.words()) {
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            words.add(bytes);
+            size += Integer.BYTES + bytes.length + 1;
+        }
+        if (this.record.capacity() < size + Integer.BYTES) {
+            this.record = ByteBuffer.allocate(Math.max(size + Integer.BYTES, 2 * this.record.capacity()));
+        }
+        ByteBuffer record = this.record.clear();
+        record.putInt(size - Integer.BYTES);
+        record.putLong(time).putLong(res.seed()).put((byte) (res.onReplay() ? 1 : 0));
+        record.putInt(words.size());
+        int i = 0;
+        for (String word : res.words()) {
+            byte[] bytes = words.get(i++);
+            record.putInt(bytes.length).put(bytes).put((byte) (res.words_found().contains(word) ? 1 : 0));
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), Integer.BYTES, size - Integer.BYTES);
+        record.putInt((int) crc.getValue());
+        return record.flip();
+    }
+
+    /**
+     * Reads a record.
+     *
+     * @param buffer Where the record starts. After it, if it's complete and its checksum it's right
+     * @return The record, or {@code null} if it's cut or its checksum it's wrong
+     */
+    private static Entry decode(ByteBuffer buffer) {
+        if (Integer.BYTES > buffer.remaining()) {
+            return null;
+        }
+        int size = buffer.getInt();
+        if (HEADER > size || size + Integer.BYTES > buffer.remaining()) {
+            return null;
+        }
+        ByteBuffer payload = buffer.slice(buffer.position(), size);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        buffer.position(buffer.position() + size);
+        if ((int) crc.getValue() != buffer.getInt()) {
+            return null;
+        }
+        long time = payload.getLong();
+        long seed = payload.getLong();
+        boolean onReplay = 0 != payload.get();
+        int n = payload.getInt();
+        Set<String> words = new LinkedHashSet<>();
+        Set<String> found = new LinkedHashSet<>();
+        for (int i = 0; i < n; i++) {
+            byte[] bytes = new byte[payload.getInt()];
+            payload.get(bytes);
+            String word = new String(bytes, StandardCharsets.UTF_8);
+            words.add(word);
+            if (0 != payload.get()) {
+                found.add(word);
+            }
+        }
+        return new Entry(time, new GameResults(
+                Collections.unmodifiableSet(words),
+                Collections.unmodifiableSet(found),
+                onReplay,
+                seed
+        ));
+    }
+
+    /**
+     * @return Every result saved, in order
+     */
+    public Stream<Entry> stream() {
+        return this.range(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * The results saved in a time, read only when the stream gets to them. The segments are mapped in memory, and in
+     * each only the records from the entry of the index before {@code from} are read.
+     *
+     * @param from The first time, in milliseconds, inclusive
+     * @param to   The last time, in milliseconds, exclusive
+     * @return The results saved from {@code from} to {@code to}, in order
+     */
+    public Stream<Entry> range(long from, long to) {
+        List<Segment> segments = new ArrayList<>();
+        this.lock.lock();
+        try {
+            for (int i = 0; i < this.segments.size(); i++) {
+                Segment segment = this.segments.get(i);
+                boolean after = i + 1 < this.segments.size() && 0 < this.segments.get(i + 1).entries
+                        && this.segments.get(i + 1).times[0] < from;
+                if (0 < segment.entries && segment.times[0] < to && !after) {
+                    segments.add(segment.copy());
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        return segments.stream().flatMap(segment -> segment.scan(from, to));
+    }
+
+    /**
+     * Writes what's not written yet to the disk.
+     *
+     * @throws IOException If it can't be written
+     */
+    public void sync() throws IOException {
+        this.lock.lock();
+        try {
+            if (null != this.data) {
+                this.data.force(false);
+                this.index.force(false);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.closeFiles();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * A result saved.
+     *
+     * @param time    When it was saved, in milliseconds since the epoch
+     * @param results The results
+     */
+    public record Entry(long time, GameResults results) {
+    }
+
+    /**
+     * A file of records and its index.
+     */
+    private static final class Segment {
+        private final int number;
+        private final Path file;
+        private long[] times;
+        private long[] positions;
+        private int entries;
+        private int records;
+        private long size;
+
+        private Segment(int number, Path file) {
+            super();
+            this.number = number;
+            this.file = file;
+            this.times = new long[16];
+            this.positions = new long[16];
+            this.entries = 0;
+            this.records = 0;
+            this.size = 0L;
+        }
+
+        private void add(long time, long position) {
+            if (this.times.length == this.entries) {
+                this.times = Arrays.copyOf(this.times, 2 * this.entries);
+                this.positions = Arrays.copyOf(this.positions, 2 * this.entries);
+            }
+            this.times[this.entries] = time;
+            this.positions[this.entries] = position;
+            ++this.entries;
+        }
+
+        /**
+         * @return The segment as it is now, so it can be read while more records are written
+         */
+        private Segment copy() {
+            Segment copy = new Segment(this.number, this.file);
+            copy.times = Arrays.copyOf(this.times, this.entries);
+            copy.positions = Arrays.copyOf(this.positions, this.entries);
+            copy.entries = this.entries;
+            copy.records = this.records;
+            copy.size = this.size;
+            return copy;
+        }
+
+        /**
+         * @return Where to start reading to find the records from a time
+         */
+        private long start(long from) {
+            // The last entry before the time, because the records before it with the same time may be in the entry
+            // before.
+            int low = 0;
+            int high = this.entries - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (this.times[middle] < from) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return 0 == low ? 0L : this.positions[low - 1];
+        }
+
+        private Stream<Entry> scan(long from, long to) {
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, this.size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.position((int) this.start(from));
+            Spliterator<Entry> records = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super Entry> action) {
+                    while (buffer.hasRemaining()) {
+                        Entry entry = decode(buffer);
+                        if (null == entry) {
+                            throw new IllegalStateException("corrupted record in " + Segment.this.file);
+                        }
+                        if (to <= entry.time()) {
+                            buffer.position(buffer.limit());
+                            return false;
+                        }
+                        if (from <= entry.time()) {
+                            action.accept(entry);
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+            };
+            return StreamSupport.stream(records, false);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package pt.ipbeja.app.model.resultssaver;
+
+import pt.ipbeja.app.model.GameResults;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Numbers about the results of the games, updated with each result saved, in memory that doesn't grow with the
+ * results: how many games, the mean and the percentiles of the percentage of words found, of live games and of
+ * replays, and how often each word it's found.
+ * <p>The percentages are counted in a histogram of {@link #BINS} bins, one for each hundredth of a percent, the
+ * precision the scores are shown with, so a percentile it's found going through the histogram once. How many times
+ * each word was in a game and was found are counted in two count-min sketches, that never count less than the real
+ * number, and count more by at most a small part of all the words counted, whatever the number of different words.</p>
+ * <p>It can be used by many threads at the same time, and {@link #saveAll(Stream)} builds it again from results
+ * already saved, like the ones of a {@link ResultsJournal}.</p>
+ */
+public class ResultsStatistics implements ResultsSaver {
+    /**
+     * The number of bins of the histogram of the percentages, from {@code 0%} to {@code 100%}.
+     */
+    public static final int BINS = 100 * 100 + 1;
+    /**
+     * The default number of counters in each row of the sketches.
+     */
+    public static final int WIDTH = 1 << 15;
+    /**
+     * The default number of rows of the sketches.
+     */
+    public static final int DEPTH = 4;
+
+    private final ReentrantLock lock;
+    private final Summary live;
+    private final Summary replays;
+    private final CountMinSketch shown;
+    private final CountMinSketch found;
+
+    public ResultsStatistics() {
+        this(WIDTH, DEPTH);
+    }
+
+    /**
+     * @param width The number of counters in each row of the sketches, more for less error
+     * @param depth The number of rows of the sketches, more for less probability of error
+     */
+    public ResultsStatistics(int width, int depth) {
+        super();
+        this.lock = new ReentrantLock();
+        this.live = new Summary();
+        this.replays = new Summary();
+        this.shown = new CountMinSketch(width, depth);
+        this.found = new CountMinSketch(width, depth);
+    }
+
+    /**
+     * @param res The results of a game
+     * @return The percentage of the words found, {@code 0} if there were no words
+     */
+    public static double percentFound(GameResults res) {
+        return res.words().isEmpty() ? 0.0 : 100.0 * res.words_found().size() / res.words().size();
+    }
+
+    @Override
+    public void save(GameResults res) {
+        double percent = percentFound(res);
+        this.lock.lock();
+        try {
+            (res.onReplay() ? this.replays : this.live).add(percent);
+            for (String word : res.words()) {
+                long hash = CountMinSketch.hash(word);
+                this.shown.add(hash);
+                if (res.words_found().contains(word)) {
+                    this.found.add(hash);
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Saves many results, streaming them once.
+     *
+     * @param results The results
+     */
+    public void saveAll(Stream<GameResults> results) {
+        results.forEach(this::save);
+    }
+
+    /**
+     * @return The number of games
+     */
+    public long count() {
+        this.lock.lock();
+        try {
+            return this.live.count + this.replays.count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @param onReplay If it's of the replays or of the live games
+     * @return The number of games
+     */
+    public long count(boolean onReplay) {
+        this.lock.lock();
+        try {
+            return (onReplay ? this.replays : this.live).count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return The mean of the percentage of words found, or {@link Double#NaN} if there were no games
+     */
+    public double mean() {
+        this.lock.lock();
+        try {
+            long count = this.live.count + this.replays.count;
+            return 0 == count ? Double.NaN : (this.live.sum + this.replays.sum) / count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @param onReplay If it's of the replays or of the live games
+     * @return The mean of the percentage of words found, or {@link Double#NaN} if there were no games
+     */
+    public double mean(boolean onReplay) {
+        this.lock.lock();
+        try {
+            Summary summary = onReplay ? this.replays : this.live;
+            return 0 == summary.count ? Double.NaN : summary.sum / summary.count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @param quantile From {@code 0} to {@code 1}, like {@code 0.5} for the median
+     * @return The lowest percentage of words found, to a hundredth, that it's at least that part of the games, or
+     * {@link Double#NaN} if there were no games
+     */
+    public double percentile(double quantile) {
+        assert 0.0 <= quantile && quantile <= 1.0;
+        this.lock.lock();
+        try {
+            long count = this.live.count + this.replays.count;
+            if (0 == count) {
+                return Double.NaN;
+            }
+            long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int bin = 0; bin < BINS; bin++) {
+                seen += this.live.histogram[bin] + this.replays.histogram[bin];
+                if (rank <= seen) {
+                    return bin / 100.0;
+                }
+            }
+            return 100.0;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @param word A word
+     * @return How many games had the word, or more, never less
+     */
+    public long timesShown(String word) {
+        this.lock.lock();
+        try {
+            return this.shown.estimate(word);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @param word A word
+     * @return How many games the word was found in, or more, never less
+     */
+    public long timesFound(String word) {
+        this.lock.lock();
+        try {
+            return this.found.estimate(word);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @param word A word
+     * @return The part of the games with the word where it was found, from {@code 0} to {@code 1}, or
+     * {@link Double#NaN} if it was never in a game
+     */
+    public double findRate(String word) {
+        this.lock.lock();
+        try {
+            long shown = this.shown.estimate(word);
+            return 0 == shown ? Double.NaN : Math.min(1.0, (double) this.found.estimate(word) / shown);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * The numbers of the live games or of the replays.
+     */
+    private static final class Summary {
+        private final long[] histogram;
+        private long count;
+        private double sum;
+
+        private Summary() {
+            super();
+            this.histogram = new long[BINS];
+            this.count = 0;
+            this.sum = 0.0;
+        }
+
+        private void add(double percent) {
+            ++this.histogram[(int) Math.round(percent * 100.0)];
+            ++this.count;
+            this.sum += percent;
+        }
+    }
+
+    /**
+     * Counts words in a table of counters, with a row for each hash function. A word adds to one counter of each row,
+     * and how many times it was counted it's the smallest of its counters, which other words may also have added to.
+     * Only the counters that are the smallest are added to (conservative update), so the other words add less.
+     */
+    private static final class CountMinSketch {
+        private final long[][] counters;
+        private final int mask;
+
+        /**
+         * @param width The number of counters in each row, rounded up to a power of two
+         * @param depth The number of rows
+         */
+        private CountMinSketch(int width, int depth) {
+            super();
+            assert 0 < width && 0 < depth;
+            int columns = Integer.highestOneBit(Math.max(1, 2 * width - 1));
+            this.counters = new long[depth][columns];
+            this.mask = columns - 1;
+        }
+
+        /**
+         * A hash of 64 bits of a word, mixing four characters at a time. {@link String#hashCode()} only has 32 bits and
+         * words like {@code "AaBB"} and {@code "BBAa"} have the same, so they would share the counters of every row.
+         */
+        private static long hash(String word) {
+            long h = word.length();
+            int i = 0;
+            for (; i + 4 <= word.length(); i += 4) {
+                long chars = word.charAt(i) | (long) word.charAt(i + 1) << 16
+                        | (long) word.charAt(i + 2) << 32 | (long) word.charAt(i + 3) << 48;
+                h = (h ^ chars) * 0x9E3779B97F4A7C15L;
+                h ^= h >>> 32;
+            }
+            for (; i < word.length(); i++) {
+                h = (h ^ word.charAt(i)) * 0x9E3779B97F4A7C15L;
+                h ^= h >>> 32;
+            }
+            return h;
+        }
+
+        /**
+         * The column of a word in a row, from its hash mixed with the row.
+         */
+        private int column(long hash, int row) {
+            long h = hash + (row + 1) * 0x9E3779B97F4A7C15L;
+            h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+            h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+            h ^= h >>> 31;
+            return (int) h & this.mask;
+        }
+
+        private void add(long hash) {
+            long min = this.estimate(hash);
+            for (int row = 0; row < this.counters.length; row++) {
+                long[] counters = this.counters[row];
+                int column = this.column(hash, row);
+                if (counters[column] == min) {
+                    ++counters[column];
+                }
+            }
+        }
+
+        private long estimate(String word) {
+            return this.estimate(hash(word));
+        }
+
+        private long estimate(long hash) {
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < this.counters.length; row++) {
+                min = Math.min(min, this.counters[row][this.column(hash, row)]);
+            }
+            return min;
+        }
+    }
+}
@@ -1,29 +1,80 @@
 package pt.ipbeja.app.model.wordsprovider;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Gives the lines of many providers, read at the same time.
+ * <p>Each provider given it's read in its own thread into a buffer with a limited size, so when the lines aren't taken
+ * as fast as they are read the threads wait, and a big file it's never all in memory. Taking lines waits until there
+ * are some or until it's closed and every provider ended. It can be used by many threads at the same time.</p>
+ * <p>The lines of each provider keep their order, but the lines of different providers are mixed.</p>
+ */
 public class AggregateWordsProvider implements WordsProvider, AutoCloseable {
-    private final List<String> words;
+    /**
+     * The default number of lines kept in the buffer.
+     */
+    public static final int CAPACITY = 1 << 16;
+    /**
+     * How many lines are taken at once from the providers.
+     */
+    private static final int BATCH = 1 << 12;
+
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+    /**
+     * The lines read and not taken yet, in a ring.
+     */
+    private final String[] buffer;
+    private int head;
+    private int count;
+    /**
+     * The number of providers still being read.
+     */
+    private int producers;
     private boolean closed;
+    private RuntimeException failure;
 
     public AggregateWordsProvider() {
+        this(CAPACITY);
+    }
+
+    /**
+     * @param capacity The maximum number of lines read and not taken yet
+     */
+    public AggregateWordsProvider(int capacity) {
         super();
+        assert 0 < capacity;
+        this.lock = new ReentrantLock();
+        this.notEmpty = this.lock.newCondition();
+        this.notFull = this.lock.newCondition();
+        this.buffer = new String[capacity];
+        this.head = 0;
+        this.count = 0;
+        this.producers = 0;
         this.closed = false;
-
-        this.words = new ArrayList<>();
     }
 
+    /**
+     * Starts reading a provider in a new thread.
+     *
+     * @param provider The provider
+     */
     public void provide(WordsProvider provider) {
-        if (this.closed) {
-            throw new RuntimeException();
+        this.lock.lock();
+        try {
+            if (this.closed) {
+                throw new RuntimeException();
+            }
+            ++this.producers;
+        } finally {
+            this.lock.unlock();
         }
 
-        String line;
-        while (null != (line = provider.getLine())) {
-            this.words.add(line);
-        }
+        Thread thread = new Thread(() -> this.read(provider), "words-provider-" + provider.getClass().getSimpleName());
+        thread.setDaemon(true);
+        thread.start();
     }
 
     public void provide(WordsProvider[] providers) {
@@ -32,23 +83,149 @@ public class AggregateWordsProvider implements WordsProvider, AutoCloseable {
         }
     }
 
+    private void read(WordsProvider provider) {
+        CharSequence[] batch = new CharSequence[Math.min(BATCH, this.buffer.length)];
+        try {
+            int n;
+            while (0 < (n = provider.getLines(batch))) {
+                this.put(batch, n);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            this.lock.lock();
+            try {
+                if (null == this.failure) {
+                    this.failure = e;
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        } finally {
+            this.lock.lock();
+            try {
+                --this.producers;
+                this.notEmpty.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Puts lines in the buffer, waiting while it's full.
+     */
+    private void put(CharSequence[] lines, int n) throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            int i = 0;
+            while (i < n) {
+                while (this.buffer.length == this.count) {
+                    this.notFull.await();
+                }
+                for (; i < n && this.count < this.buffer.length; i++) {
+                    this.buffer[(this.head + this.count++) % this.buffer.length] = lines[i].toString();
+                }
+                this.notEmpty.signalAll();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return If no more lines will be put in the buffer
+     */
+    private boolean ended() {
+        return this.closed && 0 == this.producers;
+    }
+
+    /**
+     * Waits until there are lines or no more will come. If the thread it's interrupted while waiting, it's as if there
+     * were no more lines.
+     *
+     * @return If there are lines to take
+     */
+    private boolean awaitLines() {
+        while (0 == this.count && !this.ended()) {
+            try {
+                this.notEmpty.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        if (0 == this.count && null != this.failure) {
+            throw new IllegalStateException("a provider failed", this.failure);
+        }
+        return 0 < this.count;
+    }
+
+    private String take() {
+        String line = this.buffer[this.head];
+        this.buffer[this.head] = null;
+        this.head = (this.head + 1) % this.buffer.length;
+        --this.count;
+        return line;
+    }
+
     @Override
     public String getLine() {
-        if (this.closed && this.words.isEmpty()) {
-            return null;
+        this.lock.lock();
+        try {
+            if (!this.awaitLines()) {
+                return null;
+            }
+            String line = this.take();
+            this.notFull.signal();
+            return line;
+        } finally {
+            this.lock.unlock();
         }
+    }
 
+    @Override
+    public int getLines(CharSequence[] buffer) {
+        this.lock.lock();
         try {
-            return this.words.remove(0);
-        } catch (NoSuchElementException e) {
-            // TODO: wait until a new word it's provided or provider it's closed
-            this.closed = true;
-            return this.getLine();
+            if (!this.awaitLines()) {
+                return 0;
+            }
+            int n = 0;
+            while (n < buffer.length && 0 < this.count) {
+                buffer[n++] = this.take();
+            }
+            this.notFull.signalAll();
+            return n;
+        } finally {
+            this.lock.unlock();
         }
     }
 
+    /**
+     * @return The number of lines left, if it's closed and every provider ended
+     */
+    @Override
+    public long estimateSize() {
+        this.lock.lock();
+        try {
+            return this.ended() ? this.count : UNKNOWN_SIZE;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * No more providers can be given. The lines of the ones already given can still be taken.
+     */
     @Override
     public void close() {
-        this.closed = true;
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.notEmpty.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
     }
 }
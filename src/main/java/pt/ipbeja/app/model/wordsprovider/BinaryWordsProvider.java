@@ -0,0 +1,52 @@
+package pt.ipbeja.app.model.wordsprovider;
+
+import pt.ipbeja.app.model.BinaryDictionary;
+import pt.ipbeja.app.model.WordStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Gives the words of a {@link BinaryDictionary}, already parsed.
+ *
+ * @see WordsProvider#words()
+ */
+public class BinaryWordsProvider implements WordsProvider {
+    private final BinaryDictionary dictionary;
+    private final Iterator<String> iterator;
+    private int given;
+
+    /**
+     * @param file The dictionary file
+     * @throws IOException If the file can't be read or it's not a dictionary
+     */
+    public BinaryWordsProvider(File file) throws IOException {
+        super();
+        this.dictionary = BinaryDictionary.open(file.toPath());
+        this.iterator = this.dictionary.iterator();
+        this.given = 0;
+    }
+
+    @Override
+    public String getLine() {
+        if (!this.iterator.hasNext()) {
+            return null;
+        }
+        ++this.given;
+        return this.iterator.next();
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.dictionary.size() - this.given;
+    }
+
+    /**
+     * @return The dictionary, if no line was taken yet
+     */
+    @Override
+    public WordStore words() {
+        return 0 == this.given ? this.dictionary : null;
+    }
+}
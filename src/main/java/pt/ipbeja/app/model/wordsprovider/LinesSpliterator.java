@@ -0,0 +1,68 @@
+package pt.ipbeja.app.model.wordsprovider;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * The lines of a {@link WordsProvider} as a {@link Spliterator}. It's split taking a batch of lines from the provider,
+ * each time bigger, so a parallel stream reads the provider in one thread and works on the batches in others.
+ *
+ * @see WordsProvider#lines()
+ */
+final class LinesSpliterator implements Spliterator<CharSequence> {
+    private static final int FIRST_BATCH = 1 << 10;
+    private static final int MAX_BATCH = 1 << 16;
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.NONNULL;
+
+    private final WordsProvider provider;
+    private int batch;
+    private boolean ended;
+
+    LinesSpliterator(WordsProvider provider) {
+        super();
+        this.provider = provider;
+        this.batch = FIRST_BATCH;
+        this.ended = false;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super CharSequence> action) {
+        if (this.ended) {
+            return false;
+        }
+        String line = this.provider.getLine();
+        if (null == line) {
+            this.ended = true;
+            return false;
+        }
+        action.accept(line);
+        return true;
+    }
+
+    @Override
+    public Spliterator<CharSequence> trySplit() {
+        if (this.ended) {
+            return null;
+        }
+        long left = this.provider.estimateSize();
+        CharSequence[] lines = new CharSequence[(int) Math.min(this.batch, Math.max(1L, left))];
+        int n = this.provider.getLines(lines);
+        if (0 == n) {
+            this.ended = true;
+            return null;
+        }
+        this.batch = Math.min(MAX_BATCH, this.batch << 1);
+        return Spliterators.spliterator(lines, 0, n, CHARACTERISTICS);
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.ended ? 0L : this.provider.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+}
@@ -1,18 +1,17 @@
 package pt.ipbeja.app.model.wordsprovider;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 public class ManualWordsProvider implements WordsProvider {
-    private final List<String> words;
+    private final Deque<String> words;
     private boolean closed;
 
     public ManualWordsProvider() {
         super();
         this.closed = false;
 
-        this.words = new ArrayList<>();
+        this.words = new ArrayDeque<>();
     }
 
     public boolean isOpen() {
@@ -35,17 +34,32 @@ public class ManualWordsProvider implements WordsProvider {
 
     @Override
     public String getLine() {
-        if (this.closed && this.words.isEmpty()) {
-            return null;
+        String word = this.words.poll();
+        if (null == word) {
+            // TODO: wait until a new word it's provided or provider it's closed
+            this.closed = true;
         }
+        return word;
+    }
 
-        try {
-            return this.words.remove(0);
-        } catch (NoSuchElementException e) {
-            // TODO: wait until a new word it's provided or provider it's closed
+    @Override
+    public int getLines(CharSequence[] buffer) {
+        int n = 0;
+        while (n < buffer.length && !this.words.isEmpty()) {
+            buffer[n++] = this.words.poll();
+        }
+        if (0 == n) {
             this.closed = true;
-            return this.getLine();
         }
+        return n;
+    }
+
+    /**
+     * @return The number of words left, if it's closed
+     */
+    @Override
+    public long estimateSize() {
+        return this.closed ? this.words.size() : UNKNOWN_SIZE;
     }
 
     public void close() {
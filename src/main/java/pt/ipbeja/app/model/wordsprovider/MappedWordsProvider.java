@@ -0,0 +1,154 @@
+package pt.ipbeja.app.model.wordsprovider;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Gives the lines of an UTF-8 file mapped in memory, for dictionaries too big to read with a
+ * {@link java.util.Scanner}.
+ * <p>The file it's mapped in chunks, because a mapping can't be bigger than 2 GB, and the lines are found looking for
+ * {@code '\n'} directly in the bytes. A line it's only decoded to a {@link String} if it may have a letter of the latin
+ * script, because only those are words for the game, so lines of other scripts are skipped without creating
+ * anything.</p>
+ *
+ * @see DBWordsProvider
+ */
+public class MappedWordsProvider implements WordsProvider, AutoCloseable {
+    /**
+     * The default size of the chunks mapped.
+     */
+    public static final int CHUNK = 1 << 30;
+    /**
+     * The bytes that may be in a latin letter: the ASCII letters and the first byte, in UTF-8, of the ranges with the
+     * other letters of the latin script.
+     */
+    private static final boolean[] MAY_BE_LATIN = new boolean[256];
+
+    static {
+        for (int b = 'A'; b <= 'Z'; b++) {
+            MAY_BE_LATIN[b] = true;
+            MAY_BE_LATIN[Character.toLowerCase(b)] = true;
+        }
+        // U+0080 to U+02FF, with ª, º, the accented letters and the IPA.
+        for (int b = 0xC2; b <= 0xCB; b++) {
+            MAY_BE_LATIN[b] = true;
+        }
+        // U+1xxx, U+2xxx, U+Axxx and U+Fxxx, with latin extended additional, C, D, E, the ligatures and full width.
+        MAY_BE_LATIN[0xE1] = true;
+        MAY_BE_LATIN[0xE2] = true;
+        MAY_BE_LATIN[0xEA] = true;
+        MAY_BE_LATIN[0xEF] = true;
+        // U+10000 to U+3FFFF, with latin extended F and G.
+        MAY_BE_LATIN[0xF0] = true;
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final int chunkSize;
+    private MappedByteBuffer chunk;
+    /**
+     * Where the {@link #chunk} starts in the file.
+     */
+    private long chunkStart;
+    /**
+     * Where the next line starts in the {@link #chunk}.
+     */
+    private int position;
+    /**
+     * Where the lines are copied to be decoded.
+     */
+    private byte[] line;
+
+    /**
+     * @param file The file
+     * @throws IOException If the file can't be opened
+     */
+    public MappedWordsProvider(File file) throws IOException {
+        this(file, CHUNK);
+    }
+
+    /**
+     * @param file      The file
+     * @param chunkSize The biggest size of each chunk mapped, bigger than any line
+     * @throws IOException If the file can't be opened
+     */
+    public MappedWordsProvider(File file, int chunkSize) throws IOException {
+        super();
+        assert 0 < chunkSize;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.size = this.channel.size();
+        this.chunkSize = chunkSize;
+        this.chunkStart = 0;
+        this.position = 0;
+        this.line = new byte[64];
+        this.map(0);
+    }
+
+    private void map(long start) throws IOException {
+        this.chunkStart = start;
+        this.position = 0;
+        this.chunk = this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(this.chunkSize, this.size - start));
+    }
+
+    @Override
+    public String getLine() {
+        try {
+            while (this.channel.isOpen()) {
+                int limit = this.chunk.limit();
+                int start = this.position;
+                int end = start;
+                boolean latin = false;
+                for (byte b; end < limit && '\n' != (b = this.chunk.get(end)); end++) {
+                    latin |= MAY_BE_LATIN[b & 0xFF];
+                }
+                boolean last = this.chunkStart + limit == this.size;
+                if (end == limit && !last && 0 < start) {
+                    // The line goes on in the next chunk.
+                    this.map(this.chunkStart + start);
+                    continue;
+                }
+                if (end == limit && last && start == end) {
+                    this.close();
+                    return null;
+                }
+                String line = latin ? this.decode(start, end) : null;
+                this.position = end < limit ? end + 1 : end;
+                if (end == limit && !last) {
+                    // A line bigger than a chunk it's cut.
+                    this.map(this.chunkStart + end);
+                }
+                if (null != line) {
+                    return line;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    private String decode(int start, int end) {
+        if (start < end && '\r' == this.chunk.get(end - 1)) {
+            --end;
+        }
+        int length = end - start;
+        if (this.line.length < length) {
+            this.line = new byte[Math.max(length, 2 * this.line.length)];
+        }
+        this.chunk.get(start, this.line, 0, length);
+        return new String(this.line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Stops giving lines. The memory it's unmapped when the chunk is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -1,5 +1,79 @@
 package pt.ipbeja.app.model.wordsprovider;
 
+import pt.ipbeja.app.model.BinaryDictionary;
+import pt.ipbeja.app.model.WordStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Gives lines with words, one by one with {@link #getLine()}, or many at once with {@link #getLines(CharSequence[])}
+ * and {@link #lines()}. Only {@link #getLine()} must be implemented, the others use it if not overridden.
+ */
 public interface WordsProvider {
+    /**
+     * What {@link #estimateSize()} returns when it's not known how many lines are left.
+     */
+    long UNKNOWN_SIZE = Long.MAX_VALUE;
+
+    /**
+     * @param file A file with words, as text or as a {@link BinaryDictionary}
+     * @return A provider of the words of the file
+     * @throws IOException If the file can't be read
+     */
+    static WordsProvider ofFile(File file) throws IOException {
+        return BinaryDictionary.isDictionary(file.toPath())
+                ? new BinaryWordsProvider(file)
+                : new MappedWordsProvider(file);
+    }
+
+    /**
+     * @return The next line, or {@code null} if there are no more
+     */
     String getLine();
+
+    /**
+     * Puts the next lines in a buffer.
+     *
+     * @param buffer Where to put the lines, from the start. It must not be empty
+     * @return How many lines were put, {@code 0} only if there are no more
+     */
+    default int getLines(CharSequence[] buffer) {
+        assert 0 < buffer.length;
+        int n = 0;
+        String line;
+        while (n < buffer.length && null != (line = this.getLine())) {
+            buffer[n++] = line;
+        }
+        return n;
+    }
+
+    /**
+     * @return How many lines are left, or more, or {@link #UNKNOWN_SIZE}
+     */
+    default long estimateSize() {
+        return UNKNOWN_SIZE;
+    }
+
+    /**
+     * The lines left, that can be read by many threads: each split takes a batch of them with
+     * {@link #getLines(CharSequence[])}.
+     *
+     * @return The lines left
+     */
+    default Stream<CharSequence> lines() {
+        return StreamSupport.stream(new LinesSpliterator(this), false);
+    }
+
+    /**
+     * The words of the provider already parsed, so they don't need to be parsed again, if it has them. Then its lines
+     * aren't read.
+     *
+     * @return The words, or {@code null}
+     */
+    default WordStore words() {
+        return null;
+    }
 }
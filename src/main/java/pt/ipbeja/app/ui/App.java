@@ -9,7 +9,12 @@ import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import pt.ipbeja.app.model.*;
-import pt.ipbeja.app.model.wordsprovider.DBWordsProvider;
+import pt.ipbeja.app.model.eventlog.GameEvent;
+import pt.ipbeja.app.model.eventlog.GameEventLog;
+import pt.ipbeja.app.model.eventlog.GameEventReader;
+import pt.ipbeja.app.model.resultssaver.AggregateResultsSaver;
+import pt.ipbeja.app.model.resultssaver.AsyncResultsSaver;
+import pt.ipbeja.app.model.resultssaver.ResultsStatistics;
 import pt.ipbeja.app.model.wordsprovider.ManualWordsProvider;
 import pt.ipbeja.app.model.wordsprovider.WordsProvider;
 import pt.ipbeja.app.throwables.*;
@@ -18,23 +23,25 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 
 /**
  * The UI for the game
  */
-public class App extends VBox implements WSView {
+public class App extends VBox implements WSView, AutoCloseable {
     private static final double PERCENT = 100.0;
     private static final String SCORES_FILE = "scores.txt";
+    private static final String EVENTS_DIR = "events";
     private static final String FX_BACKGROUND_COLOR_GREEN = "-fx-background-color: green";
     private final WSModel model;
 
     private final MenuBar menuBar;
     private final Game game;
     private final Menu menu;
+    private final AsyncResultsSaver saver;
+    private final ResultsStatistics statistics;
+    private GameEventLog eventLog;
 
     /**
      * @param stage The JavaFX stage
@@ -64,7 +71,36 @@ public class App extends VBox implements WSView {
         // https://docs.oracle.com/javase/8/javafx/api/javafx/scene/layout/VBox.html
         VBox.setVgrow(centerV, Priority.ALWAYS);
 
-        this.model.setSaver(this::save);
+        this.saver = new AsyncResultsSaver(() -> this.menuBar.getScoreDir().resolve(SCORES_FILE), App::score, false);
+        // The scores file only has the games played, the statistics have the replays too.
+        this.statistics = new ResultsStatistics();
+        this.model.setSaver(new AggregateResultsSaver(this.saver, this.statistics));
+        this.openEventLog();
+    }
+
+    /**
+     * Opens the event log in the log directory chosen in the menu, if it's not there already. It's called before a
+     * game starts, so the events of a game, and of its replays, are all in the same directory.
+     */
+    private void openEventLog() {
+        Path dir = this.getLogDir().resolve(EVENTS_DIR);
+        GameEventLog old = this.eventLog;
+        if (null != old && dir.equals(old.dir())) {
+            return;
+        }
+        try {
+            this.eventLog = new GameEventLog(dir, true);
+        } catch (IOException e) {
+            // Without an event log the game goes on, but its log can't be saved.
+            this.eventLog = null;
+        }
+        this.model.setEventLog(this.eventLog);
+        if (null != old) {
+            try {
+                old.close();
+            } catch (IOException ignored) {
+            }
+        }
     }
 
     private void getOnStartHandler(Stage stage, GameOptions opts, Menu.ProviderMode mode)
@@ -77,11 +113,11 @@ public class App extends VBox implements WSView {
         this.tryToStartGame();
     }
 
-    private static void writeScore(GameResults res, BufferedWriter writer) throws IOException {
-        writer.write(String.format(
+    private static String score(GameResults res) {
+        return String.format(
                 "%.2f%%\n",
                 PERCENT * (double) res.words_found().size() / (double) res.words().size()
-        ));
+        );
     }
 
     private static WordsProvider getProviderFromMode(Menu.ProviderMode mode, Stage stage) {
@@ -108,7 +144,7 @@ public class App extends VBox implements WSView {
         while (true) {
             try {
                 File choose = fileChooser.choose();
-                return new DBWordsProvider(choose);
+                return WordsProvider.ofFile(choose);
             } catch (IOException ignored) {
             } catch (RuntimeException e) {
                 ManualWordsProvider provider = new ManualWordsProvider();
@@ -128,6 +164,7 @@ public class App extends VBox implements WSView {
         while (0 < tries) {
             try {
                 this.game.allowReplay(true);
+                this.openEventLog();
                 this.model.startGame();
                 return;
             } catch (RuntimeException e) {
@@ -182,7 +219,6 @@ public class App extends VBox implements WSView {
         this.game.getBoard().buildGUI();
         this.game.setVisible(true);
         this.menu.setVisible(false);
-        this.game.resetGameLog();
         this.menuBar.permitHints(true);
     }
 
@@ -249,7 +285,7 @@ public class App extends VBox implements WSView {
     }
 
     private void decideWhatIsNext(GameResults res) {
-        String resultsString = resultsString(res);
+        String resultsString = resultsString(res) + this.statisticsString();
 
         this.game.log(resultsString);
         GameEndedAlert dialog = new GameEndedAlert(this, resultsString);
@@ -265,6 +301,7 @@ public class App extends VBox implements WSView {
                 case NEXT_FORWARD -> {
                     try {
                         moreWordsQuestion();
+                        this.openEventLog();
                         this.model.startGame();
                     } catch (NoWordsException | CouldNotPopulateMatrixException | InvalidInGameChangeException |
                              NoDimensionsDefinedException e) {
@@ -283,27 +320,22 @@ public class App extends VBox implements WSView {
     }
 
     private static String resultsString(GameResults res) {
-        StringBuilder builder = new StringBuilder();
-        builder.append("\twords found:\t")
-                .append(res.words_found().size())
-                .append("\n\ttotal of words:\t")
-                .append(res.words().size())
-                .append("\n\tpercentage of words found:\t")
-                .append(String.format(
-                        "%.2f%%\n", PERCENT * (double) res.words_found().size() / (double) res.words().size()
-                ))
-                .append("\n")
-                .append("words in game:\n");
-
-        for (String word : res.words()) {
-            builder.append("\t")
-                    .append(res.words_found().contains(word) ? "+" : "-")
-                    .append(" ")
-                    .append(word)
-                    .append("\n");
+        return GameEvent.Ended.describe(res);
+    }
+
+    /**
+     * @return The mean of the words found in the games and in the replays since the game was opened
+     */
+    private String statisticsString() {
+        StringBuilder text = new StringBuilder();
+        for (boolean onReplay : new boolean[]{false, true}) {
+            if (0 < this.statistics.count(onReplay)) {
+                text.append(String.format("\tmean of the %s:\t%.2f%% in %d\n",
+                        onReplay ? "replays" : "games", this.statistics.mean(onReplay),
+                        this.statistics.count(onReplay)));
+            }
         }
-        builder.append("\n");
-        return builder.toString();
+        return text.toString();
     }
 
     private static void moreWordsQuestion() {
@@ -317,20 +349,19 @@ public class App extends VBox implements WSView {
     }
 
     /**
-     * Creates the current game log
+     * Creates the current game log, in the log directory chosen now, from the events in the directory the game
+     * started with
      */
     void saveGameLog() {
+        if (null == this.eventLog) {
+            return;
+        }
         // https://stackoverflow.com/questions/732034/getting-unixtime-in-java
         long now = System.currentTimeMillis();
         try (BufferedWriter writer = Files.newBufferedWriter(
                 this.getLogDir().resolve("log_" + now + ".md")
         )) {
-            writer.write(String.format(
-                    "# Date\n%d\n\n# Matrix\n%s\n# Logs\n```\n%s```\n",
-                    now,
-                    this.matrixToString(),
-                    this.game.getLog()
-            ));
+            GameEventReader.writeMarkdown(this.eventLog.dir(), now, writer);
         } catch (IOException ignored) {
         }
     }
@@ -340,6 +371,11 @@ public class App extends VBox implements WSView {
         Platform.runLater(() -> this.clickRunnable(pos));
     }
 
+    @Override
+    public void execute(Runnable task) {
+        Platform.runLater(task);
+    }
+
     private void clickRunnable(Position pos) {
         try {
             String word = this.model.findWord(pos);
@@ -359,23 +395,17 @@ public class App extends VBox implements WSView {
         return this.menuBar.getLogDir();
     }
 
-    private String matrixToString() {
-        return this.model.matrixToString();
-    }
-
-    private void save(GameResults res) {
-        Path dir = this.menuBar.getScoreDir();
-        try (BufferedWriter writer = Files.newBufferedWriter(
-                dir.resolve(SCORES_FILE),
-                StandardOpenOption.APPEND
-        )) {
-            writeScore(res, writer);
-        } catch (NoSuchFileException e) {
-            try (BufferedWriter writer = Files.newBufferedWriter(dir.resolve(SCORES_FILE))) {
-                writeScore(res, writer);
+    /**
+     * Writes the scores of the games that ended and weren't written yet.
+     */
+    @Override
+    public void close() {
+        this.saver.close();
+        if (null != this.eventLog) {
+            try {
+                this.eventLog.close();
             } catch (IOException ignored) {
             }
-        } catch (IOException ignored) {
         }
     }
 }
@@ -10,6 +10,10 @@ import pt.ipbeja.app.model.Word;
 
 public class Game extends HBox {
     private static final double SAVE_LOG_BTN_WIDTH = 200.0;
+    /**
+     * How many characters of the log are shown, the last ones. The whole log it's in the event log of the model.
+     */
+    private static final int MAX_LOG_CHARS = 1 << 16;
     private final App app;
     private final WSBoard board;
     private final TextArea log;
@@ -18,8 +22,6 @@ public class Game extends HBox {
     private final Button end;
     private final ConfirmationAlert endGameConfirmation;
 
-    private StringBuilder gameLog;
-
     public Game(App app, WSModel model) {
         super();
         this.app = app;
@@ -50,8 +52,6 @@ public class Game extends HBox {
         VBox log = new VBox(top, this.log);
         this.getChildren().addAll(board, log);
         this.setAlignment(Pos.CENTER);
-
-        this.gameLog = new StringBuilder();
     }
 
     public WSBoard getBoard() {
@@ -60,21 +60,16 @@ public class Game extends HBox {
 
     public void log(String msg) {
         this.log.appendText(msg);
-        this.gameLog.append(msg);
-    }
-
-    public String getLog() {
-        return this.gameLog.toString();
+        int excess = this.log.getLength() - MAX_LOG_CHARS;
+        if (0 < excess) {
+            this.log.deleteText(0, excess);
+        }
     }
 
     public void points(Word word) {
         this.points.setText(String.format("\"%s\" = %d pontos.", word.word(), word.points()));
     }
 
-    public void resetGameLog() {
-        this.gameLog = new StringBuilder();
-    }
-
     public void allowReplay(boolean allow) {
         this.end.setVisible(allow);
     }
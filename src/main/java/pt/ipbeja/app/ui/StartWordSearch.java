@@ -17,6 +17,8 @@ public class StartWordSearch extends Application {
 
     public static final String TITLE = "TicTacToe";
 
+    private App app;
+
     public static void main(String[] args) {
         Application.launch(args);
     }
@@ -24,7 +26,15 @@ public class StartWordSearch extends Application {
     @Override
     public void start(Stage primaryStage) {
         primaryStage.setTitle(TITLE);
-        primaryStage.setScene(new Scene(new App(primaryStage), WIDTH, HEIGHT));
+        this.app = new App(primaryStage);
+        primaryStage.setScene(new Scene(this.app, WIDTH, HEIGHT));
         primaryStage.show();
     }
+
+    @Override
+    public void stop() {
+        if (null != this.app) {
+            this.app.close();
+        }
+    }
 }
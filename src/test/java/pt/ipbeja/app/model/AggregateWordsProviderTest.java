@@ -0,0 +1,98 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.app.model.wordsprovider.AggregateWordsProvider;
+import pt.ipbeja.app.model.wordsprovider.WordsProvider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregateWordsProviderTest {
+    private static final int CAPACITY = 16;
+    private static final int LINES = 1_000;
+
+    /**
+     * A provider of the lines {@code name + 0} to {@code name + (LINES - 1)}, counting how many were read.
+     */
+    private static WordsProvider counting(String name, AtomicInteger read) {
+        return () -> {
+            int i = read.getAndIncrement();
+            return LINES > i ? name + i : null;
+        };
+    }
+
+    @Test
+    void slowConsumerDoesNotBufferEverything() throws InterruptedException {
+        AtomicInteger readA = new AtomicInteger();
+        AtomicInteger readB = new AtomicInteger();
+        AggregateWordsProvider aggregate = new AggregateWordsProvider(CAPACITY);
+        aggregate.provide(new WordsProvider[]{counting("A", readA), counting("B", readB)});
+        aggregate.close();
+
+        Thread.sleep(200L);
+        // Each reader waits with the buffer full and, at most, a batch of the buffer's size in its hands.
+        assertTrue(readA.get() + readB.get() <= 3 * CAPACITY, readA.get() + " + " + readB.get());
+
+        List<String> lines = new ArrayList<>();
+        String line;
+        while (null != (line = aggregate.getLine())) {
+            lines.add(line);
+        }
+        assertEquals(2 * LINES, lines.size());
+        // The lines of each provider keep their order.
+        Map<Character, Integer> next = new HashMap<>();
+        for (String l : lines) {
+            int expected = next.getOrDefault(l.charAt(0), 0);
+            assertEquals(expected, Integer.parseInt(l.substring(1)), l);
+            next.put(l.charAt(0), expected + 1);
+        }
+        assertNull(aggregate.getLine());
+    }
+
+    @Test
+    void consumersWaitForTheProviders() throws InterruptedException {
+        AggregateWordsProvider aggregate = new AggregateWordsProvider(CAPACITY);
+        AtomicInteger taken = new AtomicInteger();
+        List<Thread> consumers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread consumer = new Thread(() -> {
+                CharSequence[] buffer = new CharSequence[5];
+                int n;
+                while (0 < (n = aggregate.getLines(buffer))) {
+                    taken.addAndGet(n);
+                }
+            });
+            consumer.start();
+            consumers.add(consumer);
+        }
+        // Nothing was provided yet, so the consumers are waiting.
+        Thread.sleep(50L);
+        assertEquals(0, taken.get());
+        for (int i = 0; i < 3; i++) {
+            aggregate.provide(counting("P" + i, new AtomicInteger()));
+        }
+        aggregate.close();
+        assertThrows(RuntimeException.class, () -> aggregate.provide(counting("late", new AtomicInteger())));
+        for (Thread consumer : consumers) {
+            consumer.join(10_000L);
+            assertFalse(consumer.isAlive());
+        }
+        assertEquals(3 * LINES, taken.get());
+    }
+
+    @Test
+    void failuresReachTheConsumer() {
+        AggregateWordsProvider aggregate = new AggregateWordsProvider();
+        aggregate.provide(() -> {
+            throw new IllegalArgumentException("broken");
+        });
+        aggregate.close();
+        IllegalStateException e = assertThrows(IllegalStateException.class, aggregate::getLine);
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    }
+}
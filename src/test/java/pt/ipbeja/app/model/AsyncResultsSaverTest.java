@@ -0,0 +1,119 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pt.ipbeja.app.model.resultssaver.AsyncResultsSaver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncResultsSaverTest {
+    private static GameResults results(long seed) {
+        return new GameResults(Set.of("A", "B"), Set.of("A"), false, seed);
+    }
+
+    @Test
+    void writesEveryResultInOrder(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("scores.txt");
+        try (AsyncResultsSaver saver = new AsyncResultsSaver(() -> file, res -> res.seed() + "\n", true)) {
+            for (int i = 0; i < 1000; i++) {
+                saver.save(results(i));
+            }
+            saver.flush();
+            assertEquals(1000, saver.written());
+            assertEquals(0, saver.queueDepth());
+            assertEquals(0, saver.dropped());
+            assertEquals(0, saver.failures());
+        }
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(1000, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(Integer.toString(i), lines.get(i));
+        }
+    }
+
+    @Test
+    void replaysAreNotWritten(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("scores.txt");
+        AsyncResultsSaver saver = new AsyncResultsSaver(() -> file, res -> res.seed() + "\n", false);
+        saver.save(results(1));
+        saver.save(new GameResults(Set.of("A", "B"), Set.of("A", "B"), true, 1L));
+        saver.close();
+        assertEquals(List.of("1"), Files.readAllLines(file));
+        assertEquals(1, saver.written());
+        assertEquals(0, saver.dropped());
+    }
+
+    @Test
+    void closeWritesTheResultsWaiting(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("scores.txt");
+        Files.writeString(file, "old\n");
+        AsyncResultsSaver saver = new AsyncResultsSaver(() -> file, res -> res.seed() + "\n", false);
+        saver.save(results(1));
+        saver.save(results(2));
+        saver.close();
+        saver.save(results(3));
+        assertEquals(List.of("old", "1", "2"), Files.readAllLines(file));
+        assertEquals(2, saver.written());
+        assertEquals(1, saver.dropped());
+    }
+
+    @Test
+    void aResultSavedWhileClosingIsWrittenOrDropped(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("scores.txt");
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        AsyncResultsSaver saver = new AsyncResultsSaver(() -> {
+            saving.countDown();
+            try {
+                closed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return file;
+        }, res -> res.seed() + "\n", false);
+        Thread thread = new Thread(() -> saver.save(results(1)));
+        thread.start();
+        saving.await();
+        saver.close();
+        closed.countDown();
+        thread.join();
+        assertEquals(1, saver.written() + saver.dropped());
+        assertEquals(0, saver.queueDepth());
+    }
+
+    @Test
+    void dropsWhenFullAndCountsFailures(@TempDir Path dir) throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // A directory can't be written as a file.
+        AsyncResultsSaver saver = new AsyncResultsSaver(() -> dir, res -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "\n";
+        }, false, 2);
+        saver.save(results(1));
+        writing.await();
+        saver.save(results(2));
+        saver.save(results(3));
+        saver.save(results(4));
+        assertEquals(2, saver.queueDepth());
+        assertEquals(1, saver.dropped());
+
+        release.countDown();
+        saver.close();
+        assertEquals(3, saver.failures());
+        assertEquals(0, saver.written());
+        assertNotNull(saver.lastFailure());
+    }
+}
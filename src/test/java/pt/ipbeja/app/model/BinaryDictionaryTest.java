@@ -0,0 +1,115 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pt.ipbeja.app.model.wordsprovider.WordsProvider;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryDictionaryTest {
+    @Test
+    void sameWordsAsTheText(@TempDir Path dir) throws IOException {
+        List<String> lines = new ArrayList<>(List.of("café crème", "CAFE", "cafeteria", "ÇA", "zebra", "ǅemal"));
+        for (int i = 0; i < 100; i++) {
+            lines.add("word" + (char) ('a' + i % 26) + (char) ('a' + i / 26));
+        }
+        Path text = dir.resolve("words.txt");
+        Files.write(text, lines, StandardCharsets.UTF_8);
+        Path binary = dir.resolve("words.dict");
+
+        BinaryDictionary dictionary = DictionaryCompiler.compile(WordsProvider.ofFile(text.toFile()), binary);
+        assertTrue(BinaryDictionary.isDictionary(binary));
+        assertFalse(BinaryDictionary.isDictionary(text));
+
+        WSModel fromText = new WSModel();
+        fromText.setWords(WordsProvider.ofFile(text.toFile()), false);
+        WSModel fromBinary = new WSModel();
+        fromBinary.setWords(WordsProvider.ofFile(binary.toFile()), false);
+        assertEquals(List.copyOf(fromText.getWords()), List.copyOf(fromBinary.getWords()));
+        assertEquals(List.copyOf(fromText.getWords()), List.copyOf(dictionary));
+
+        String[] words = fromText.getWords().toArray(String[]::new);
+        for (int i = 0; i < words.length; i++) {
+            assertEquals(words[i], dictionary.get(i));
+            assertEquals(i, dictionary.indexOf(words[i]));
+            // Just after and just before the word.
+            String after = words[i] + "A";
+            assertEquals(Arrays.binarySearch(words, after), dictionary.indexOf(after), after);
+            String before = words[i].substring(0, words[i].length() - 1);
+            assertEquals(Arrays.binarySearch(words, before), dictionary.indexOf(before), before);
+        }
+        assertFalse(dictionary.contains("WORD"));
+        assertTrue(dictionary.contains("CAFÉ"));
+        assertArrayEquals(WordStore.of(words.clone()).letterCounts(), dictionary.letterCounts());
+        assertEquals(1, dictionary.wordsWithLength(2));
+        assertEquals(9, dictionary.maxLength());
+    }
+
+    @Test
+    void wordsByLengthAreReadFromTheFile(@TempDir Path dir) throws IOException {
+        String[] words = {"ZEBRA", "CAT", "DOG", "ELEPHANT", "ANT", "HORSE", "BEE", "GIRAFFE", "OX"};
+        Path file = dir.resolve("words.dict");
+        BinaryDictionary.write(WordStore.of(words.clone()), file);
+        BinaryDictionary dictionary = BinaryDictionary.open(file);
+        LengthIndex mapped = new LengthIndex(dictionary);
+        LengthIndex decoded = new LengthIndex(WordStore.of(words.clone()));
+        for (int min = 0; min <= 9; min++) {
+            for (int max = min; max <= 9; max++) {
+                assertEquals(decoded.count(min, max), mapped.count(min, max));
+                assertEquals(decoded.words(min, max), mapped.words(min, max));
+            }
+        }
+        assertEquals(0, dictionary.wordsOfLength(4).limit());
+        assertEquals(0, dictionary.wordsOfLength(10).limit());
+        assertEquals(4, dictionary.wordsOfLength(3).limit());
+    }
+
+    @Test
+    void corruptedFilesAreNotOpened(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("words.dict");
+        BinaryDictionary.write(WordStore.of(new String[]{"DOG", "CAT"}), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - Long.BYTES - 1] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> BinaryDictionary.open(file));
+    }
+
+    @Test
+    void cutFilesAreNotOpened(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("words.dict");
+        BinaryDictionary.write(WordStore.of(new String[]{"DOG", "CAT"}), file);
+        byte[] bytes = Files.readAllBytes(file);
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(file, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> BinaryDictionary.open(file));
+        }
+    }
+
+    @Test
+    void wrongSizesAreNotTrusted(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("words.dict");
+        BinaryDictionary.write(WordStore.of(new String[]{"DOG", "CAT"}), file);
+        byte[] bytes = Files.readAllBytes(file);
+        // The size of the dictionary, its longest word and a huge longest word, each with a right CRC.
+        int[][] changes = {{8, -1}, {16, -1}, {16, Integer.MAX_VALUE - 1}, {8, Integer.MAX_VALUE}};
+        for (int[] change : changes) {
+            ByteBuffer changed = ByteBuffer.wrap(bytes.clone());
+            changed.putInt(change[0], change[1]);
+            CRC32C crc = new CRC32C();
+            crc.update(changed.array(), 0, bytes.length - Long.BYTES);
+            changed.putLong(bytes.length - Long.BYTES, crc.getValue());
+            Files.write(file, changed.array());
+            assertThrows(IOException.class, () -> BinaryDictionary.open(file));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.app.model.wordsprovider.ManualWordsProvider;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardPoolTest {
+    static final long TIMEOUT_MILLIS = 10_000L;
+
+    static BoardSettings settings(int side) {
+        return new BoardSettings(side, side, 0, 1, 0, Set.of(WordOrientations.HORIZONTAL),
+                GenerationStrategy.GREEDY, FillStrategy.RANDOM, false, 1, 0L);
+    }
+
+    @Test
+    void takeAndRefill() throws InterruptedException {
+        AtomicInteger generated = new AtomicInteger();
+        try (BoardPool pool = new BoardPool(2, s -> {
+            generated.incrementAndGet();
+            return new GeneratedBoard(s.lines(), s.cols(), 0L);
+        })) {
+            BoardSettings small = settings(WSModel.MIN_SIDE_LEN);
+            assertNull(pool.take(small));
+            assertTrue(pool.awaitRefills(TIMEOUT_MILLIS));
+            assertEquals(2, pool.ready(small));
+            assertEquals(0, pool.ready(settings(WSModel.MAX_SIDE_LEN)));
+
+            GeneratedBoard board = pool.take(small);
+            assertNotNull(board);
+            assertEquals(WSModel.MIN_SIDE_LEN, board.grid().lines());
+            assertTrue(pool.awaitRefills(TIMEOUT_MILLIS));
+            assertEquals(2, pool.ready(small));
+            assertEquals(3, generated.get());
+            assertEquals(1, pool.hits());
+            assertEquals(1, pool.misses());
+            assertEquals(0.5, pool.hitRate());
+            assertEquals(3, pool.refills());
+
+            BoardSettings large = settings(WSModel.MAX_SIDE_LEN);
+            pool.fill(large);
+            assertTrue(pool.awaitRefills(TIMEOUT_MILLIS));
+            pool.retain(large);
+            assertEquals(0, pool.ready(small));
+            assertEquals(2, pool.ready(large));
+
+            pool.invalidate();
+            assertEquals(0, pool.ready(large));
+        }
+    }
+
+    @Test
+    void modelStartsGamesFromThePool() throws Exception {
+        ManualWordsProvider provider = new ManualWordsProvider();
+        provider.provide(new String[]{"TEST", "WORDS", "MATRIX"});
+        provider.close();
+        WSModel model = new WSModel(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, provider);
+        model.setBoardPoolSize(2);
+        BoardPool pool = model.getBoardPool();
+        assertTrue(pool.awaitRefills(TIMEOUT_MILLIS));
+
+        for (int i = 0; i < 3; i++) {
+            model.startGame();
+            assertEquals(3, model.wordsInUse());
+            model.endGame();
+            assertTrue(pool.awaitRefills(TIMEOUT_MILLIS));
+        }
+        assertEquals(3, pool.hits());
+        assertEquals(0, pool.misses());
+
+        provider = new ManualWordsProvider();
+        provider.provide("OTHER");
+        provider.close();
+        model.setWords(provider, false);
+        assertTrue(pool.awaitRefills(TIMEOUT_MILLIS));
+        model.startGame();
+        assertEquals(Set.of("OTHER"), model.curGameResults().words());
+        model.endGame();
+        model.setBoardPoolSize(0);
+    }
+
+    @Test
+    void optionsFillThePoolWithTheirOrientations() throws Exception {
+        ManualWordsProvider provider = new ManualWordsProvider();
+        provider.provide(new String[]{"TEST", "WORDS", "MATRIX"});
+        provider.close();
+        WSModel model = new WSModel(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, provider);
+        model.setBoardPoolSize(2);
+        BoardPool pool = model.getBoardPool();
+        assertTrue(pool.awaitRefills(TIMEOUT_MILLIS));
+
+        GameOptions options = model.getOptions();
+        options.addOrientationAllowed(WordOrientations.DIAGONAL);
+        provider = new ManualWordsProvider();
+        provider.provide(new String[]{"TEST", "WORDS", "MATRIX"});
+        provider.close();
+        options.setProvider(provider);
+        model.setOptions(options);
+        assertTrue(pool.awaitRefills(TIMEOUT_MILLIS));
+
+        model.startGame();
+        model.endGame();
+        assertEquals(1, pool.hits());
+        assertEquals(0, pool.misses());
+        // The options' orientations are copied, so the model can still change its own.
+        model.disallowWordOrientation(WordOrientations.DIAGONAL);
+        assertTrue(options.getOrientationsAllowed().contains(WordOrientations.DIAGONAL));
+        model.setBoardPoolSize(0);
+    }
+}
@@ -0,0 +1,95 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.app.model.wordsprovider.ManualWordsProvider;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardSolverTest {
+    /**
+     * The same occurrence, wherever it was read from.
+     */
+    static WordOccurrence normalized(WordOccurrence occurrence) {
+        String reversed = new StringBuilder(occurrence.word()).reverse().toString();
+        Position start = occurrence.start();
+        Position end = occurrence.end();
+        boolean swap = reversed.equals(occurrence.word())
+                && (start.line() > end.line() || start.line() == end.line() && start.col() > end.col());
+        return swap ? new WordOccurrence(occurrence.word(), end, start) : occurrence;
+    }
+
+    static Set<WordOccurrence> bruteForce(LettersGrid grid, List<String> words) {
+        Set<WordOccurrence> found = new HashSet<>();
+        for (int line = 0; line < grid.lines(); line++) {
+            for (int col = 0; col < grid.cols(); col++) {
+                for (int[] dir : CollisionFreeFillerTest.DIRECTIONS) {
+                    for (String word : words) {
+                        int k = 0;
+                        int l = line;
+                        int c = col;
+                        while (k < word.length() && 0 <= l && l < grid.lines() && 0 <= c && c < grid.cols()
+                                && grid.hasReal(grid.index(l, c), word.charAt(k))) {
+                            ++k;
+                            l += dir[0];
+                            c += dir[1];
+                        }
+                        if (k == word.length()) {
+                            Position end = new Position(l - dir[0], c - dir[1]);
+                            found.add(normalized(new WordOccurrence(word, new Position(line, col), end)));
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    @Test
+    void findsTheSameAsBruteForce() {
+        SplittableRandom random = new SplittableRandom(7L);
+        List<String> words = new ArrayList<>(List.of("A", "ABA", "AB", "BAC", "CCC", "ABCA", "CAB"));
+        BoardSolver solver = new BoardSolver(words);
+        for (int[] size : new int[][]{{1, 1}, {1, 9}, {9, 1}, {5, 8}, {40, 30}}) {
+            LettersGrid grid = new LettersGrid(size[0], size[1]);
+            for (int idx = 0; idx < grid.size(); idx++) {
+                grid.put(idx, (char) random.nextInt('A', 'D'));
+            }
+            List<WordOccurrence> found = solver.solve(grid);
+            Set<WordOccurrence> normalized = new HashSet<>();
+            found.forEach(occurrence -> normalized.add(normalized(occurrence)));
+            assertEquals(found.size(), normalized.size());
+            assertEquals(bruteForce(grid, words), normalized);
+        }
+    }
+
+    @Test
+    void checksTheReals() {
+        LettersGrid grid = new LettersGrid(1, 4);
+        for (int i = 0; i < 4; i++) {
+            grid.put(i, "CAFE".charAt(i));
+        }
+        BoardSolver solver = new BoardSolver(List.of("CAFÉ", "EFAC"));
+        assertEquals(List.of(new WordOccurrence("EFAC", new Position(0, 3), new Position(0, 0))), solver.solve(grid));
+        grid.put(3, 'É');
+        assertEquals(2, solver.solve(grid).size());
+    }
+
+    @Test
+    void solvesTheGameBoard() {
+        ManualWordsProvider provider = new ManualWordsProvider();
+        provider.provide(new String[]{"TEST", "WORDS", "MATRIX", "BOARDS"});
+        provider.close();
+        WSModel model = new WSModel(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, provider);
+        assertTrue(model.solveBoard().isEmpty());
+        assertDoesNotThrow(model::startGame);
+        Set<String> found = new HashSet<>();
+        model.solveBoard().forEach(occurrence -> found.add(occurrence.word()));
+        assertEquals(model.wordsInUse(), found.size());
+    }
+}
@@ -0,0 +1,81 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CollisionFreeFillerTest {
+    static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}, {0, -1}, {-1, 0}, {-1, -1}, {-1, 1}};
+
+    /**
+     * Counts the copies of a word in every direction, by brute force.
+     */
+    static int occurrences(LettersGrid grid, String word) {
+        int count = 0;
+        for (int line = 0; line < grid.lines(); line++) {
+            for (int col = 0; col < grid.cols(); col++) {
+                for (int[] dir : DIRECTIONS) {
+                    int k = 0;
+                    int l = line;
+                    int c = col;
+                    while (k < word.length() && 0 <= l && l < grid.lines() && 0 <= c && c < grid.cols()
+                            && grid.letter(grid.index(l, c)) == word.charAt(k)) {
+                        ++k;
+                        l += dir[0];
+                        c += dir[1];
+                    }
+                    if (k == word.length()) {
+                        ++count;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void automatonFindsOverlappingWords() {
+        WordsAutomaton automaton = new WordsAutomaton(List.of("HE", "SHE", "HERS"), false);
+        assertEquals(4, automaton.maxLength());
+        int state = WordsAutomaton.ROOT;
+        String text = "USHERS";
+        int[] expected = {0, 0, 0, 3, 0, 4};
+        for (int i = 0; i < text.length(); i++) {
+            state = automaton.next(state, text.charAt(i));
+            assertEquals(expected[i], automaton.longest(state));
+        }
+        WordsAutomaton reversed = new WordsAutomaton(List.of("CAFÉ"), true);
+        state = WordsAutomaton.ROOT;
+        for (char letter : "EFAC".toCharArray()) {
+            state = reversed.next(state, letter);
+        }
+        assertEquals(4, reversed.longest(state));
+    }
+
+    @Test
+    void everyWordOnlyOnce() {
+        List<String> words = List.of("AB", "CD", "EFE", "GHI");
+        for (long seed = 0; seed < 20; seed++) {
+            GeneratedBoard board = new GeneratedBoard(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, seed);
+            board.place("AB", board.grid().index(0, 0), 1);
+            board.place("CD", board.grid().index(3, 3), board.grid().cols());
+            board.place("EFE", board.grid().index(5, 5), board.grid().cols() + 1);
+            board.place("GHI", board.grid().index(9, 2), -1);
+            WordsAutomaton automaton = new WordsAutomaton(board.words(), true);
+            int collisions = new CollisionFreeFiller(board.grid(), automaton, LetterSampler.uniform()).fill(new SplittableRandom(seed));
+            assertEquals(0, collisions);
+            for (int idx = 0; idx < board.grid().size(); idx++) {
+                assertFalse(board.grid().isEmpty(idx));
+            }
+            for (String word : words) {
+                String reversed = new StringBuilder(word).reverse().toString();
+                // A palindrome it's found forwards and backwards in the same place.
+                int expected = word.equals(reversed) ? 2 : 1;
+                assertEquals(expected, occurrences(board.grid(), word), word);
+            }
+        }
+    }
+}
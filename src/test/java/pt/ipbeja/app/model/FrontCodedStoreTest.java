@@ -0,0 +1,64 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrontCodedStoreTest {
+    private static List<String> words() {
+        TreeSet<String> words = new TreeSet<>(List.of("CAFE", "CAFÉ", "CAFETERIA", "A", "ÁRVORE", "ÇA", "ZEBRA"));
+        for (int i = 0; i < 100; i++) {
+            words.add("WORD" + (char) ('A' + i % 26) + i);
+        }
+        return new ArrayList<>(words);
+    }
+
+    @Test
+    void keepsTheWordsInOrder() {
+        List<String> words = words();
+        WordStore store = WordStore.of(words.toArray(String[]::new)).compact();
+        assertInstanceOf(FrontCodedStore.class, store);
+        assertSame(store, store.compact());
+        assertEquals(words.size(), store.size());
+        assertEquals(words, List.copyOf(store));
+        for (int i = 0; i < words.size(); i++) {
+            assertEquals(words.get(i), store.get(i));
+            assertEquals(i, store.indexOf(words.get(i)));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(words.size()));
+    }
+
+    @Test
+    void findsWhereMissingWordsWouldBe() {
+        List<String> words = words();
+        WordStore store = WordStore.of(words.toArray(String[]::new)).compact();
+        for (String missing : new String[]{"", "0", "CAF", "CAFEZ", "WORDA0A", "ZZZ", "Ž"}) {
+            assertEquals(Collections.binarySearch(words, missing), store.indexOf(missing), missing);
+            assertFalse(store.contains(missing));
+        }
+    }
+
+    @Test
+    void mergesAndRemovesFrontCoded() {
+        WordStore some = WordStore.of(new String[]{"DOG", "CAT", "ANT"});
+        WordStore other = WordStore.of(new String[]{"EMU", "CAT", "BEE"});
+        WordStore merged = some.merge(other);
+        assertInstanceOf(FrontCodedStore.class, merged);
+        assertEquals(List.of("ANT", "BEE", "CAT", "DOG", "EMU"), List.copyOf(merged));
+        assertEquals(List.of("ANT", "DOG"), List.copyOf(merged.minus(other)));
+        assertEquals(List.of("BEE", "EMU"), List.copyOf(merged.minus(some).compact()));
+    }
+
+    @Test
+    void takesFewerBytesThanTheWords() {
+        List<String> words = words();
+        FrontCodedStore store = (FrontCodedStore) WordStore.of(words.toArray(String[]::new)).compact();
+        long letters = words.stream().mapToLong(String::length).sum();
+        assertTrue(store.bytes() < letters, store.bytes() + " bytes");
+    }
+}
@@ -0,0 +1,143 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pt.ipbeja.app.model.eventlog.GameEvent;
+import pt.ipbeja.app.model.eventlog.GameEventLog;
+import pt.ipbeja.app.model.eventlog.GameEventReader;
+import pt.ipbeja.app.model.wordsprovider.ManualWordsProvider;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventLogTest {
+    /**
+     * @return A game with every kind of event, starting at {@code time}
+     */
+    private static List<GameEvent> game(long time, long seed) {
+        GameResults results = new GameResults(Set.of("CAFÉ", "DOG"), Set.of("CAFÉ"), false, seed);
+        return List.of(
+                new GameEvent.Started(time, seed, false, 2, 4, "C A F É\nD O G X\n"),
+                new GameEvent.Click(time + 1500, new Position(0, 0), 'C'),
+                new GameEvent.Click(time + 2000, new Position(0, 3), 'É'),
+                new GameEvent.WordFound(time + 2000, new Position(0, 0), new Position(0, 3), "CAFÉ"),
+                new GameEvent.Hint(time + 9000, new Position(1, 0)),
+                new GameEvent.Ended(time + 60_000, results)
+        );
+    }
+
+    private static List<GameEvent> events(Path dir) throws IOException {
+        try (Stream<GameEvent> events = GameEventReader.events(dir)) {
+            return events.toList();
+        }
+    }
+
+    @Test
+    void readsTheEventsBack(@TempDir Path dir) throws IOException {
+        for (boolean gzip : new boolean[]{false, true}) {
+            Path events = dir.resolve("gzip-" + gzip);
+            List<GameEvent> written = new ArrayList<>(game(1_700_000_000_000L, 42L));
+            written.addAll(game(1_700_000_100_000L, -7L));
+            try (GameEventLog log = new GameEventLog(events, gzip)) {
+                written.forEach(log::log);
+                // Read while it's still open, like a game in progress.
+                assertEquals(written, events(events));
+                assertEquals(0, log.failures());
+            }
+            assertEquals(written, events(events));
+            assertEquals(1, GameEventReader.files(events).size());
+            assertTrue(GameEventReader.files(events).get(0).toString().endsWith(gzip ? ".log.gz" : ".log"));
+        }
+    }
+
+    @Test
+    void keepsTheLastFiles(@TempDir Path dir) throws IOException {
+        try (GameEventLog log = new GameEventLog(dir, false, 256, 3)) {
+            for (int i = 0; i < 50; i++) {
+                game(1000L * i, i).forEach(log::log);
+            }
+        }
+        List<Path> files = GameEventReader.files(dir);
+        assertEquals(3, files.size());
+        List<GameEvent> events = events(dir);
+        assertFalse(events.isEmpty());
+        assertEquals(game(49_000L, 49).get(5), events.get(events.size() - 1));
+
+        // A new log goes on after the files there are.
+        try (GameEventLog log = new GameEventLog(dir, false, 256, 3)) {
+            game(50_000L, 50).forEach(log::log);
+        }
+        assertFalse(GameEventReader.files(dir).contains(files.get(0)));
+        assertEquals(game(50_000L, 50), events(dir).subList(events(dir).size() - 6, events(dir).size()));
+    }
+
+    @Test
+    void writesTheLastGameInMarkdown(@TempDir Path dir) throws IOException {
+        assertNull(GameEventReader.markdown(dir, 0L));
+        // Files so small that the last game starts in a file and ends in others.
+        try (GameEventLog log = new GameEventLog(dir, true, 64, 100)) {
+            game(1000L, 1L).forEach(log::log);
+            game(2000L, 2L).forEach(log::log);
+        }
+        assertTrue(2 < GameEventReader.files(dir).size());
+
+        List<GameEvent> last = game(2000L, 2L);
+        StringBuilder expected = new StringBuilder(String.format(
+                "# Date\n%d\n\n# Seed\n%d\n\n# Matrix\n%s\n# Logs\n```\n", 123L, 2L, "C A F É\nD O G X\n"));
+        last.subList(1, last.size()).forEach(event -> expected.append(event.message()));
+        expected.append("```\n");
+        assertEquals(expected.toString(), GameEventReader.markdown(dir, 123L));
+        assertTrue(expected.toString().contains("CAFÉ"));
+        assertTrue(expected.toString().contains("\t+ CAFÉ\n"));
+    }
+
+    @Test
+    void readsUntilTheEventCut(@TempDir Path dir) throws IOException {
+        List<GameEvent> written = game(1000L, 1L);
+        try (GameEventLog log = new GameEventLog(dir, false)) {
+            written.forEach(log::log);
+        }
+        Path file = GameEventReader.files(dir).get(0);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        assertEquals(written.subList(0, written.size() - 1), events(dir));
+    }
+
+    @Test
+    void writesOnlyTheSizeOfALargeBoard(@TempDir Path dir) throws Exception {
+        ManualWordsProvider provider = new ManualWordsProvider();
+        provider.provide("CAFE");
+        provider.provide("DOG");
+        provider.close();
+        WSModel model = new WSModel(provider);
+        model.setLargeBoard(true);
+        try (GameEventLog log = new GameEventLog(dir, false)) {
+            model.setEventLog(log);
+            model.setDimensions(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN);
+            model.startGame();
+            model.endGame();
+            model.setDimensions(64, 32);
+            model.startGame();
+            model.endGame();
+        }
+        List<GameEvent.Started> started = events(dir).stream()
+                .filter(event -> event instanceof GameEvent.Started)
+                .map(event -> (GameEvent.Started) event)
+                .toList();
+        assertEquals(2, started.size());
+        assertTrue(started.get(1).matrix().isEmpty());
+        assertFalse(started.get(0).matrix().isEmpty());
+        assertEquals(64, started.get(1).lines());
+        assertEquals(32, started.get(1).cols());
+        assertTrue(GameEventReader.markdown(dir, 0L).contains("64 lines by 32 columns"));
+    }
+}
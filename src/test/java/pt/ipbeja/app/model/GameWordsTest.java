@@ -0,0 +1,39 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameWordsTest {
+    @Test
+    void findingWordsDoesNotChangeOlderResults() {
+        GameWords words = new GameWords(List.of("DOG", "CAT", "BIRD", "CAT"));
+        assertEquals(3, words.size());
+        assertEquals(GameWords.NONE, words.id("COW"));
+        assertTrue(words.isToFind("CAT"));
+
+        GameResults before = words.results(false, 42L);
+        assertTrue(words.find(words.id("CAT")));
+        assertFalse(words.find(words.id("CAT")));
+        assertFalse(words.isToFind("CAT"));
+        assertEquals(1, words.foundCount());
+        GameResults after = words.results(false, 42L);
+
+        assertEquals(List.of("BIRD", "CAT", "DOG"), List.copyOf(after.words()));
+        assertEquals(Set.of("BIRD", "CAT", "DOG"), after.words());
+        assertTrue(before.words_found().isEmpty());
+        assertEquals(Set.of("CAT"), after.words_found());
+        assertFalse(after.words_found().contains("DOG"));
+        assertFalse(after.words_found().contains(42));
+
+        words.find(words.id("BIRD"));
+        words.find(words.id("DOG"));
+        assertTrue(words.allFound());
+        words.reset();
+        assertEquals(0, words.foundCount());
+        assertEquals(Set.of("CAT"), after.words_found());
+    }
+}
@@ -0,0 +1,38 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatinTokenizerTest {
+    /**
+     * How the lines were parsed before.
+     */
+    private static final Pattern NOT_LATIN = Pattern.compile("[^\\p{sc=LATN}]");
+
+    private static List<String> regex(String line) {
+        return Arrays.stream(NOT_LATIN.split(line.trim()))
+                .map(word -> word.toUpperCase(Locale.ROOT))
+                .filter(word -> !word.isBlank())
+                .toList();
+    }
+
+    @Test
+    void sameWordsAsTheRegex() {
+        String[] lines = {
+                "", "   ", "dog", "DOG cat", "  Café, crème-brûlée!  ", "straße", "ﬁnal", "ǅemal", "слово word",
+                "日本語abc日本", "x", "a1b2c3", "ª º", "𝐀bc", "\uD800lone", "Ⅻ", "ʼn", "tab\tsep\r",
+        };
+        for (String line : lines) {
+            List<String> words = new ArrayList<>();
+            LatinTokenizer.split(line, words);
+            assertEquals(regex(line), words, line);
+        }
+    }
+}
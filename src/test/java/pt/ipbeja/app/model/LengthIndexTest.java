@@ -0,0 +1,66 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LengthIndexTest {
+    private static final LengthIndex INDEX = new LengthIndex(WordStore.of(new String[]{
+            "A", "DOG", "CAT", "HOUSE", "TREE", "CAFÉ", "ELEPHANT", "BIRD", "MOUSE", "HORSE"
+    }));
+
+    @Test
+    void countsAndListsByLength() {
+        assertEquals(10, INDEX.count(0, Integer.MAX_VALUE));
+        assertEquals(6, INDEX.count(4, 5));
+        assertEquals(0, INDEX.count(6, 7));
+        assertEquals(Set.of("BIRD", "CAFÉ", "TREE"), INDEX.words(4, 4));
+        assertEquals(List.of("A", "CAT", "DOG"), List.copyOf(INDEX.words(-1, 3)));
+        assertTrue(INDEX.words(9, 20).isEmpty());
+        assertEquals(0, LengthIndex.empty().count(0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void samplesDifferentWordsOfTheLengths() {
+        Set<String> seen = new HashSet<>();
+        SplittableRandom random = new SplittableRandom(7L);
+        for (int i = 0; i < 200; i++) {
+            List<String> sample = INDEX.sample(4, 5, 3, random);
+            assertEquals(3, sample.size());
+            assertEquals(3, Set.copyOf(sample).size());
+            assertTrue(INDEX.words(4, 5).containsAll(sample));
+            seen.addAll(sample);
+        }
+        assertEquals(INDEX.words(4, 5), seen);
+    }
+
+    @Test
+    void samplesEveryWordWhenThereAreNotEnough() {
+        SplittableRandom random = new SplittableRandom(7L);
+        assertEquals(INDEX.words(3, 4), Set.copyOf(INDEX.sample(3, 4, 10, random)));
+        assertEquals(INDEX.words(0, 8), Set.copyOf(INDEX.sample(0, 8, 0, random)));
+        assertTrue(INDEX.sample(9, 20, 2, random).isEmpty());
+    }
+
+    @Test
+    void samplesTheSameWithTheSameSeed() {
+        assertEquals(INDEX.sample(1, 8, 4, new SplittableRandom(3L)), INDEX.sample(1, 8, 4, new SplittableRandom(3L)));
+    }
+
+    @Test
+    void maxWordLengthDependsOnTheOrientations() {
+        BoardSettings settings = new BoardSettings(5, 8, 0, 1, 0, Set.of(WordOrientations.VERTICAL),
+                GenerationStrategy.GREEDY, FillStrategy.RANDOM, false, 1, 0L);
+        assertEquals(5, settings.maxWordLength());
+        assertFalse(settings.usable("ELEPHANT"));
+        settings = new BoardSettings(5, 8, 0, 1, 0, Set.of(WordOrientations.DIAGONAL, WordOrientations.HORIZONTAL),
+                GenerationStrategy.GREEDY, FillStrategy.RANDOM, false, 1, 0L);
+        assertEquals(8, settings.maxWordLength());
+        assertTrue(settings.usable("ELEPHANT"));
+    }
+}
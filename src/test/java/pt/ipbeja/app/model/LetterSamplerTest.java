@@ -0,0 +1,51 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LetterSamplerTest {
+    @Test
+    void countsFoldedLetters() {
+        long[] counts = new long[LetterSampler.LETTERS];
+        LetterSampler.count("AÇÃO", counts);
+        LetterSampler.count("café", counts);
+        assertEquals(3, counts['A' - 'A']);
+        assertEquals(2, counts['C' - 'A']);
+        assertEquals(1, counts['O' - 'A']);
+        assertEquals(1, counts['F' - 'A']);
+        assertEquals(1, counts['E' - 'A']);
+        assertEquals(8, Arrays.stream(counts).sum());
+    }
+
+    @Test
+    void drawsAsOftenAsCounted() {
+        long[] counts = new long[LetterSampler.LETTERS];
+        LetterSampler.count("AAAAAAAABBBBCCDE", counts);
+        LetterSampler sampler = new LetterSampler(counts);
+        for (char letter = 'A'; letter <= 'Z'; letter++) {
+            assertEquals((double) counts[letter - 'A'] / 16, sampler.probability(letter), 1e-9);
+        }
+
+        int draws = 160_000;
+        int[] drawn = new int[LetterSampler.LETTERS];
+        SplittableRandom random = new SplittableRandom(42L);
+        for (int i = 0; i < draws; i++) {
+            ++drawn[sampler.next(random) - 'A'];
+        }
+        assertEquals(draws / 2, drawn['A' - 'A'], draws / 100);
+        assertEquals(draws / 16, drawn['E' - 'A'], draws / 100);
+        assertEquals(0, drawn['Z' - 'A']);
+    }
+
+    @Test
+    void uniformWithoutWords() {
+        LetterSampler sampler = LetterSampler.uniform();
+        for (char letter = 'A'; letter <= 'Z'; letter++) {
+            assertEquals(1.0 / LetterSampler.LETTERS, sampler.probability(letter), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LettersGridTest {
+    @Test
+    void putAndReadVariants() {
+        LettersGrid grid = new LettersGrid(WSModel.MIN_SIDE_LEN, WSModel.MIN_SIDE_LEN);
+        int idx = grid.index(1, 2);
+        assertTrue(grid.isEmpty(idx));
+        assertEquals(' ', grid.display(idx));
+
+        assertTrue(grid.put(idx, 'É'));
+        assertTrue(grid.accepts(idx, 'E'));
+        assertFalse(grid.accepts(idx, 'A'));
+        assertTrue(grid.put(idx, 'E'));
+        assertFalse(grid.put(idx, 'E'));
+        assertThrows(IllegalArgumentException.class, () -> grid.put(idx, 'A'));
+        assertArrayEquals(new char[]{'E', 'É'}, grid.cellAt(1, 2).getReals());
+        assertEquals('E', grid.display(idx));
+
+        BaseCell cell = grid.cellAt(1, 2);
+        assertEquals('E', cell.getDisplay());
+        assertArrayEquals(new char[]{'E', 'É'}, cell.getReals());
+
+        grid.setWild(idx);
+        assertEquals('*', grid.display(idx));
+        assertEquals(2, grid.points(idx));
+        assertInstanceOf(WildCell.class, grid.cellAt(1, 2));
+
+        grid.removeReal(idx, 'E');
+        grid.removeReal(idx, 'É');
+        assertTrue(grid.isEmpty(idx));
+    }
+}
@@ -0,0 +1,46 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pt.ipbeja.app.model.wordsprovider.MappedWordsProvider;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedWordsProviderTest {
+    private static List<String> lines(Path file, int chunkSize) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (MappedWordsProvider provider = new MappedWordsProvider(file.toFile(), chunkSize)) {
+            String line;
+            while (null != (line = provider.getLine())) {
+                lines.add(line);
+            }
+            assertNull(provider.getLine());
+        }
+        return lines;
+    }
+
+    @Test
+    void skipsLinesWithoutLatinLettersInEveryChunkSize(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("words.txt");
+        Files.writeString(file, "dog\r\nслово\n\n42\nCafé ª\n词\nﬁm\nlast", StandardCharsets.UTF_8);
+        List<String> expected = List.of("dog", "Café ª", "ﬁm", "last");
+        // The longest line has 9 bytes, and the new line.
+        for (int chunkSize = 10; chunkSize <= 64; chunkSize++) {
+            assertEquals(expected, lines(file, chunkSize), "chunks of " + chunkSize);
+        }
+    }
+
+    @Test
+    void emptyFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("empty.txt");
+        Files.writeString(file, "");
+        assertEquals(List.of(), lines(file, MappedWordsProvider.CHUNK));
+    }
+}
@@ -12,6 +12,7 @@ import pt.ipbeja.app.throwables.NotInGameException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.SplittableRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ModelTest {
@@ -79,6 +80,122 @@ public class ModelTest {
         Assertions.assertNotNull(err);
     }
 
+    @Test
+    void setLargeBoardDimensions() {
+        WSModel model = new WSModel();
+        int side = WSModel.MAX_SIDE_LEN * 10;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> model.setDimensions(side, side));
+        Assertions.assertDoesNotThrow(() -> model.setLargeBoard(true));
+        Assertions.assertDoesNotThrow(() -> model.setDimensions(side, side));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> model.setDimensions(WSModel.MAX_LARGE_SIDE_LEN + 1, side)
+        );
+
+        ManualWordsProvider provider = new ManualWordsProvider();
+        provider.provide(new String[]{"large", "board", "words"});
+        provider.close();
+        model.setWords(provider);
+        Assertions.assertDoesNotThrow(model::startGame);
+        Assertions.assertEquals(3, model.wordsInUse());
+    }
+
+    @Test
+    void startGameWithBacktracking() {
+        // Words without letters in common only fit all together if they all go in the same orientation.
+        String[] words = new String[]{"ABCDE", "FGHIJ", "KLMNO", "PQRST", "UVWXY"};
+        for (int i = 0; i < 20; i++) {
+            ManualWordsProvider provider = new ManualWordsProvider();
+            provider.provide(words);
+            provider.close();
+            WSModel model = new WSModel(WSModel.MIN_SIDE_LEN, WSModel.MIN_SIDE_LEN, provider);
+            Assertions.assertDoesNotThrow(() -> model.setGenerationStrategy(GenerationStrategy.BACKTRACKING));
+            Assertions.assertDoesNotThrow(model::startGame);
+            Assertions.assertEquals(words.length, model.wordsInUse());
+            Assertions.assertThrows(
+                    InvalidInGameChangeException.class,
+                    () -> model.setGenerationStrategy(GenerationStrategy.GREEDY)
+            );
+        }
+    }
+
+    @Test
+    void backtrackingStopsWhenAsked() {
+        // More words without letters in common than fit, so the search would try every placement.
+        String[] words = new String[]{"ABCDE", "FGHIJ", "KLMNO", "PQRST", "UVWXY", "BCDEF", "GHIJK", "LMNOP"};
+        LettersGrid grid = new LettersGrid(WSModel.MIN_SIDE_LEN, WSModel.MIN_SIDE_LEN);
+        int[] checks = new int[1];
+        BacktrackingGenerator generator = new BacktrackingGenerator(
+                grid,
+                new WordSlots(WSModel.MIN_SIDE_LEN, WSModel.MIN_SIDE_LEN),
+                List.of(WordOrientations.values()),
+                new SplittableRandom(1L),
+                Integer.MAX_VALUE,
+                () -> 0 < checks[0]++
+        );
+        // The first placement made before the search it's kept.
+        Assertions.assertTrue(0 < generator.place(List.of(words)));
+        Assertions.assertTrue(4 >= checks[0], checks[0] + " checks");
+    }
+
+    @Test
+    void startGameWithCandidateBoards() {
+        ManualWordsProvider provider = new ManualWordsProvider();
+        String[] words = new String[]{"TEST", "WORDS", "MATRIX", "BOARDS"};
+        provider.provide(words);
+        provider.close();
+        WSModel model = new WSModel(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, provider);
+        Assertions.assertDoesNotThrow(() -> model.setCandidateBoards(4));
+        Assertions.assertDoesNotThrow(() -> model.setGenerationBudget(0L));
+        Assertions.assertDoesNotThrow(model::startGame);
+        Assertions.assertEquals(words.length, model.wordsInUse());
+        Assertions.assertThrows(InvalidInGameChangeException.class, () -> model.setCandidateBoards(1));
+    }
+
+    @Test
+    void startGameWithSeed() {
+        String[] matrices = new String[2];
+        for (int i = 0; i < matrices.length; i++) {
+            ManualWordsProvider provider = new ManualWordsProvider();
+            provider.provide(new String[]{"TEST", "WORDS", "MATRIX", "BOARDS", "SEEDS", "RANDOM"});
+            provider.close();
+            WSModel model = new WSModel(8, 8, provider);
+            model.setSeed(42L);
+            Assertions.assertDoesNotThrow(() -> model.setGenerationStrategy(GenerationStrategy.BACKTRACKING));
+            model.setWildCards(2);
+            Assertions.assertDoesNotThrow(model::startGame);
+            matrices[i] = model.matrixToString();
+            Assertions.assertEquals(42L, model.getSeed());
+            Assertions.assertEquals(42L, model.curGameResults().seed());
+        }
+        Assertions.assertEquals(matrices[0], matrices[1]);
+    }
+
+    @Test
+    void startGameWithSeedAndCandidateBoards() {
+        String[] words = new String[200];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = "WORD" + (char) ('A' + i % 26) + (char) ('A' + i / 26 % 26) + "S".repeat(i % 4);
+        }
+        // No time for any candidate, and all the time they need, which give the same board.
+        long[] budgets = {0L, 60_000L};
+        String[] matrices = new String[budgets.length];
+        for (int i = 0; i < matrices.length; i++) {
+            long budget = budgets[i];
+            ManualWordsProvider provider = new ManualWordsProvider();
+            provider.provide(words);
+            provider.close();
+            WSModel model = new WSModel(12, 12, provider);
+            model.setSeed(7L);
+            Assertions.assertDoesNotThrow(() -> model.setCandidateBoards(4));
+            Assertions.assertDoesNotThrow(() -> model.setGenerationBudget(budget));
+            model.setMaxWords(20);
+            Assertions.assertDoesNotThrow(model::startGame);
+            matrices[i] = model.matrixToString();
+        }
+        Assertions.assertEquals(matrices[0], matrices[1]);
+    }
+
     @Test
     void provideProvider() {
         WSModel model = new WSModel();
@@ -0,0 +1,317 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pt.ipbeja.app.model.replay.Replay;
+import pt.ipbeja.app.model.replay.ReplayTarget;
+import pt.ipbeja.app.model.replay.Replayer;
+import pt.ipbeja.app.model.replay.Timeline;
+import pt.ipbeja.app.throwables.NotInGameException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayerTest {
+    /**
+     * @return A timeline of {@code n} plays, one every {@code gap} milliseconds, the play {@code i} on column {@code i}
+     */
+    private static Timeline timeline(int n, long gap) {
+        Timeline.Builder builder = new Timeline.Builder(1000L);
+        for (int i = 0; i < n; i++) {
+            builder.add(1000L + i * gap, new Position(0, i));
+        }
+        return builder.build(1000L + n * gap);
+    }
+
+    /**
+     * Keeps the columns played, the state being them.
+     */
+    private static final class Recorder implements ReplayTarget<List<Integer>> {
+        private final List<Integer> played = new ArrayList<>();
+        private int restores;
+        private boolean ended;
+        private boolean cancelled;
+
+        @Override
+        public synchronized void play(Position position) {
+            this.played.add(position.col());
+        }
+
+        @Override
+        public synchronized List<Integer> checkpoint() {
+            return List.copyOf(this.played);
+        }
+
+        @Override
+        public synchronized void restore(List<Integer> state) {
+            ++this.restores;
+            this.played.clear();
+            this.played.addAll(state);
+        }
+
+        @Override
+        public synchronized void end() {
+            this.ended = true;
+        }
+
+        @Override
+        public synchronized void cancelled() {
+            this.cancelled = true;
+        }
+
+        private synchronized List<Integer> played() {
+            return List.copyOf(this.played);
+        }
+    }
+
+    private static List<Integer> columns(int from, int to) {
+        List<Integer> columns = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            columns.add(i);
+        }
+        return columns;
+    }
+
+    @Test
+    void replaysEveryPlayInOrder() throws Exception {
+        try (Replayer replayer = new Replayer()) {
+            Recorder recorder = new Recorder();
+            Replay<List<Integer>> replay = replayer.replay(timeline(1000, 1000L), recorder, Replay.INSTANT);
+            replay.finished().get(10, TimeUnit.SECONDS);
+            assertEquals(columns(0, 1000), recorder.played());
+            assertTrue(recorder.ended);
+            assertTrue(replay.isDone());
+            assertEquals(1000, replay.position());
+        }
+    }
+
+    @Test
+    void waitsTheTimeOfThePlays() throws Exception {
+        try (Replayer replayer = new Replayer()) {
+            Recorder recorder = new Recorder();
+            long start = System.nanoTime();
+            // 20 plays 100 ms apart, and the end 100 ms after, 10 times faster.
+            replayer.replay(timeline(20, 100L), recorder, 10.0).finished().get(10, TimeUnit.SECONDS);
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(200 <= millis, millis + " ms");
+            assertEquals(columns(0, 20), recorder.played());
+        }
+    }
+
+    @Test
+    void pausesResumesAndChangesSpeed() throws Exception {
+        try (Replayer replayer = new Replayer()) {
+            Recorder recorder = new Recorder();
+            Replay<List<Integer>> replay = replayer.replay(timeline(100, 10_000L), recorder, 1.0);
+            // The first play it's at the start, the next ones 10 s later.
+            Thread.sleep(50L);
+            assertEquals(List.of(0), recorder.played());
+
+            replay.pause();
+            assertTrue(replay.isPaused());
+            replay.setSpeed(Replay.INSTANT);
+            Thread.sleep(50L);
+            assertEquals(List.of(0), recorder.played());
+
+            replay.resume();
+            replay.finished().get(10, TimeUnit.SECONDS);
+            assertEquals(columns(0, 100), recorder.played());
+            assertEquals(Replay.INSTANT, replay.getSpeed());
+        }
+    }
+
+    @Test
+    void seeksFromTheCheckpoints() throws Exception {
+        try (Replayer replayer = new Replayer()) {
+            Recorder recorder = new Recorder();
+            Replay<List<Integer>> replay = replayer.replay(timeline(200, 1L), recorder, Replay.INSTANT);
+            replay.finished().get(10, TimeUnit.SECONDS);
+            // The end was played, the seek is too late.
+            replay.seek(10);
+            assertEquals(200, replay.position());
+
+            recorder = new Recorder();
+            replay = replayer.replay(timeline(200, 1000L), recorder, 1.0);
+            replay.pause();
+            replay.seek(150);
+            assertPosition(replay, 150);
+            assertEquals(columns(0, 150), recorder.played());
+
+            // Back to a play after a checkpoint: only the plays after it are played again.
+            replay.seek(70);
+            assertPosition(replay, 70);
+            assertEquals(columns(0, 70), recorder.played());
+            assertEquals(1, recorder.restores);
+
+            // Forwards to a play after a checkpoint saved before.
+            replay.seek(130);
+            assertPosition(replay, 130);
+            assertEquals(columns(0, 130), recorder.played());
+            assertEquals(2, recorder.restores);
+
+            replay.setSpeed(Replay.INSTANT);
+            replay.resume();
+            replay.finished().get(10, TimeUnit.SECONDS);
+            assertEquals(columns(0, 200), recorder.played());
+            assertThrows(IllegalArgumentException.class, () -> replayer.replay(timeline(2, 1L), new Recorder(), 1.0)
+                    .seek(3));
+        }
+    }
+
+    private static void assertPosition(Replay<?> replay, int position) throws InterruptedException {
+        for (int i = 0; i < 1000 && position != replay.position(); i++) {
+            Thread.sleep(5L);
+        }
+        assertEquals(position, replay.position());
+    }
+
+    @Test
+    void cancels() throws Exception {
+        try (Replayer replayer = new Replayer()) {
+            Recorder recorder = new Recorder();
+            Replay<List<Integer>> replay = replayer.replay(timeline(10, 60_000L), recorder, 1.0);
+            replay.cancel();
+            assertTrue(replay.isDone());
+            assertTrue(recorder.cancelled);
+            assertFalse(recorder.ended);
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> replay.finished().get(10, TimeUnit.SECONDS));
+            assertInstanceOf(CancellationException.class, e.getCause());
+            assertEquals(0, replayer.pending());
+        }
+    }
+
+    @Test
+    void replaysManyGamesAtOnce() throws Exception {
+        try (Replayer replayer = new Replayer()) {
+            List<Recorder> recorders = new ArrayList<>();
+            List<Replay<List<Integer>>> replays = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                Recorder recorder = new Recorder();
+                recorders.add(recorder);
+                replays.add(replayer.replay(timeline(20, 5L), recorder, 1.0));
+            }
+            for (Replay<List<Integer>> replay : replays) {
+                replay.finished().get(30, TimeUnit.SECONDS);
+            }
+            for (Recorder recorder : recorders) {
+                assertEquals(columns(0, 20), recorder.played());
+            }
+        }
+    }
+
+    @Test
+    void replaysAGameOfTheModel(@TempDir Path dir) throws Exception {
+        Path db = Files.writeString(dir.resolve("db.txt"), "test\nwords\nmatrix\nlist\ndatabase\n");
+        WSModel model;
+        try {
+            model = new WSModel(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, db);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        model.startGame();
+        Set<String> toFind = new HashSet<>(model.curGameResults().words());
+        int found = 0;
+        for (WordOccurrence occurrence : model.solveBoard()) {
+            if (toFind.remove(occurrence.word()) && 1 < toFind.size()) {
+                model.findWord(occurrence.start());
+                model.findWord(occurrence.end());
+                ++found;
+            }
+        }
+        GameResults played = model.endGame();
+        assertEquals(found, played.words_found().size());
+
+        try (Replayer replayer = new Replayer()) {
+            model.setReplayer(replayer);
+            // So slow that it can't end before it's checked, an instant replay could.
+            Replay<WSModel.ReplayState> replay = model.replay(1e-9);
+            assertFalse(model.isNotOnReplay());
+            replay.setSpeed(Replay.INSTANT);
+            replay.finished().get(10, TimeUnit.SECONDS);
+            assertTrue(model.isNotOnReplay());
+            assertEquals(played.words_found(), Set.copyOf(model.curGameResults().words_found()));
+
+            // So slow that only the first play it's played before the pause.
+            replay = model.replay(1e-9);
+            replay.pause();
+            replay.seek(2);
+            assertPosition(replay, 2);
+            assertEquals(1, model.curGameResults().words_found().size());
+            replay.seek(0);
+            assertPosition(replay, 0);
+            assertTrue(model.curGameResults().words_found().isEmpty());
+            replay.cancel();
+            assertTrue(model.isNotOnReplay());
+        }
+    }
+
+    /**
+     * A view that gives the clicks to its thread, after the tasks given before, like the application does.
+     */
+    private static final class ThreadView extends EmptyView {
+        private final ExecutorService thread = Executors.newSingleThreadExecutor();
+        private WSModel model;
+
+        @Override
+        public void click(Position pos) {
+            this.thread.execute(() -> {
+                try {
+                    this.model.findWord(pos);
+                } catch (NotInGameException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            this.thread.execute(task);
+        }
+    }
+
+    @Test
+    void replaysEveryWordFoundWithAView(@TempDir Path dir) throws Exception {
+        Path db = Files.writeString(dir.resolve("db.txt"), "test\nwords\nmatrix\nlist\ndatabase\n");
+        WSModel model = new WSModel(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, db);
+        model.startGame();
+        Set<String> toFind = new HashSet<>(model.curGameResults().words());
+        // The last word ends the game, in the same millisecond as its click.
+        for (WordOccurrence occurrence : model.solveBoard()) {
+            if (toFind.remove(occurrence.word())) {
+                model.findWord(occurrence.start());
+                model.findWord(occurrence.end());
+            }
+        }
+        assertTrue(toFind.isEmpty());
+        assertFalse(model.isInGame());
+        Set<String> words = Set.copyOf(model.curGameResults().words());
+
+        ThreadView view = new ThreadView();
+        view.model = model;
+        model.registerView(view);
+        try (Replayer replayer = new Replayer()) {
+            model.setReplayer(replayer);
+            for (double speed : new double[]{Replay.INSTANT, 1.0}) {
+                model.replay(speed).finished().get(10, TimeUnit.SECONDS);
+                view.thread.submit(() -> null).get(10, TimeUnit.SECONDS);
+                assertEquals(words, Set.copyOf(model.curGameResults().words_found()));
+                assertTrue(model.isNotOnReplay());
+            }
+        } finally {
+            view.thread.shutdown();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pt.ipbeja.app.model.resultssaver.ResultsJournal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultsJournalTest {
+    /**
+     * A clock moved by hand.
+     */
+    private static final class ManualClock extends Clock {
+        private long millis;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.millis);
+        }
+    }
+
+    private static GameResults results(long seed) {
+        return new GameResults(Set.of("CAFÉ", "DOG", "W" + seed), Set.of("DOG"), 0 == seed % 2, seed);
+    }
+
+    private static List<Long> seeds(Stream<ResultsJournal.Entry> entries) {
+        return entries.map(entry -> entry.results().seed()).toList();
+    }
+
+    private static List<Long> seeds(long from, long to) {
+        return Stream.iterate(from, seed -> seed < to, seed -> seed + 1).toList();
+    }
+
+    @Test
+    void readsTheResultsBackByTime(@TempDir Path dir) throws IOException {
+        ManualClock clock = new ManualClock();
+        try (ResultsJournal journal = new ResultsJournal(dir, clock, 1 << 12)) {
+            for (int i = 0; i < 2000; i++) {
+                clock.millis = 1000L * i;
+                journal.save(results(i));
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                assertTrue(1 < files.filter(file -> file.toString().endsWith(".journal")).count());
+            }
+
+            assertEquals(seeds(0, 2000), seeds(journal.stream()));
+            assertEquals(seeds(300, 1700), seeds(journal.range(300_000L, 1_700_000L)));
+            assertEquals(seeds(1, 3), seeds(journal.range(500L, 2500L)));
+            assertTrue(journal.range(3_000_000L, 4_000_000L).findAny().isEmpty());
+
+            ResultsJournal.Entry entry = journal.range(1_234_000L, 1_234_001L).findFirst().orElseThrow();
+            assertEquals(1_234_000L, entry.time());
+            assertEquals(results(1234), entry.results());
+        }
+    }
+
+    @Test
+    void keepsTheTimesInOrderWhenOpenedAgain(@TempDir Path dir) throws IOException {
+        ManualClock clock = new ManualClock();
+        clock.millis = 5000L;
+        try (ResultsJournal journal = new ResultsJournal(dir, clock, ResultsJournal.SEGMENT_BYTES)) {
+            journal.save(results(0));
+            journal.save(results(1));
+        }
+        clock.millis = 1000L;
+        try (ResultsJournal journal = new ResultsJournal(dir, clock, ResultsJournal.SEGMENT_BYTES)) {
+            journal.save(results(2));
+            assertEquals(List.of(5000L, 5000L, 5000L), journal.stream().map(ResultsJournal.Entry::time).toList());
+            assertEquals(seeds(0, 3), seeds(journal.range(5000L, 5001L)));
+        }
+    }
+
+    @Test
+    void throwsAwayARecordCutByACrash(@TempDir Path dir) throws IOException {
+        ManualClock clock = new ManualClock();
+        try (ResultsJournal journal = new ResultsJournal(dir, clock, ResultsJournal.SEGMENT_BYTES)) {
+            for (int i = 0; i < 600; i++) {
+                clock.millis = i;
+                journal.save(results(i));
+            }
+        }
+        Path segment = dir.resolve("results-0000000000.journal");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (ResultsJournal journal = new ResultsJournal(dir, clock, ResultsJournal.SEGMENT_BYTES)) {
+            assertEquals(seeds(0, 599), seeds(journal.stream()));
+            clock.millis = 1000L;
+            journal.save(results(1000));
+            assertEquals(seeds(598, 599), seeds(journal.range(598L, 1000L)));
+            assertEquals(List.of(1000L), seeds(journal.range(599L, 2000L)));
+        }
+    }
+
+    @Test
+    void throwsAwayTheEntryOfARecordCut(@TempDir Path dir) throws IOException {
+        ManualClock clock = new ManualClock();
+        try (ResultsJournal journal = new ResultsJournal(dir, clock, ResultsJournal.SEGMENT_BYTES)) {
+            for (int i = 0; i < 2 * ResultsJournal.INDEX_INTERVAL + 1; i++) {
+                clock.millis = 1000L + i;
+                journal.save(results(i));
+            }
+        }
+        // The record 512 it's cut, but the entry of the index pointing to it was written.
+        Path segment = dir.resolve("results-0000000000.journal");
+        Path index = dir.resolve("results-0000000000.index");
+        long position = ByteBuffer.wrap(Files.readAllBytes(index)).getLong(Long.BYTES * 5);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(position + 3);
+        }
+
+        clock.millis = 0L;
+        try (ResultsJournal journal = new ResultsJournal(dir, clock, ResultsJournal.SEGMENT_BYTES)) {
+            assertEquals(Long.BYTES * 2 * 2, Files.size(index));
+            assertEquals(seeds(0, 512), seeds(journal.stream()));
+            journal.save(results(1000));
+            // The time goes on from the last record left, and the new record has the entry.
+            assertEquals(1511L, journal.range(1511L, 1512L).reduce((first, second) -> second).orElseThrow().time());
+            assertEquals(List.of(511L, 1000L), seeds(journal.range(1511L, 2000L)));
+            assertEquals(Long.BYTES * 2 * 3, Files.size(index));
+            assertEquals(position, ByteBuffer.wrap(Files.readAllBytes(index)).getLong(Long.BYTES * 5));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pt.ipbeja.app.model.replay.Replay;
+import pt.ipbeja.app.model.replay.Replayer;
+import pt.ipbeja.app.model.resultssaver.AggregateResultsSaver;
+import pt.ipbeja.app.model.resultssaver.AsyncResultsSaver;
+import pt.ipbeja.app.model.resultssaver.ResultsJournal;
+import pt.ipbeja.app.model.resultssaver.ResultsStatistics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultsStatisticsTest {
+    /**
+     * @return A game of four words where the first {@code found} were found
+     */
+    private static GameResults results(int found, boolean onReplay) {
+        List<String> words = List.of("ANT", "BEE", "CAT", "DOG");
+        return new GameResults(Set.copyOf(words), Set.copyOf(words.subList(0, found)), onReplay, 0L);
+    }
+
+    @Test
+    void countsMeansAndPercentiles() {
+        ResultsStatistics statistics = new ResultsStatistics();
+        assertEquals(0, statistics.count());
+        assertTrue(Double.isNaN(statistics.mean()));
+        assertTrue(Double.isNaN(statistics.percentile(0.5)));
+
+        for (int found = 0; found <= 4; found++) {
+            statistics.save(results(found, false));
+        }
+        statistics.save(results(4, true));
+        assertEquals(6, statistics.count());
+        assertEquals(5, statistics.count(false));
+        assertEquals(1, statistics.count(true));
+        assertEquals(50.0, statistics.mean(false), 1e-9);
+        assertEquals(100.0, statistics.mean(true), 1e-9);
+        assertEquals(100.0 * 14 / 24, statistics.mean(), 1e-9);
+        assertEquals(0.0, statistics.percentile(0.0));
+        assertEquals(50.0, statistics.percentile(0.5));
+        assertEquals(75.0, statistics.percentile(0.6));
+        assertEquals(100.0, statistics.percentile(1.0));
+        assertEquals(33.33, ResultsStatistics.percentFound(
+                new GameResults(Set.of("A", "B", "C"), Set.of("A"), false, 0L)), 0.01);
+    }
+
+    @Test
+    void countsTheWordsFound() {
+        ResultsStatistics statistics = new ResultsStatistics();
+        for (int found = 0; found <= 4; found++) {
+            statistics.save(results(found, false));
+        }
+        assertEquals(5, statistics.timesShown("ANT"));
+        assertEquals(4, statistics.timesFound("ANT"));
+        assertEquals(0.8, statistics.findRate("ANT"), 1e-9);
+        assertEquals(0.2, statistics.findRate("DOG"), 1e-9);
+        assertTrue(Double.isNaN(statistics.findRate("EMU")));
+    }
+
+    @Test
+    void sketchesNeverCountLess() {
+        // Small sketches, so many words share counters.
+        ResultsStatistics statistics = new ResultsStatistics(64, 2);
+        SplittableRandom random = new SplittableRandom(1L);
+        int[] shown = new int[500];
+        for (int game = 0; game < 2000; game++) {
+            Set<String> words = new HashSet<>();
+            while (words.size() < 10) {
+                words.add("W" + random.nextInt(shown.length));
+            }
+            words.forEach(word -> ++shown[Integer.parseInt(word.substring(1))]);
+            statistics.save(new GameResults(words, Set.of(), false, 0L));
+        }
+        for (int i = 0; i < shown.length; i++) {
+            assertTrue(shown[i] <= statistics.timesShown("W" + i));
+        }
+    }
+
+    @Test
+    void wordsWithTheSameHashCodeAreCountedApart() {
+        ResultsStatistics statistics = new ResultsStatistics();
+        assertEquals("AaBB".hashCode(), "BBAa".hashCode());
+        assertEquals("AaAa".hashCode(), "BBBB".hashCode());
+        for (int game = 0; game < 10; game++) {
+            statistics.save(new GameResults(Set.of("AaBB", "AaAa"), Set.of("AaBB"), false, 0L));
+        }
+        assertEquals(10, statistics.timesShown("AaBB"));
+        assertEquals(0, statistics.timesShown("BBAa"));
+        assertEquals(0, statistics.timesShown("BBBB"));
+        assertEquals(0, statistics.timesFound("AaAa"));
+    }
+
+    @Test
+    void isBuiltAgainFromAJournal(@TempDir Path dir) throws IOException {
+        ResultsStatistics statistics = new ResultsStatistics();
+        try (ResultsJournal journal = new ResultsJournal(dir)) {
+            for (int found = 0; found <= 4; found++) {
+                journal.save(results(found, 0 == found % 2));
+                statistics.save(results(found, 0 == found % 2));
+            }
+            ResultsStatistics rebuilt = new ResultsStatistics();
+            rebuilt.saveAll(journal.stream().map(ResultsJournal.Entry::results));
+            assertEquals(statistics.count(true), rebuilt.count(true));
+            assertEquals(statistics.mean(false), rebuilt.mean(false));
+            assertEquals(statistics.percentile(0.9), rebuilt.percentile(0.9));
+            assertEquals(statistics.findRate("BEE"), rebuilt.findRate("BEE"));
+        }
+    }
+
+    @Test
+    void countsTheReplaysOfTheModelWithoutWritingTheirScores(@TempDir Path dir) throws Exception {
+        Path db = Files.writeString(dir.resolve("db.txt"), "test\nwords\nmatrix\nlist\ndatabase\n");
+        Path scores = dir.resolve("scores.txt");
+        ResultsStatistics statistics = new ResultsStatistics();
+        WSModel model = new WSModel(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, db);
+        model.registerView(new EmptyView());
+        try (AggregateResultsSaver saver = new AggregateResultsSaver(
+                new AsyncResultsSaver(() -> scores, res -> res.seed() + "\n", false), statistics);
+             Replayer replayer = new Replayer()) {
+            model.setSaver(saver);
+            model.setReplayer(replayer);
+            model.startGame();
+            model.endGame();
+            model.replay(Replay.INSTANT).finished().get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(1, statistics.count(false));
+        assertEquals(1, statistics.count(true));
+        assertEquals(1, Files.readAllLines(scores).size());
+    }
+}
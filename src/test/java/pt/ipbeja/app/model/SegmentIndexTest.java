@@ -0,0 +1,36 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentIndexTest {
+    @Test
+    void findsWordsBothWays() {
+        GeneratedBoard board = new GeneratedBoard(WSModel.MIN_SIDE_LEN, WSModel.MIN_SIDE_LEN, 0L);
+        LettersGrid grid = board.grid();
+        board.place("CAFE", grid.index(0, 0), 1);
+        board.place("CAFÉ", grid.index(0, 0), 1);
+        board.place("DOG", grid.index(4, 4), -grid.cols() - 1);
+        board.place("I", grid.index(3, 5), 1);
+        grid.setWild(grid.index(3, 3));
+        board.indexSegments();
+        SegmentIndex segments = board.segments();
+        assertEquals(4, segments.size());
+
+        int cafe = segments.first(grid.index(0, 3), grid.index(0, 0));
+        assertEquals(cafe, segments.first(grid.index(0, 0), grid.index(0, 3)));
+        assertEquals("CAFÉ", board.placedWords().get(cafe));
+        assertEquals("CAFE", board.placedWords().get(segments.next(cafe)));
+        assertEquals(SegmentIndex.NONE, segments.next(segments.next(cafe)));
+
+        int dog = segments.first(grid.index(2, 2), grid.index(4, 4));
+        assertEquals("DOG", board.placedWords().get(dog));
+        // The O it's in the wild cell.
+        assertEquals(4, segments.points(dog));
+        assertEquals(1, segments.points(segments.first(grid.index(3, 5), grid.index(3, 5))));
+
+        assertEquals(SegmentIndex.NONE, segments.first(grid.index(0, 0), grid.index(0, 2)));
+        assertEquals(SegmentIndex.NONE, segments.first(grid.index(2, 2), grid.index(3, 3)));
+    }
+}
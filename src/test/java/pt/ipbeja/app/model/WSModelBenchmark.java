@@ -0,0 +1,1073 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import pt.ipbeja.app.model.eventlog.GameEvent;
+import pt.ipbeja.app.model.eventlog.GameEventLog;
+import pt.ipbeja.app.model.eventlog.GameEventReader;
+import pt.ipbeja.app.model.replay.Replay;
+import pt.ipbeja.app.model.replay.ReplayTarget;
+import pt.ipbeja.app.model.replay.Replayer;
+import pt.ipbeja.app.model.replay.Timeline;
+import pt.ipbeja.app.model.resultssaver.AsyncResultsSaver;
+import pt.ipbeja.app.model.resultssaver.ResultsJournal;
+import pt.ipbeja.app.model.resultssaver.ResultsStatistics;
+import pt.ipbeja.app.model.wordsprovider.AggregateWordsProvider;
+import pt.ipbeja.app.model.wordsprovider.DBWordsProvider;
+import pt.ipbeja.app.model.wordsprovider.ManualWordsProvider;
+import pt.ipbeja.app.model.wordsprovider.MappedWordsProvider;
+import pt.ipbeja.app.model.wordsprovider.WordsProvider;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+import java.util.regex.Pattern;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Timings of the model. They only run with {@code mvn test -Dbenchmark=true -Dtest=WSModelBenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class WSModelBenchmark {
+    static final long SEED = 42L;
+    static final int DICTIONARY_SIZE = 200_000;
+    static final int CELLS_PER_WORD = 100;
+    static final String DB = "src/main/resources/db.txt";
+    static final int GAMES = 200;
+    static final int POOL_GAMES = 20;
+    static final int GRIDS = 1_000;
+    static final String GRID_LETTERS = "ÁÉÍÓÚÇÃÕÀÊABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    /**
+     * The time a player takes to play a game, very short.
+     */
+    static final long THINK_MILLIS = 1_000L;
+
+    static List<String> syntheticDictionary(int n, int minLength, int maxLength) {
+        Random random = new Random(SEED);
+        List<String> words = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            char[] word = new char[random.nextInt(minLength, maxLength + 1)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) random.nextInt('A', 'Z' + 1);
+            }
+            words.add(new String(word));
+        }
+        return words;
+    }
+
+    static ManualWordsProvider syntheticWords(int n, int minLength, int maxLength) {
+        ManualWordsProvider provider = new ManualWordsProvider();
+        syntheticDictionary(n, minLength, maxLength).forEach(provider::provide);
+        provider.close();
+        return provider;
+    }
+
+    @Test
+    void largeBoardGeneration() throws Exception {
+        WSModel model = new WSModel();
+        model.setWords(syntheticWords(DICTIONARY_SIZE, 4, 12));
+        model.setLargeBoard(true);
+        model.allowWordOrientation(WordOrientations.DIAGONAL);
+
+        for (int side : new int[]{100, 1_000, 4_096}) {
+            model.setDimensions(side, side);
+            model.setMaxWords(side * side / CELLS_PER_WORD);
+
+            long start = System.nanoTime();
+            model.startGame();
+            long elapsed = System.nanoTime() - start;
+
+            System.out.printf("%dx%d: %d words placed in %.1f ms (%.1f ns/cell)%n",
+                    side, side, model.wordsInUse(), elapsed / 1e6, (double) elapsed / ((long) side * side));
+            assertTrue(0 < model.wordsInUse());
+            model.endGame();
+        }
+    }
+
+    @Test
+    void generationStrategies() throws Exception {
+        benchmarkStrategies("db.txt", new DBWordsProvider(Paths.get(DB).toFile()));
+        benchmarkStrategies("100k words", syntheticWords(100_000, 3, WSModel.MAX_SIDE_LEN));
+    }
+
+    private static void benchmarkStrategies(String name, WordsProvider provider) throws Exception {
+        WSModel model = new WSModel(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, provider);
+        model.allowWordOrientation(WordOrientations.DIAGONAL);
+        for (int maxWords : new int[]{16, 24, 32}) {
+            model.setMaxWords(maxWords);
+            for (GenerationStrategy strategy : GenerationStrategy.values()) {
+                model.setGenerationStrategy(strategy);
+                int complete = 0;
+                long placed = 0;
+                long start = System.nanoTime();
+                for (int i = 0; i < GAMES; i++) {
+                    model.startGame();
+                    placed += model.wordsInUse();
+                    if (maxWords == model.wordsInUse()) {
+                        complete++;
+                    }
+                    model.endGame();
+                }
+                long elapsed = System.nanoTime() - start;
+
+                System.out.printf("%s, %d words, %s: %.1f%% complete boards, %.1f words/board, %.2f ms/board%n",
+                        name, maxWords, strategy, 100.0 * complete / GAMES, (double) placed / GAMES,
+                        elapsed / 1e6 / GAMES);
+            }
+        }
+    }
+
+    @Test
+    void candidateBoards() throws Exception {
+        WordsProvider provider = new DBWordsProvider(Paths.get(DB).toFile());
+        WSModel model = new WSModel(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, provider);
+        model.allowWordOrientation(WordOrientations.DIAGONAL);
+        model.setMaxWords(32);
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int candidates : new int[]{1, cores, 4 * cores}) {
+            model.setCandidateBoards(candidates);
+            long placed = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < GAMES; i++) {
+                model.startGame();
+                placed += model.wordsInUse();
+                model.endGame();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.printf("%d candidate boards: %.1f words/board, %.2f ms/board%n",
+                    candidates, (double) placed / GAMES, elapsed / 1e6 / GAMES);
+        }
+    }
+
+    @Test
+    void boardPool() throws Exception {
+        WSModel model = new WSModel(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, syntheticWords(DICTIONARY_SIZE, 3, 8));
+        model.setMaxWords(16);
+        for (int size : new int[]{0, 4}) {
+            model.setBoardPoolSize(size);
+            long total = 0;
+            for (int i = 0; i < POOL_GAMES; i++) {
+                long start = System.nanoTime();
+                model.startGame();
+                total += System.nanoTime() - start;
+                model.endGame();
+                Thread.sleep(THINK_MILLIS);
+            }
+            BoardPool pool = model.getBoardPool();
+            System.out.printf("pool of %d: %.3f ms/startGame%s%n", size, total / 1e6 / POOL_GAMES, null == pool ? "" :
+                    String.format(", %.1f%% hits, %.2f ms/refill", 100.0 * pool.hitRate(), pool.averageRefillMillis()));
+        }
+        model.setBoardPoolSize(0);
+    }
+
+    @Test
+    void randomGenerators() throws Exception {
+        int draws = 10_000_000;
+        for (RandomGenerator random : new RandomGenerator[]{new SecureRandom(), new Random(SEED), new SplittableRandom(SEED)}) {
+            long sum = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < draws; i++) {
+                sum += random.nextInt(26);
+            }
+            long elapsed = System.nanoTime() - start;
+            assertTrue(0 < sum);
+            System.out.printf("%s: %.2f ns/nextInt%n", random.getClass().getSimpleName(), (double) elapsed / draws);
+        }
+
+        WSModel model = new WSModel(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, new DBWordsProvider(Paths.get(DB).toFile()));
+        model.allowWordOrientation(WordOrientations.DIAGONAL);
+        model.setCandidateBoards(Runtime.getRuntime().availableProcessors());
+        for (String name : new String[]{"SplittableRandom", "L64X128MixRandom"}) {
+            RandomGeneratorFactory<RandomGenerator.SplittableGenerator> factory = RandomGeneratorFactory.of(name);
+            model.setRandomGenerator(factory::create);
+            model.setSeed(SEED);
+            long start = System.nanoTime();
+            for (int i = 0; i < GAMES; i++) {
+                model.startGame();
+                model.endGame();
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%s: %.2f ms/startGame%n", name, elapsed / 1e6 / GAMES);
+        }
+        model.useRandomSeeds();
+    }
+
+    @Test
+    void fillers() {
+        List<String> dictionary = syntheticDictionary(DICTIONARY_SIZE, 4, 12);
+        for (int side : new int[]{100, 1_000, 4_096}) {
+            for (FillStrategy strategy : FillStrategy.values()) {
+                SplittableRandom random = new SplittableRandom(SEED);
+                GeneratedBoard board = new GeneratedBoard(side, side, SEED);
+                WordSlots slots = new WordSlots(side, side);
+                for (int i = 0; i < side * side / CELLS_PER_WORD && i < dictionary.size(); i++) {
+                    String word = dictionary.get(i);
+                    for (WordOrientations orientation : WordOrientations.values()) {
+                        int slot = slots.find(board.grid(), word, orientation, random);
+                        if (0 <= slot) {
+                            int length = word.length();
+                            board.place(word, slots.start(orientation, length, slot), slots.step(orientation, length, slot));
+                            break;
+                        }
+                    }
+                }
+
+                long build = System.nanoTime();
+                WordsAutomaton automaton = new WordsAutomaton(board.words(), true);
+                long start = System.nanoTime();
+                build = start - build;
+                int collisions = -1;
+                if (FillStrategy.COLLISION_FREE == strategy) {
+                    collisions = new CollisionFreeFiller(board.grid(), automaton, LetterSampler.uniform()).fill(random);
+                } else {
+                    LettersGrid grid = board.grid();
+                    for (int idx = 0; idx < grid.size(); idx++) {
+                        if (grid.isEmpty(idx)) {
+                            grid.put(idx, (char) random.nextInt('A', 'Z' + 1));
+                        }
+                    }
+                }
+                long elapsed = System.nanoTime() - start;
+
+                System.out.printf("%dx%d %s: %d words, %.1f ns/cell, %d collisions (automaton: %d states in %.1f ms)%n",
+                        side, side, strategy, board.words().size(), (double) elapsed / ((long) side * side), collisions,
+                        automaton.states(), build / 1e6);
+            }
+        }
+    }
+
+    @Test
+    void letterSampler() throws Exception {
+        long[] counts = new long[LetterSampler.LETTERS];
+        WordsProvider provider = new DBWordsProvider(Paths.get(DB).toFile());
+        String line;
+        while (null != (line = provider.getLine())) {
+            LetterSampler.count(line.trim().toUpperCase(Locale.ROOT), counts);
+        }
+        int draws = 10_000_000;
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (LetterSampler sampler : new LetterSampler[]{LetterSampler.uniform(), new LetterSampler(counts)}) {
+            long[] drawn = new long[LetterSampler.LETTERS];
+            long start = System.nanoTime();
+            for (int i = 0; i < draws; i++) {
+                ++drawn[sampler.next(random) - 'A'];
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%.2f ns/letter, %.1f%% of draws are Q, X or Z%n", (double) elapsed / draws,
+                    100.0 * (drawn['Q' - 'A'] + drawn['X' - 'A'] + drawn['Z' - 'A']) / draws);
+        }
+    }
+
+    /**
+     * Every string the reals of the cells can write, checked forwards and backwards, like selections were matched
+     * before {@link WordsTrie}.
+     */
+    static String cartesianFind(LettersGrid grid, int start, int step, int length, Set<String> toFind) {
+        List<String> words = new ArrayList<>();
+        words.add("");
+        for (int i = 0; i < length; i++) {
+            int idx = start + i * step;
+            List<String> bases = words;
+            words = new ArrayList<>();
+            for (int m = grid.realsMask(idx); 0 != m; m &= m - 1) {
+                char real = grid.real(idx, Integer.numberOfTrailingZeros(m));
+                for (String base : bases) {
+                    words.add(base + real);
+                }
+            }
+        }
+        String found = null;
+        for (String word : words) {
+            String reversed = new StringBuilder(word).reverse().toString();
+            if (toFind.contains(word)) {
+                found = word;
+            } else if (toFind.contains(reversed)) {
+                found = reversed;
+            }
+        }
+        return found;
+    }
+
+    @Test
+    void selectionMatching() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int length = WSModel.MAX_SIDE_LEN;
+        int selections = 2_000;
+        for (int variants = 0; variants <= 6; variants += 2) {
+            // A line of A's where some cells are also every accented A, and wild.
+            LettersGrid grid = new LettersGrid(1, length);
+            char[] word = new char[length];
+            for (int i = 0; i < length; i++) {
+                grid.put(i, 'A');
+                word[i] = 'A';
+                if (i < variants) {
+                    for (char real : "ÀÁÂÃÄÅ".toCharArray()) {
+                        grid.put(i, real);
+                    }
+                    grid.setWild(i);
+                }
+            }
+            if (0 < variants) {
+                word[0] = 'Å';
+            }
+            Set<String> toFind = new TreeSet<>(List.of(new String(word), "B".repeat(length)));
+            WordsTrie trie = new WordsTrie(toFind);
+
+            for (String name : new String[]{"cartesian", "trie"}) {
+                long bytes = threads.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                for (int i = 0; i < selections; i++) {
+                    String found = "trie".equals(name)
+                            ? trie.find(grid, length - 1, -1, length, toFind::contains)
+                            : cartesianFind(grid, length - 1, -1, length, toFind);
+                    assertNotNull(found);
+                }
+                long elapsed = System.nanoTime() - start;
+                bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+                System.out.printf("%d multi-variant wild cells, %s: %.2f us/selection, %d bytes/selection%n",
+                        variants, name, elapsed / 1e3 / selections, bytes / selections);
+            }
+        }
+    }
+
+    @Test
+    void boardSolver() {
+        int side = 1_000;
+        List<String> dictionary = syntheticDictionary(100_000, 4, 12);
+        long start = System.nanoTime();
+        BoardSolver solver = new BoardSolver(dictionary);
+        System.out.printf("solver of %d words built in %.1f ms%n", dictionary.size(), (System.nanoTime() - start) / 1e6);
+
+        LettersGrid grid = new LettersGrid(side, side);
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int idx = 0; idx < grid.size(); idx++) {
+            grid.put(idx, (char) random.nextInt('A', 'Z' + 1));
+        }
+        for (int run = 0; run < 5; run++) {
+            start = System.nanoTime();
+            List<WordOccurrence> found = solver.solve(grid);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%dx%d: %d words found in %.1f ms%n", side, side, found.size(), elapsed / 1e6);
+        }
+    }
+
+    @Test
+    void selectionLatency() throws Exception {
+        WSModel model = new WSModel();
+        model.setWords(syntheticWords(20_000, 4, 12));
+        model.setLargeBoard(true);
+        model.allowWordOrientation(WordOrientations.DIAGONAL);
+        for (int side : new int[]{WSModel.MAX_SIDE_LEN, 1_000, 4_096}) {
+            model.setDimensions(side, side);
+            model.setMaxWords(Math.max(1, side * side / CELLS_PER_WORD));
+            model.setWildCards(side);
+            model.startGame();
+            List<WordOccurrence> selections = model.solveBoard();
+            long start = System.nanoTime();
+            int found = 0;
+            int tried = 0;
+            // Finding the last word ends the game.
+            for (int i = 0; i < selections.size() && model.isInGame(); i++, tried++) {
+                WordOccurrence selection = selections.get(i);
+                model.findWord(selection.start());
+                if (null != model.findWord(selection.end())) {
+                    ++found;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%dx%d: %d of %d selections were words of the game, %.0f ns/selection%n",
+                    side, side, found, tried, (double) elapsed / Math.max(1, tried));
+            if (model.isInGame()) {
+                model.endGame();
+            }
+        }
+    }
+
+    @Test
+    void resultsPolling() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int polls = 1_000;
+        for (int n : new int[]{100, 10_000, 100_000}) {
+            List<String> dictionary = syntheticDictionary(n, 4, 12);
+            GameWords words = new GameWords(dictionary);
+            // Like the model was before: the words to find and the ones found, and their union on each poll.
+            Set<String> toFind = new TreeSet<>(dictionary);
+            Set<String> found = new TreeSet<>();
+            for (int id = 0; id < words.size(); id += 2) {
+                words.find(id);
+                toFind.remove(words.word(id));
+                found.add(words.word(id));
+            }
+
+            for (String name : new String[]{"tree sets", "bit set"}) {
+                long bytes = threads.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                int sizes = 0;
+                for (int i = 0; i < polls; i++) {
+                    GameResults res;
+                    if ("bit set".equals(name)) {
+                        res = words.results(false, 0L);
+                    } else {
+                        Set<String> union = new TreeSet<>(toFind);
+                        union.addAll(found);
+                        res = new GameResults(union, found, false, 0L);
+                    }
+                    sizes += res.words().size() + res.words_found().size();
+                }
+                long elapsed = System.nanoTime() - start;
+                bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+                assertEquals(polls * (words.size() + words.foundCount()), sizes);
+                System.out.printf("%d words, %s: %.2f us/poll, %d bytes/poll%n",
+                        words.size(), name, elapsed / 1e3 / polls, bytes / polls);
+            }
+        }
+    }
+
+    @Test
+    void dictionaryReading() throws IOException {
+        // A multilingual list: a line of latin words and then one of cyrillic words.
+        Path file = Files.createTempFile("dictionary", ".txt");
+        file.toFile().deleteOnExit();
+        List<String> latin = syntheticDictionary(DICTIONARY_SIZE, 4, 12);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; 256L << 20 > Files.size(file) || 0 != i % latin.size(); i++) {
+                String word = latin.get(i % latin.size());
+                writer.write(0 == (i & 1) ? word.toLowerCase(Locale.ROOT) + "ção" : "слово" + word.length());
+                writer.newLine();
+                if (0 == i % latin.size()) {
+                    writer.flush();
+                }
+            }
+        }
+        double megabytes = Files.size(file) / (double) (1 << 20);
+
+        for (String name : new String[]{"scanner", "mapped"}) {
+            long start = System.nanoTime();
+            WordsProvider provider = "mapped".equals(name)
+                    ? new MappedWordsProvider(file.toFile())
+                    : new DBWordsProvider(file.toFile());
+            long chars = 0;
+            String line;
+            while (null != (line = provider.getLine())) {
+                chars += line.length();
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%.0f MB, %s: %.0f MB/s, %d chars given%n",
+                    megabytes, name, megabytes / (elapsed / 1e9), chars);
+        }
+        Files.delete(file);
+    }
+
+    static WordsProvider linesOf(List<String> lines) {
+        Iterator<String> iterator = lines.iterator();
+        return () -> iterator.hasNext() ? iterator.next() : null;
+    }
+
+    @Test
+    void dictionaryIngestion() throws Exception {
+        // Lines of a few words, in lower case, some with accents and some repeated.
+        int n = 10_000_000;
+        List<String> dictionary = syntheticDictionary(DICTIONARY_SIZE, 4, 12);
+        Random random = new Random(SEED);
+        List<String> lines = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String word = dictionary.get(random.nextInt(dictionary.size())).toLowerCase(Locale.ROOT);
+            lines.add(switch (i % 4) {
+                case 0 -> word;
+                case 1 -> word + "ção, " + dictionary.get(i % dictionary.size());
+                case 2 -> "  " + word + " " + i;
+                default -> word + " — слово";
+            });
+        }
+
+        // How it was done before: a regular expression and a tree set, one line after the other.
+        Pattern notLatin = Pattern.compile("[^\\p{sc=LATN}]");
+        long start = System.nanoTime();
+        Set<String> before = new TreeSet<>();
+        WordsProvider provider = linesOf(lines);
+        String line;
+        while (null != (line = provider.getLine())) {
+            line = line.trim();
+            if (line.isBlank()) {
+                continue;
+            }
+            Arrays.stream(notLatin.split(line))
+                    .map(word -> word.toUpperCase(Locale.ROOT))
+                    .filter(word -> !word.isBlank())
+                    .forEach(before::add);
+        }
+        long sequential = System.nanoTime() - start;
+
+        WSModel model = new WSModel();
+        start = System.nanoTime();
+        model.setWords(linesOf(lines), false);
+        long pipeline = System.nanoTime() - start;
+
+        assertEquals(before, model.getWords());
+        System.out.printf("%d lines, %d words, %d threads: regex and tree set %d ms, pipeline %d ms%n",
+                n, before.size(), Runtime.getRuntime().availableProcessors(), sequential / 1_000_000,
+                pipeline / 1_000_000);
+    }
+
+    @Test
+    void providerTransfer() {
+        int n = 5_000_000;
+        List<String> dictionary = syntheticDictionary(DICTIONARY_SIZE, 4, 12);
+        for (String name : new String[]{"getLine", "getLines", "parallel lines"}) {
+            ManualWordsProvider provider = new ManualWordsProvider();
+            for (int i = 0; i < n; i++) {
+                provider.provide(dictionary.get(i % dictionary.size()));
+            }
+            provider.close();
+
+            long start = System.nanoTime();
+            long chars = 0;
+            switch (name) {
+                case "getLine" -> {
+                    String line;
+                    while (null != (line = provider.getLine())) {
+                        chars += LetterVariants.fold(line.charAt(0)) + line.length();
+                    }
+                }
+                case "getLines" -> {
+                    CharSequence[] buffer = new CharSequence[1 << 12];
+                    int lines;
+                    while (0 < (lines = provider.getLines(buffer))) {
+                        for (int i = 0; i < lines; i++) {
+                            chars += LetterVariants.fold(buffer[i].charAt(0)) + buffer[i].length();
+                        }
+                    }
+                }
+                default -> chars = provider.lines().parallel()
+                        .mapToLong(line -> LetterVariants.fold(line.charAt(0)) + line.length())
+                        .sum();
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%d lines, %s: %.1f ns/line, %d%n", n, name, (double) elapsed / n, chars);
+        }
+    }
+
+    @Test
+    void aggregateProvider() {
+        int providers = 4;
+        int n = 2_000_000;
+        List<String> dictionary = syntheticDictionary(DICTIONARY_SIZE, 4, 12);
+        for (int capacity : new int[]{1 << 8, 1 << 12, AggregateWordsProvider.CAPACITY}) {
+            AggregateWordsProvider aggregate = new AggregateWordsProvider(capacity);
+            long start = System.nanoTime();
+            for (int p = 0; p < providers; p++) {
+                int[] i = {0};
+                aggregate.provide(() -> n > i[0] ? dictionary.get(i[0]++ % dictionary.size()) : null);
+            }
+            aggregate.close();
+            CharSequence[] buffer = new CharSequence[1 << 10];
+            long lines = 0;
+            int taken;
+            while (0 < (taken = aggregate.getLines(buffer))) {
+                lines += taken;
+            }
+            long elapsed = System.nanoTime() - start;
+            assertEquals((long) providers * n, lines);
+            System.out.printf("%d providers, buffer of %d lines: %.1f ns/line%n",
+                    providers, capacity, (double) elapsed / lines);
+        }
+    }
+
+    @Test
+    void dictionaryLoad() throws IOException {
+        int n = 1_000_000;
+        Path text = Files.createTempFile("dictionary", ".txt");
+        Path binary = Files.createTempFile("dictionary", ".dict");
+        text.toFile().deleteOnExit();
+        binary.toFile().deleteOnExit();
+        Files.write(text, syntheticDictionary(n, 4, 12), StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        DictionaryCompiler.compile(WordsProvider.ofFile(text.toFile()), binary);
+        long compile = System.nanoTime() - start;
+
+        for (Path file : new Path[]{text, binary}) {
+            WSModel model = new WSModel();
+            start = System.nanoTime();
+            model.setWords(WordsProvider.ofFile(file.toFile()), false);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%s, %d bytes, %d words: loaded in %.1f ms%n",
+                    file.getFileName(), Files.size(file), model.getWords().size(), elapsed / 1e6);
+        }
+        System.out.printf("compiled in %d ms%n", compile / 1_000_000);
+
+        // The index by length of the model, from the file or by decoding every word as it was made before.
+        BinaryDictionary dictionary = BinaryDictionary.open(binary);
+        for (int i = 0; i < 3; i++) {
+            start = System.nanoTime();
+            LengthIndex mapped = new LengthIndex(dictionary);
+            long fromFile = System.nanoTime() - start;
+            start = System.nanoTime();
+            LengthIndex decoded = new LengthIndex(new WordStore() {
+                @Override
+                public int size() {
+                    return dictionary.size();
+                }
+
+                @Override
+                public String get(int index) {
+                    return dictionary.get(index);
+                }
+            });
+            long decoding = System.nanoTime() - start;
+            assertEquals(decoded.count(0, 12), mapped.count(0, 12));
+            System.out.printf("index by length: %.3f ms from the file, %.1f ms decoding the words%n",
+                    fromFile / 1e6, decoding / 1e6);
+        }
+        Files.delete(text);
+        Files.delete(binary);
+    }
+
+    @Test
+    void gameStart() throws Exception {
+        for (int n : new int[]{10_000, 100_000, 1_000_000}) {
+            WSModel model = new WSModel(12, 12, syntheticWords(n, 3, 16));
+            model.setMaxWords(16);
+            model.setMinWordSize(4);
+            for (int i = 0; i < GAMES / 10; i++) {
+                model.startGame();
+                model.endGame();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < GAMES; i++) {
+                model.startGame();
+                model.endGame();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            // What choosing the words cost before the index: every usable word sorted in a set and shuffled.
+            BoardSettings settings = new BoardSettings(12, 12, 16, 4, 0, Set.of(WordOrientations.HORIZONTAL),
+                    GenerationStrategy.GREEDY, FillStrategy.RANDOM, false, 1, 0L);
+            Random random = new Random(SEED);
+            long scanStart = System.nanoTime();
+            for (int i = 0; i < GAMES; i++) {
+                List<String> usable = new ArrayList<>(new TreeSet<>(model.getWords().stream()
+                        .filter(settings::usable)
+                        .toList()));
+                Collections.shuffle(usable, random);
+                assertFalse(usable.subList(0, 16).isEmpty());
+            }
+            long scan = System.nanoTime() - scanStart;
+
+            System.out.printf("%d words: %.3f ms/game, scanning the words %.3f ms/game%n",
+                    n, elapsed / 1e6 / GAMES, scan / 1e6 / GAMES);
+        }
+    }
+
+    static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    void lettersGridMemory() {
+        long before = usedMemory();
+        BaseCell[][][] cells = new BaseCell[GRIDS][][];
+        for (int b = 0; b < GRIDS; b++) {
+            cells[b] = new BaseCell[WSModel.MAX_SIDE_LEN][WSModel.MAX_SIDE_LEN];
+            for (int i = 0; i < WSModel.MAX_SIDE_LEN; i++) {
+                for (int j = 0; j < WSModel.MAX_SIDE_LEN; j++) {
+                    char c = GRID_LETTERS.charAt((b + i * WSModel.MAX_SIDE_LEN + j) % GRID_LETTERS.length());
+                    cells[b][i][j] = 0 == (i + j) % 7 ? new WildCell(c) : new Cell(c);
+                }
+            }
+        }
+        long cellsBytes = usedMemory() - before;
+
+        before = usedMemory();
+        LettersGrid[] grids = new LettersGrid[GRIDS];
+        for (int b = 0; b < GRIDS; b++) {
+            grids[b] = new LettersGrid(WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN);
+            for (int i = 0; i < WSModel.MAX_SIDE_LEN; i++) {
+                for (int j = 0; j < WSModel.MAX_SIDE_LEN; j++) {
+                    char c = GRID_LETTERS.charAt((b + i * WSModel.MAX_SIDE_LEN + j) % GRID_LETTERS.length());
+                    int idx = grids[b].index(i, j);
+                    grids[b].put(idx, c);
+                    if (0 == (i + j) % 7) {
+                        grids[b].setWild(idx);
+                    }
+                }
+            }
+        }
+        long gridsBytes = usedMemory() - before;
+
+        System.out.printf("%d boards of %dx%d: cells %d bytes/board, grid %d bytes/board%n",
+                GRIDS, WSModel.MAX_SIDE_LEN, WSModel.MAX_SIDE_LEN, cellsBytes / GRIDS, gridsBytes / GRIDS);
+        assertEquals(cells[GRIDS - 1][0][0].getDisplay(), grids[GRIDS - 1].display(0));
+    }
+
+    @Test
+    void wordStoreMemory() throws IOException {
+        String[] db = WordStore.parse(new DBWordsProvider(Paths.get(DB).toFile())).toArray(String[]::new);
+        // A copy of each word, so only the sets or the stores keep them.
+        benchmarkWordStore("db.txt", 10_000, words -> {
+            for (String word : db) {
+                words.accept(new String(word.toCharArray()));
+            }
+        });
+        benchmarkWordStore("10M synthetic", 1, words -> {
+            Random random = new Random(SEED);
+            for (int i = 0; i < 10_000_000; i++) {
+                char[] word = new char[random.nextInt(4, 13)];
+                for (int j = 0; j < word.length; j++) {
+                    word[j] = (char) random.nextInt('A', 'Z' + 1);
+                }
+                words.accept(new String(word));
+            }
+        });
+    }
+
+    /**
+     * @param copies How many sets and stores to keep at the same time, so small dictionaries can be measured
+     * @param words  Gives the words to a consumer, each time new ones
+     */
+    private static void benchmarkWordStore(String name, int copies, Consumer<Consumer<String>> words) {
+        long before = usedMemory();
+        List<TreeSet<String>> trees = new ArrayList<>(copies);
+        for (int i = 0; i < copies; i++) {
+            TreeSet<String> tree = new TreeSet<>();
+            words.accept(tree::add);
+            trees.add(tree);
+        }
+        long n = (long) copies * trees.get(0).size();
+        long treeBytes = usedMemory() - before;
+
+        List<WordStore> stores = new ArrayList<>(copies);
+        long data = 0;
+        for (int i = 0; i < copies; i++) {
+            WordStore store = WordStore.of(trees.get(i).toArray(String[]::new)).compact();
+            trees.set(i, null);
+            data += ((FrontCodedStore) store).bytes();
+            stores.add(store);
+        }
+        long storeBytes = usedMemory() - before;
+        assertEquals(n, (long) copies * stores.get(0).size());
+
+        System.out.printf("%s, %d words: TreeSet %.1f bytes/word, front coded %.1f bytes/word (%.1f of data)%n",
+                name, n / copies, (double) treeBytes / n, (double) storeBytes / n, (double) data / n);
+    }
+
+    @Test
+    void resultsSaving() throws Exception {
+        int n = 20_000;
+        Path dir = Files.createTempDirectory("scores");
+        GameResults results = new GameResults(Set.of("A", "B", "C"), Set.of("A", "B"), false, SEED);
+        Function<GameResults, String> format = res -> String.format(
+                "%.2f%%\n", 100.0 * res.words_found().size() / res.words().size());
+
+        // Like the saver of the UI was: the file opened and closed for each result, in the thread ending the game.
+        Path file = dir.resolve("scores.txt");
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            try (BufferedWriter writer = Files.newBufferedWriter(
+                    file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(format.apply(results));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("open, write and close: %.2f us/result in the game thread%n", elapsed / 1e3 / n);
+
+        for (boolean sync : new boolean[]{false, true}) {
+            Path batched = dir.resolve("batched-" + sync + ".txt");
+            try (AsyncResultsSaver saver = new AsyncResultsSaver(() -> batched, format, sync, n)) {
+                start = System.nanoTime();
+                for (int i = 0; i < n; i++) {
+                    saver.save(results);
+                }
+                long saving = System.nanoTime() - start;
+                saver.flush();
+                long total = System.nanoTime() - start;
+                assertEquals(n, saver.written());
+                System.out.printf("batched, sync %b: %.2f us/result in the game thread, %.2f us/result written%n",
+                        sync, saving / 1e3 / n, total / 1e3 / n);
+            }
+            Files.delete(batched);
+        }
+        Files.delete(file);
+        Files.delete(dir);
+    }
+
+    @Test
+    void resultsJournal() throws IOException {
+        int n = 2_000_000;
+        long step = 100L;
+        Path dir = Files.createTempDirectory("journal");
+        long end = System.currentTimeMillis();
+        long first = end - n * step;
+        long[] now = {first};
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(now[0]);
+            }
+        };
+        List<String> words = syntheticDictionary(12, 4, 10);
+        GameResults results = new GameResults(Set.copyOf(words), Set.copyOf(words.subList(0, 7)), false, SEED);
+
+        try (ResultsJournal journal = new ResultsJournal(dir, clock, ResultsJournal.SEGMENT_BYTES)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                now[0] = first + i * step;
+                journal.save(results);
+            }
+            long elapsed = System.nanoTime() - start;
+            long bytes;
+            try (Stream<Path> files = Files.list(dir)) {
+                bytes = files.mapToLong(file -> file.toFile().length()).sum();
+            }
+            System.out.printf("%d games saved: %.2f us/game, %d MB%n", n, elapsed / 1e3 / n, bytes >> 20);
+
+            for (int i = 0; i < 3; i++) {
+                start = System.nanoTime();
+                long lastHour = journal.range(end - 3_600_000L, Long.MAX_VALUE).count();
+                elapsed = System.nanoTime() - start;
+                System.out.printf("last hour: %d games in %.1f ms%n", lastHour, elapsed / 1e6);
+            }
+            start = System.nanoTime();
+            long all = journal.stream().count();
+            elapsed = System.nanoTime() - start;
+            System.out.printf("everything: %d games in %.1f ms%n", all, elapsed / 1e6);
+            assertEquals(n, all);
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    void resultsStatistics() {
+        int n = 1_000_000;
+        List<String> dictionary = syntheticDictionary(100_000, 4, 10);
+        Random random = new Random(SEED);
+        List<GameResults> games = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Set<String> words = new HashSet<>();
+            Set<String> found = new HashSet<>();
+            while (words.size() < 12) {
+                String word = dictionary.get(random.nextInt(dictionary.size()));
+                words.add(word);
+                if (random.nextBoolean()) {
+                    found.add(word);
+                }
+            }
+            games.add(new GameResults(words, found, 0 == i % 10, i));
+        }
+
+        ResultsStatistics statistics = new ResultsStatistics();
+        long start = System.nanoTime();
+        statistics.saveAll(games.stream());
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%d games counted: %.2f us/game%n", n, elapsed / 1e3 / n);
+
+        int queries = 10_000;
+        double sink = 0.0;
+        start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            sink += statistics.percentile(0.95) + statistics.mean(false) + statistics.findRate(dictionary.get(i));
+        }
+        elapsed = System.nanoTime() - start;
+        System.out.printf("p95, mean and a find rate: %.2f us/query (%.1f)%n", elapsed / 1e3 / queries, sink);
+
+        // Like the scripts over scores.txt: every percentage kept and sorted for each percentile.
+        start = System.nanoTime();
+        double[] percents = games.stream().mapToDouble(ResultsStatistics::percentFound).toArray();
+        Arrays.sort(percents);
+        elapsed = System.nanoTime() - start;
+        System.out.printf("p95 sorting every game: %.1f ms (%.2f vs %.2f)%n",
+                elapsed / 1e6, percents[(int) Math.ceil(0.95 * n) - 1], statistics.percentile(0.95));
+    }
+
+    @Test
+    void eventLog() throws IOException {
+        int games = 20_000;
+        int clicks = 40;
+        List<String> words = syntheticDictionary(12, 4, 10);
+        GameResults results = new GameResults(Set.copyOf(words), Set.copyOf(words.subList(0, 7)), false, SEED);
+        String matrix = "A B C D E F G H I J K L\n".repeat(12);
+
+        // Like the log of the UI was: every message of every game kept in a StringBuilder.
+        StringBuilder builder = new StringBuilder();
+        long start = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            for (int i = 0; i < clicks; i++) {
+                builder.append(new ClickMessage(new Position(i % 12, i / 12), 'A').getMessage()).append("\n");
+            }
+            builder.append(GameEvent.Ended.describe(results));
+        }
+        long elapsed = System.nanoTime() - start;
+        long events = (long) games * (clicks + 2);
+        System.out.printf("StringBuilder: %.2f us/event, %d MB of chars in memory%n",
+                elapsed / 1e3 / events, 2L * builder.length() >> 20);
+        builder = null;
+
+        for (boolean gzip : new boolean[]{false, true}) {
+            Path dir = Files.createTempDirectory("events");
+            try (GameEventLog log = new GameEventLog(dir, gzip, GameEventLog.MAX_BYTES, Integer.MAX_VALUE)) {
+                long time = System.currentTimeMillis();
+                start = System.nanoTime();
+                for (int game = 0; game < games; game++) {
+                    log.log(new GameEvent.Started(time, game, false, 12, 12, matrix));
+                    for (int i = 0; i < clicks; i++) {
+                        log.log(new GameEvent.Click(time += 700, new Position(i % 12, i / 12), 'A'));
+                    }
+                    log.log(new GameEvent.Ended(time, results));
+                }
+                elapsed = System.nanoTime() - start;
+            }
+            long bytes;
+            try (Stream<Path> files = Files.list(dir)) {
+                bytes = files.mapToLong(file -> file.toFile().length()).sum();
+            }
+            System.out.printf("event log, gzip %b: %.2f us/event, %d kB on disk%n",
+                    gzip, elapsed / 1e3 / events, bytes >> 10);
+
+            start = System.nanoTime();
+            String markdown = GameEventReader.markdown(dir, 0L);
+            elapsed = System.nanoTime() - start;
+            assertNotNull(markdown);
+            System.out.printf("markdown of the last game: %.1f ms%n", elapsed / 1e6);
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    void replays() throws Exception {
+        int games = 10_000;
+        int plays = 40;
+        long gap = 50L;
+        Timeline.Builder builder = new Timeline.Builder(0L);
+        for (int i = 0; i < plays; i++) {
+            builder.add(i * gap, new Position(i % 12, i / 12));
+        }
+        Timeline timeline = builder.build(plays * gap);
+        LongAdder played = new LongAdder();
+        ReplayTarget<Long> target = new ReplayTarget<>() {
+            @Override
+            public void play(Position position) {
+                played.increment();
+            }
+
+            @Override
+            public Long checkpoint() {
+                return played.sum();
+            }
+
+            @Override
+            public void restore(Long state) {
+            }
+
+            @Override
+            public void end() {
+            }
+        };
+
+        // Like the replays were: a thread for each play, sleeping before it, for a tenth of the games.
+        int threadGames = games / 10;
+        int threadsBefore = Thread.activeCount();
+        int peak = 0;
+        long start = System.nanoTime();
+        CountDownLatch ended = new CountDownLatch(threadGames);
+        for (int game = 0; game < threadGames; game++) {
+            replayWithThreads(timeline, 0, target, ended);
+        }
+        while (!ended.await(10L, TimeUnit.MILLISECONDS)) {
+            peak = Math.max(peak, Thread.activeCount() - threadsBefore);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("thread per play, %d games: %.0f ms for a game of %d ms, up to %d threads%n",
+                threadGames, elapsed / 1e6, timeline.duration(), peak);
+
+        for (double speed : new double[]{1.0, Replay.INSTANT}) {
+            try (Replayer replayer = new Replayer()) {
+                played.reset();
+                start = System.nanoTime();
+                List<Replay<Long>> replays = new ArrayList<>(games);
+                for (int game = 0; game < games; game++) {
+                    replays.add(replayer.replay(timeline, target, speed));
+                }
+                for (Replay<Long> replay : replays) {
+                    replay.finished().get();
+                }
+                elapsed = System.nanoTime() - start;
+                assertEquals((long) games * plays, played.sum());
+                System.out.printf("replayer, speed %s, %d games: %.0f ms for a game of %d ms, 1 thread%n",
+                        speed, games, elapsed / 1e6, timeline.duration());
+            }
+        }
+    }
+
+    private static void replayWithThreads(Timeline timeline, int i, ReplayTarget<Long> target,
+                                          CountDownLatch ended) {
+        new Thread(() -> {
+            try {
+                Thread.sleep(timeline.time(i) - (0 == i ? 0L : timeline.time(i - 1)));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            target.play(timeline.position(i));
+            if (i + 1 < timeline.size()) {
+                replayWithThreads(timeline, i + 1, target, ended);
+            } else {
+                ended.countDown();
+            }
+        }).start();
+    }
+}
@@ -0,0 +1,52 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordSlotsTest {
+    @Test
+    void slotsAreAllDifferent() {
+        WordSlots slots = new WordSlots(WSModel.MIN_SIDE_LEN, WSModel.MAX_SIDE_LEN);
+        int length = 4;
+        for (WordOrientations orientation : WordOrientations.values()) {
+            Set<Long> seen = new HashSet<>();
+            for (int slot = 0; slot < slots.count(orientation, length); slot++) {
+                long start = slots.start(orientation, length, slot);
+                long step = slots.step(orientation, length, slot);
+                assertTrue(seen.add(start << 32 | (step & 0xFFFFFFFFL)));
+            }
+        }
+        assertEquals(2 * WSModel.MAX_SIDE_LEN * 2, slots.count(WordOrientations.VERTICAL, length));
+        assertEquals(2 * WSModel.MIN_SIDE_LEN * 9, slots.count(WordOrientations.HORIZONTAL, length));
+        assertEquals(4 * 2 * 9, slots.count(WordOrientations.DIAGONAL, length));
+        assertEquals(0, slots.count(WordOrientations.VERTICAL, WSModel.MIN_SIDE_LEN + 1));
+    }
+
+    @Test
+    void findsTheOnlyFreeSlot() {
+        LettersGrid grid = new LettersGrid(WSModel.MIN_SIDE_LEN, WSModel.MIN_SIDE_LEN);
+        WordSlots slots = new WordSlots(grid.lines(), grid.cols());
+        for (int idx = 0; idx < grid.size(); idx++) {
+            grid.put(idx, 'X');
+        }
+        // Only the last line, written from right to left, accepts the word.
+        String word = "ABCDE";
+        for (int col = 0; col < grid.cols(); col++) {
+            grid.clear(grid.index(grid.lines() - 1, col));
+        }
+        grid.put(grid.index(grid.lines() - 1, 0), 'E');
+
+        Random random = new Random(WSModelBenchmark.SEED);
+        for (int i = 0; i < 100; i++) {
+            int slot = slots.find(grid, word, WordOrientations.HORIZONTAL, random);
+            assertEquals(grid.index(grid.lines() - 1, grid.cols() - 1), slots.start(WordOrientations.HORIZONTAL, word.length(), slot));
+            assertEquals(-1, slots.step(WordOrientations.HORIZONTAL, word.length(), slot));
+            assertEquals(-1, slots.find(grid, word, WordOrientations.VERTICAL, random));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.app.model.wordsprovider.WordsProvider;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordStoreTest {
+    @Test
+    void mergeAndMinusKeepTheWordsSorted() {
+        WordStore some = WordStore.of(new String[]{"DOG", "CAT", "DOG", "ANT"});
+        WordStore other = WordStore.of(new String[]{"EMU", "CAT", "BEE"});
+        assertEquals(List.of("ANT", "CAT", "DOG"), List.copyOf(some));
+        assertTrue(some.contains("CAT"));
+        assertFalse(some.contains("COW"));
+
+        assertEquals(List.of("ANT", "BEE", "CAT", "DOG", "EMU"), List.copyOf(some.merge(other)));
+        assertEquals(List.of("BEE", "EMU"), List.copyOf(other.minus(some)));
+        assertEquals(Set.of(), other.minus(other));
+        assertSame(some, some.minus(WordStore.empty()));
+        assertSame(some, WordStore.empty().merge(some));
+        assertEquals(3, some.parallelStream().count());
+    }
+
+    @Test
+    void parsingDoesNotReadFarAheadOfTheTasks() {
+        long lines = 200_000L * Math.max(1, ForkJoinPool.commonPool().getParallelism());
+        AtomicLong parsed = new AtomicLong();
+        long[] maxAhead = {0L};
+        WordsProvider provider = new WordsProvider() {
+            private long read = 0L;
+
+            @Override
+            public String getLine() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int getLines(CharSequence[] buffer) {
+                maxAhead[0] = Math.max(maxAhead[0], this.read - parsed.get());
+                int n = 0;
+                for (; n < buffer.length && this.read < lines; n++, this.read++) {
+                    buffer[n] = new CountedLine(word((int) (this.read % 1000)), parsed);
+                }
+                return n;
+            }
+        };
+        assertEquals(1000, WordStore.parse(provider).size());
+        int threads = Math.max(1, ForkJoinPool.commonPool().getParallelism());
+        // The chunks waiting, the ones being parsed and the one just read, of 8192 lines.
+        assertTrue(maxAhead[0] <= (3L * threads + 2) * 8192, maxAhead[0] + " lines read ahead");
+    }
+
+    /**
+     * @return A word of letters for each number up to {@code 26 * 26 * 26}
+     */
+    private static String word(int i) {
+        return "W" + (char) ('A' + i / 676) + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26);
+    }
+
+    /**
+     * A line that counts itself as parsed when its length it's first asked, and takes a microsecond to parse.
+     */
+    private static final class CountedLine implements CharSequence {
+        private final String line;
+        private final AtomicLong parsed;
+        private boolean counted;
+
+        private CountedLine(String line, AtomicLong parsed) {
+            this.line = line;
+            this.parsed = parsed;
+        }
+
+        @Override
+        public int length() {
+            if (!this.counted) {
+                this.counted = true;
+                // Parsing slower than reading, like a dictionary in a fast disk.
+                long end = System.nanoTime() + 1000L;
+                while (System.nanoTime() < end) {
+                    Thread.onSpinWait();
+                }
+                this.parsed.incrementAndGet();
+            }
+            return this.line.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return this.line.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return this.line.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return this.line;
+        }
+    }
+}
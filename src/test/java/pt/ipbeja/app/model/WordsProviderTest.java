@@ -0,0 +1,58 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.app.model.wordsprovider.AggregateWordsProvider;
+import pt.ipbeja.app.model.wordsprovider.ManualWordsProvider;
+import pt.ipbeja.app.model.wordsprovider.WordsProvider;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordsProviderTest {
+    private static final List<String> LINES = IntStream.range(0, 10_000).mapToObj(i -> "word" + i).toList();
+
+    private static WordsProvider onlyGetLine() {
+        Iterator<String> iterator = LINES.iterator();
+        return () -> iterator.hasNext() ? iterator.next() : null;
+    }
+
+    @Test
+    void batchesKeepTheOrder() {
+        WordsProvider provider = onlyGetLine();
+        CharSequence[] buffer = new CharSequence[3_000];
+        List<String> lines = new ArrayList<>();
+        int n;
+        while (0 < (n = provider.getLines(buffer))) {
+            for (int i = 0; i < n; i++) {
+                lines.add(buffer[i].toString());
+            }
+        }
+        assertEquals(LINES, lines);
+        assertNull(provider.getLine());
+    }
+
+    @Test
+    void parallelStreamKeepsTheOrder() {
+        assertEquals(LINES, onlyGetLine().lines().parallel().map(CharSequence::toString).toList());
+        assertEquals(LINES.size(), onlyGetLine().lines().count());
+    }
+
+    @Test
+    void aggregateTakesBatches() {
+        ManualWordsProvider manual = new ManualWordsProvider();
+        LINES.forEach(manual::provide);
+        manual.close();
+        assertEquals(LINES.size(), manual.estimateSize());
+
+        AggregateWordsProvider aggregate = new AggregateWordsProvider();
+        aggregate.provide(new WordsProvider[]{manual, onlyGetLine()});
+        aggregate.close();
+        assertEquals(2L * LINES.size(), aggregate.lines().parallel().count());
+        assertEquals(0, aggregate.getLines(new CharSequence[1]));
+        assertEquals(0, aggregate.estimateSize());
+    }
+}
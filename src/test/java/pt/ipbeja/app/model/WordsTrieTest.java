@@ -0,0 +1,59 @@
+package pt.ipbeja.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordsTrieTest {
+    static LettersGrid line(String... cells) {
+        LettersGrid grid = new LettersGrid(1, cells.length);
+        for (int i = 0; i < cells.length; i++) {
+            for (char real : cells[i].toCharArray()) {
+                grid.put(i, real);
+            }
+        }
+        return grid;
+    }
+
+    @Test
+    void walksEveryReal() {
+        LettersGrid grid = line("C", "A", "F", "EÉ");
+        Set<String> toFind = new TreeSet<>(List.of("CAFÉ", "CAFE", "FACE"));
+        WordsTrie trie = new WordsTrie(toFind);
+
+        Set<String> found = new TreeSet<>();
+        String word;
+        while (null != (word = trie.find(grid, 0, 1, 4, toFind::contains))) {
+            toFind.remove(word);
+            found.add(word);
+        }
+        assertEquals(Set.of("CAFE", "CAFÉ"), found);
+        assertNull(trie.find(grid, 0, 1, 3, toFind::contains));
+    }
+
+    @Test
+    void forwardsBeforeBackwards() {
+        LettersGrid grid = line("A", "B");
+        Set<String> toFind = new TreeSet<>(List.of("AB", "BA"));
+        WordsTrie trie = new WordsTrie(toFind);
+        assertEquals("AB", trie.find(grid, 0, 1, 2, toFind::contains));
+        assertEquals("BA", trie.find(grid, 1, -1, 2, toFind::contains));
+        toFind.remove("AB");
+        assertEquals("BA", trie.find(grid, 0, 1, 2, toFind::contains));
+    }
+
+    @Test
+    void wildCellsKeepTheirReals() {
+        LettersGrid grid = line("D", "O", "G");
+        grid.setWild(1);
+        Set<String> toFind = new TreeSet<>(List.of("DOG", "DIG"));
+        WordsTrie trie = new WordsTrie(toFind);
+        assertEquals("DOG", trie.find(grid, 2, -1, 3, toFind::contains));
+        toFind.remove("DOG");
+        assertNull(trie.find(grid, 0, 1, 3, toFind::contains));
+    }
+}